@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import net.sf.jranges.range.integerrange.ColumnsRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+import net.sf.jranges.range.longrange.RangeLong;
+
+/**
+ * A sort-and-sweep cursor over the coverage depth of a collection of ranges.
+ * <p>
+ * Start and stop positions are copied into two primitive arrays and sorted
+ * independently. The sweep then walks both arrays once and reports maximal
+ * runs of positions that share the same, non-zero depth. The depth of a
+ * position is the number of ranges that include it.
+ * </p>
+ * <p>
+ * Building a sweep takes {@code O(n log n)}, walking it {@code O(n)}. Neither
+ * depends on the span covered by the ranges. Ranges with an interval other than
+ * {@code 1} contribute each of their positions individually.
+ * </p>
+ * <p>
+ * Ranges are expected to satisfy {@code start <= stop}. Lists that implement
+ * {@link ColumnsRangeInteger} are read without creating range instances.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * CoverageSweep sweep = CoverageSweep.create(ranges);
+ * while (sweep.next()) {
+ *     System.out.println(sweep.getStart() + &quot;-&gt;&quot; + sweep.getStop() + &quot; &quot; + sweep.getDepth());
+ * }
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class CoverageSweep {
+
+    /**
+     * Create a new {@code CoverageSweep} over given ranges.
+     *
+     * @param ranges
+     *            ranges to sweep
+     * @return a new {@code CoverageSweep}, positioned before the first run
+     */
+    public static CoverageSweep create(final Collection<? extends RangeInteger> ranges) {
+        return create(ranges, false);
+    }
+
+    private static CoverageSweep create(final Collection<? extends RangeInteger> ranges,
+            final boolean ignoreIntervals) {
+        return create(UtilsRangeInteger.asColumns(ranges), ignoreIntervals);
+    }
+
+    private static CoverageSweep create(final ColumnsRangeInteger ranges, final boolean ignoreIntervals) {
+        final int size = ranges.size();
+        long n = 0;
+        for (int k = 0; k < size; k++) {
+            final int interval = ranges.getInterval(k);
+            n += ignoreIntervals || interval == 1 ? 1
+                    : ((long) ranges.getStop(k) - ranges.getStart(k)) / interval + 1;
+        }
+        if (n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many positions " + n);
+        }
+        final long[] starts = new long[(int) n];
+        final long[] stops = new long[(int) n];
+        int i = 0;
+        for (int k = 0; k < size; k++) {
+            final int interval = ranges.getInterval(k);
+            if (ignoreIntervals || interval == 1) {
+                starts[i] = ranges.getStart(k);
+                stops[i] = ranges.getStop(k);
+                i++;
+            } else {
+                for (long p = ranges.getStart(k); p <= ranges.getStop(k); p += interval) {
+                    starts[i] = stops[i] = p;
+                    i++;
+                }
+            }
+        }
+        return new CoverageSweep(starts, stops);
+    }
+
+    /**
+     * Create a new {@code CoverageSweep} over given ranges, treating every
+     * range as contiguous, regardless of its interval.
+     *
+     * @param ranges
+     *            ranges to sweep
+     * @return a new {@code CoverageSweep}, positioned before the first run
+     */
+    public static CoverageSweep createIgnoringIntervals(final Collection<? extends RangeInteger> ranges) {
+        return create(ranges, true);
+    }
+
+    /**
+     * Create a new {@code CoverageSweep} over given long ranges.
+     *
+     * @param ranges
+     *            ranges to sweep
+     * @return a new {@code CoverageSweep}, positioned before the first run
+     */
+    public static CoverageSweep createLong(final Collection<? extends RangeLong> ranges) {
+        long n = 0;
+        for (final RangeLong r : ranges) {
+            n += r.getInterval() == 1 ? 1 : (r.getStop() - r.getStart()) / r.getInterval() + 1;
+        }
+        if (n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many positions " + n);
+        }
+        final long[] starts = new long[(int) n];
+        final long[] stops = new long[(int) n];
+        int i = 0;
+        for (final RangeLong r : ranges) {
+            if (r.getInterval() == 1) {
+                starts[i] = r.getStart();
+                stops[i] = r.getStop();
+                i++;
+            } else {
+                final long positions = (r.getStop() - r.getStart()) / r.getInterval() + 1;
+                for (long k = 0; k < positions; k++) {
+                    starts[i] = stops[i] = r.getStart() + k * r.getInterval();
+                    i++;
+                }
+            }
+        }
+        return new CoverageSweep(starts, stops);
+    }
+
+    private final long[] starts;
+
+    private final long[] stops;
+
+    private int nextStart = 0;
+
+    private int nextStop = 0;
+
+    private int depth = 0;
+
+    private long position;
+
+    private boolean exhausted = false;
+
+    private boolean pending = false;
+
+    private long rawStart;
+
+    private long rawStop;
+
+    private int rawDepth;
+
+    private long runStart;
+
+    private long runStop;
+
+    private int runDepth;
+
+    /**
+     * Construct a new {@code CoverageSweep}.
+     *
+     * @param starts
+     *            start positions; will be sorted in place
+     * @param stops
+     *            stop positions, inclusively; will be sorted in place
+     */
+    protected CoverageSweep(final long[] starts, final long[] stops) {
+        if (starts.length != stops.length) {
+            throw new IllegalArgumentException("number of starts and stops differ");
+        }
+        Arrays.sort(starts);
+        Arrays.sort(stops);
+        this.starts = starts;
+        this.stops = stops;
+    }
+
+    /**
+     * @return depth of the current run
+     */
+    public int getDepth() {
+        return runDepth;
+    }
+
+    /**
+     * @return first position of the current run
+     */
+    public long getStart() {
+        return runStart;
+    }
+
+    /**
+     * @return last position of the current run, inclusively
+     */
+    public long getStop() {
+        return runStop;
+    }
+
+    /**
+     * Advance to the next run of positions with equal, non-zero depth.
+     *
+     * @return true, if there is another run; false otherwise
+     */
+    public boolean next() {
+        if (!pending && !advance()) {
+            return false;
+        }
+        runStart = rawStart;
+        runStop = rawStop;
+        runDepth = rawDepth;
+        pending = false;
+        // coalesce adjacent runs of equal depth
+        while (advance()) {
+            if (rawDepth == runDepth && rawStart == runStop + 1) {
+                runStop = rawStop;
+            } else {
+                pending = true;
+                break;
+            }
+        }
+        return true;
+    }
+
+    private boolean advance() {
+        final int n = starts.length;
+        if (exhausted) {
+            return false;
+        }
+        if (depth == 0) {
+            if (nextStart == n) {
+                exhausted = true;
+                return false;
+            }
+            position = starts[nextStart];
+        }
+        while (nextStart < n && starts[nextStart] == position) {
+            depth++;
+            nextStart++;
+        }
+        long end = stops[nextStop];
+        if (nextStart < n && starts[nextStart] <= end) {
+            end = starts[nextStart] - 1;
+        }
+        rawStart = position;
+        rawStop = end;
+        rawDepth = depth;
+        while (nextStop < n && stops[nextStop] == end) {
+            depth--;
+            nextStop++;
+        }
+        if (end == Long.MAX_VALUE) {
+            exhausted = true;
+        } else {
+            position = end + 1;
+        }
+        return true;
+    }
+
+}
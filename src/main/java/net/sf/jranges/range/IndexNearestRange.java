@@ -0,0 +1,417 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.longrange.RangeLong;
+
+/**
+ * An index that finds the ranges closest to a position.
+ * <p>
+ * The distance of a range to a position is {@code 0} if the range spans the
+ * position, {@code start - position} if the range lies downstream (at higher
+ * positions), and {@code position - stop} if it lies upstream. Intervals are
+ * ignored. For ranges on the reverse strand, swap {@link Direction#UPSTREAM}
+ * and {@link Direction#DOWNSTREAM}.
+ * </p>
+ * <p>
+ * Ranges are kept in two sorted orders, by start and by stop. Downstream
+ * candidates are walked forward in start order, upstream candidates backward
+ * in stop order, so the {@code k} nearest non-overlapping ranges are found in
+ * {@code O(log n + k)}. Ranges spanning the position are found by walking back
+ * in start order, bounded by the running maximum of stops; deeply nested
+ * ranges may add to that walk.
+ * </p>
+ * <p>
+ * Hits are reported as indices in start order; see {@link #getRange(int)}.
+ * {@link #nearest(long[], Direction, long)} answers sorted query batches in a
+ * single pass, advancing its cursors instead of searching from scratch.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * IndexNearestRange&lt;RangeInteger&gt; index = IndexNearestRange.create(ranges);
+ * int i = index.nearest(position, Direction.UPSTREAM, 1000);
+ * if (i &gt;= 0) {
+ *     System.out.println(index.getRange(i) + &quot; at &quot; + index.distance(i, position));
+ * }
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ * @param <R>
+ *            type of indexed range
+ */
+public class IndexNearestRange<R> {
+
+    /**
+     * Restricts which ranges are considered. Ranges spanning the query
+     * position are considered for every direction.
+     */
+    public static enum Direction {
+
+        /**
+         * Ranges on both sides.
+         */
+        BOTH,
+
+        /**
+         * Ranges at lower positions only.
+         */
+        UPSTREAM,
+
+        /**
+         * Ranges at higher positions only.
+         */
+        DOWNSTREAM
+    }
+
+    /**
+     * Create a new {@code IndexNearestRange} over given integer ranges.
+     *
+     * @param ranges
+     *            ranges to index
+     * @return a new {@code IndexNearestRange}
+     */
+    public static <R extends RangeInteger> IndexNearestRange<R> create(final Collection<? extends R> ranges) {
+        final Object[] input = ranges.toArray();
+        final long[] starts = new long[input.length];
+        final long[] stops = new long[input.length];
+        for (int i = 0; i < input.length; i++) {
+            starts[i] = ((RangeInteger) input[i]).getStart();
+            stops[i] = ((RangeInteger) input[i]).getStop();
+        }
+        return new IndexNearestRange<R>(input, starts, stops);
+    }
+
+    /**
+     * Create a new {@code IndexNearestRange} over given long ranges.
+     *
+     * @param ranges
+     *            ranges to index
+     * @return a new {@code IndexNearestRange}
+     */
+    public static <R extends RangeLong> IndexNearestRange<R> createLong(final Collection<? extends R> ranges) {
+        final Object[] input = ranges.toArray();
+        final long[] starts = new long[input.length];
+        final long[] stops = new long[input.length];
+        for (int i = 0; i < input.length; i++) {
+            starts[i] = ((RangeLong) input[i]).getStart();
+            stops[i] = ((RangeLong) input[i]).getStop();
+        }
+        return new IndexNearestRange<R>(input, starts, stops);
+    }
+
+    /**
+     * @return {@code to - from}, or {@link Long#MAX_VALUE} if that overflows
+     */
+    private static long gap(final long from, final long to) {
+        final long result = to - from;
+        return result < 0 ? Long.MAX_VALUE : result;
+    }
+
+    /**
+     * @return index of the first element, that is greater than given key
+     */
+    private static int upperBound(final long[] sorted, final long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private final Object[] ranges;
+
+    private final long[] starts;
+
+    private final long[] stops;
+
+    /**
+     * Greatest stop of all ranges up to and including an index, in start
+     * order.
+     */
+    private final long[] maxStops;
+
+    /**
+     * Stops in ascending order.
+     */
+    private final long[] sortedStops;
+
+    /**
+     * For every element of {@link #sortedStops}, index of its range in start
+     * order.
+     */
+    private final int[] stopOrder;
+
+    private IndexNearestRange(final Object[] input, final long[] starts, final long[] stops) {
+        final int n = input.length;
+        // sort by start: rank of start in upper, original index in lower bits
+        final long[] distinct = starts.clone();
+        Arrays.sort(distinct);
+        final long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = (long) Arrays.binarySearch(distinct, starts[i]) << 32 | i;
+        }
+        Arrays.sort(keys);
+        this.ranges = new Object[n];
+        this.starts = new long[n];
+        this.stops = new long[n];
+        this.maxStops = new long[n];
+        for (int i = 0; i < n; i++) {
+            final int k = (int) keys[i];
+            ranges[i] = input[k];
+            this.starts[i] = starts[k];
+            this.stops[i] = stops[k];
+            if (stops[k] < starts[k]) {
+                throw new RangeException("invalid range start=" + starts[k] + " stop=" + stops[k]);
+            }
+            maxStops[i] = i == 0 ? stops[k] : Math.max(maxStops[i - 1], stops[k]);
+        }
+        // sort by stop, the same way
+        this.sortedStops = this.stops.clone();
+        Arrays.sort(sortedStops);
+        for (int i = 0; i < n; i++) {
+            keys[i] = (long) Arrays.binarySearch(sortedStops, this.stops[i]) << 32 | i;
+        }
+        Arrays.sort(keys);
+        this.stopOrder = new int[n];
+        for (int i = 0; i < n; i++) {
+            stopOrder[i] = (int) keys[i];
+        }
+    }
+
+    /**
+     * Compute the distance of the range at given index to given position.
+     *
+     * @param index
+     *            index of the range, in start order
+     * @param position
+     *            position to measure from
+     * @return distance, {@code 0} if the range spans given position
+     */
+    public long distance(final int index, final long position) {
+        if (position < starts[index]) {
+            return gap(position, starts[index]);
+        }
+        if (position > stops[index]) {
+            return gap(stops[index], position);
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieve the range at given index.
+     *
+     * @param index
+     *            index of the range, in start order
+     * @return the range
+     */
+    @SuppressWarnings("unchecked")
+    public R getRange(final int index) {
+        return (R) ranges[index];
+    }
+
+    /**
+     * @return start of the range at given index
+     */
+    public long getStart(final int index) {
+        return starts[index];
+    }
+
+    /**
+     * @return stop of the range at given index
+     */
+    public long getStop(final int index) {
+        return stops[index];
+    }
+
+    /**
+     * Find the range nearest to given position, in any direction.
+     *
+     * @param position
+     *            query position
+     * @return index of the nearest range, or {@code -1} if this index is empty
+     */
+    public int nearest(final long position) {
+        return nearest(position, Direction.BOTH, Long.MAX_VALUE);
+    }
+
+    /**
+     * Find the range nearest to given position.
+     *
+     * @param position
+     *            query position
+     * @param direction
+     *            direction to search in
+     * @param maxDistance
+     *            greatest accepted distance, inclusively
+     * @return index of the nearest range, or {@code -1} if there is none
+     *         within given distance
+     */
+    public int nearest(final long position, final Direction direction, final long maxDistance) {
+        final int down = position == Long.MIN_VALUE ? 0 : upperBound(sortedStops, position - 1);
+        return nearest(position, upperBound(starts, position), down, direction, maxDistance);
+    }
+
+    /**
+     * Find the {@code k} ranges nearest to given position.
+     *
+     * @param position
+     *            query position
+     * @param k
+     *            maximum number of ranges to find
+     * @param direction
+     *            direction to search in
+     * @param maxDistance
+     *            greatest accepted distance, inclusively
+     * @return indices of up to {@code k} ranges, by ascending distance
+     * @throws IllegalArgumentException
+     *             if {@code k} is negative
+     */
+    public int[] nearest(final long position, final int k, final Direction direction, final long maxDistance) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative, was " + k);
+        }
+        if (maxDistance < 0) {
+            return new int[0];
+        }
+        final int[] result = new int[Math.min(k, starts.length)];
+        int count = 0;
+        int right = upperBound(starts, position);
+        // spanning ranges first
+        for (int i = right - 1; i >= 0 && count < result.length && maxStops[i] >= position; i--) {
+            if (stops[i] >= position) {
+                result[count++] = i;
+            }
+        }
+        int left = position == Long.MIN_VALUE ? -1 : upperBound(sortedStops, position - 1) - 1;
+        if (direction == Direction.DOWNSTREAM) {
+            left = -1;
+        }
+        if (direction == Direction.UPSTREAM) {
+            right = starts.length;
+        }
+        while (count < result.length) {
+            final long dl = left >= 0 ? gap(sortedStops[left], position) : Long.MAX_VALUE;
+            final long dr = right < starts.length ? gap(position, starts[right]) : Long.MAX_VALUE;
+            if (left >= 0 && dl <= dr && dl <= maxDistance) {
+                result[count++] = stopOrder[left--];
+            } else if (right < starts.length && dr <= maxDistance) {
+                result[count++] = right++;
+            } else {
+                break;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Find the nearest range for every given position, in one pass.
+     *
+     * @param positions
+     *            query positions, sorted ascending
+     * @param direction
+     *            direction to search in
+     * @param maxDistance
+     *            greatest accepted distance, inclusively
+     * @return for every position, index of the nearest range, or {@code -1}
+     *         if there is none within given distance
+     * @throws IllegalArgumentException
+     *             if positions are not sorted
+     */
+    public int[] nearest(final long[] positions, final Direction direction, final long maxDistance) {
+        final int[] result = new int[positions.length];
+        int up = 0;
+        int down = 0;
+        for (int i = 0; i < positions.length; i++) {
+            final long p = positions[i];
+            if (i > 0 && p < positions[i - 1]) {
+                throw new IllegalArgumentException("positions not sorted");
+            }
+            while (up < starts.length && starts[up] <= p) {
+                up++;
+            }
+            while (down < sortedStops.length && sortedStops[down] < p) {
+                down++;
+            }
+            result[i] = nearest(p, up, down, direction, maxDistance);
+        }
+        return result;
+    }
+
+    /**
+     * @param up
+     *            number of ranges with {@code start <= position}
+     * @param down
+     *            number of ranges with {@code stop < position}
+     */
+    private int nearest(final long position, final int up, final int down, final Direction direction,
+            final long maxDistance) {
+        if (maxDistance < 0) {
+            return -1;
+        }
+        for (int i = up - 1; i >= 0 && maxStops[i] >= position; i--) {
+            if (stops[i] >= position) {
+                return i;
+            }
+        }
+        final long dl = direction != Direction.DOWNSTREAM && down > 0 ? gap(sortedStops[down - 1], position)
+                : Long.MAX_VALUE;
+        final long dr = direction != Direction.UPSTREAM && up < starts.length ? gap(position, starts[up])
+                : Long.MAX_VALUE;
+        if (dl <= dr && down > 0 && direction != Direction.DOWNSTREAM && dl <= maxDistance) {
+            return stopOrder[down - 1];
+        }
+        if (up < starts.length && direction != Direction.UPSTREAM && dr <= maxDistance) {
+            return up;
+        }
+        return -1;
+    }
+
+    /**
+     * @return number of indexed ranges
+     */
+    public int size() {
+        return starts.length;
+    }
+
+}
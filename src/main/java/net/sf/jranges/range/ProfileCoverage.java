@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.longrange.RangeLong;
+
+/**
+ * A run-length encoded coverage depth profile: maximal runs of positions with
+ * equal, non-zero depth, stored as {@code (start, stop, depth)} in three
+ * primitive arrays.
+ * <p>
+ * A profile is filled from a {@link CoverageSweep}, so building it takes
+ * {@code O(n log n)} for {@code n} ranges and its size is bounded by the number
+ * of depth changes, not by the span the ranges cover. Use the
+ * {@code CoverageSweep} directly to stream runs without storing them.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * ProfileCoverage profile = ProfileCoverage.create(ranges);
+ * profile.getDepthAt(42);
+ * profile.writeBedGraph(writer, &quot;chr1&quot;);
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class ProfileCoverage {
+
+    /**
+     * Create a new {@code ProfileCoverage} of given ranges.
+     *
+     * @see CoverageSweep#create(Collection)
+     */
+    public static ProfileCoverage create(final Collection<? extends RangeInteger> ranges) {
+        return create(CoverageSweep.create(ranges));
+    }
+
+    /**
+     * Create a new {@code ProfileCoverage} from all remaining runs of given
+     * sweep.
+     *
+     * @param sweep
+     *            sweep to consume
+     * @return a new {@code ProfileCoverage}
+     */
+    public static ProfileCoverage create(final CoverageSweep sweep) {
+        long[] starts = new long[16];
+        long[] stops = new long[16];
+        int[] depths = new int[16];
+        int n = 0;
+        while (sweep.next()) {
+            if (n == starts.length) {
+                starts = Arrays.copyOf(starts, n * 2);
+                stops = Arrays.copyOf(stops, n * 2);
+                depths = Arrays.copyOf(depths, n * 2);
+            }
+            starts[n] = sweep.getStart();
+            stops[n] = sweep.getStop();
+            depths[n] = sweep.getDepth();
+            n++;
+        }
+        return new ProfileCoverage(Arrays.copyOf(starts, n), Arrays.copyOf(stops, n), Arrays.copyOf(depths, n));
+    }
+
+    /**
+     * Create a new {@code ProfileCoverage} of given long ranges.
+     *
+     * @see CoverageSweep#createLong(Collection)
+     */
+    public static ProfileCoverage createLong(final Collection<? extends RangeLong> ranges) {
+        return create(CoverageSweep.createLong(ranges));
+    }
+
+    private final long[] starts;
+
+    private final long[] stops;
+
+    private final int[] depths;
+
+    private ProfileCoverage(final long[] starts, final long[] stops, final int[] depths) {
+        this.starts = starts;
+        this.stops = stops;
+        this.depths = depths;
+    }
+
+    /**
+     * @return depth of the run at given index
+     */
+    public int getDepth(final int index) {
+        return depths[index];
+    }
+
+    /**
+     * Retrieve the depth at given position, in {@code O(log n)}.
+     *
+     * @param position
+     *            position to look up
+     * @return number of ranges that include given position
+     */
+    public int getDepthAt(final long position) {
+        final int i = indexOf(position);
+        return i < 0 ? 0 : depths[i];
+    }
+
+    /**
+     * @return first position of the run at given index
+     */
+    public long getStart(final int index) {
+        return starts[index];
+    }
+
+    /**
+     * @return last position of the run at given index, inclusively
+     */
+    public long getStop(final int index) {
+        return stops[index];
+    }
+
+    /**
+     * Find the run that contains given position.
+     *
+     * @param position
+     *            position to look up
+     * @return index of the run, or {@code -(insertion point) - 1} if given
+     *         position is not covered
+     */
+    public int indexOf(final long position) {
+        int lo = 0;
+        int hi = starts.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= position) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo > 0 && stops[lo - 1] >= position ? lo - 1 : -lo - 1;
+    }
+
+    /**
+     * @return number of positions with a depth greater than {@code 0}
+     */
+    public long numberOfPositions() {
+        long result = 0;
+        for (int i = 0; i < starts.length; i++) {
+            result += stops[i] - starts[i] + 1;
+        }
+        return result;
+    }
+
+    /**
+     * @return number of runs
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Write all runs as bedGraph lines: chromosome, zero-based start,
+     * exclusive end and depth, separated by tabs.
+     *
+     * @param out
+     *            target to write to
+     * @param chromosome
+     *            value of the first column
+     * @throws IOException
+     *             if writing fails
+     */
+    public void writeBedGraph(final Appendable out, final String chromosome) throws IOException {
+        for (int i = 0; i < starts.length; i++) {
+            out.append(chromosome).append('\t').append(Long.toString(starts[i])).append('\t')
+                    .append(Long.toString(stops[i] + 1)).append('\t').append(Integer.toString(depths[i]))
+                    .append('\n');
+        }
+    }
+
+}
@@ -0,0 +1,507 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A pyramid of coverage summaries over a {@link ProfileCoverage}, that answers
+ * sum, mean, minimum and maximum depth over arbitrary windows.
+ * <p>
+ * Level {@code 0} divides the covered span into bins of {@code binSize}
+ * positions; every further level joins {@code factor} bins of the level below,
+ * up to a single bin. Each bin stores the sum of depths over its positions and
+ * their minimum and maximum depth. A window query descends from the top
+ * level, uses every bin that lies completely within the window and only
+ * refines bins at the window's edges, so it takes {@code O(factor * log span)}.
+ * Partially covered bins of level {@code 0} are resolved exactly from the runs
+ * of the profile, which are stored along with the pyramid.
+ * </p>
+ * <p>
+ * All data is held in a single {@link ByteBuffer}. {@link #write(File)} stores
+ * it as is, and {@link #map(File)} maps a stored pyramid read-only, without
+ * copying it to the heap.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * PyramidCoverage pyramid = PyramidCoverage.create(ProfileCoverage.create(ranges), 64, 4);
+ * PyramidCoverage.Summary summary = pyramid.summarize(1000000, 2000000);
+ * System.out.println(summary.getMean() + &quot; &quot; + summary.getMax());
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class PyramidCoverage {
+
+    /**
+     * Aggregated depth over a window of positions.
+     * <p>
+     * <b>Threading:</b><br>
+     * </p>
+     * <p>
+     *
+     * <pre>
+     * Thread save, since immutable.
+     * </pre>
+     *
+     * </p>
+     */
+    public static class Summary {
+
+        private final long length;
+
+        private final long sum;
+
+        private final int min;
+
+        private final int max;
+
+        Summary(final long length, final long sum, final int min, final int max) {
+            this.length = length;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * @return number of positions in the window
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * @return greatest depth within the window
+         */
+        public int getMax() {
+            return max;
+        }
+
+        /**
+         * @return mean depth over all positions of the window
+         */
+        public double getMean() {
+            return (double) sum / length;
+        }
+
+        /**
+         * @return smallest depth within the window
+         */
+        public int getMin() {
+            return min;
+        }
+
+        /**
+         * @return sum of depths over all positions of the window
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        @Override
+        public String toString() {
+            return "length=" + length + " sum=" + sum + " min=" + min + " max=" + max;
+        }
+    }
+
+    private final static int MAGIC = 0x4A525059;
+
+    private final static int VERSION = 1;
+
+    /**
+     * Size of the fixed part of the header: magic, version, origin, bin size,
+     * factor, number of levels, number of runs, and padding.
+     */
+    private final static int HEADER_SIZE = 40;
+
+    private static int align(final long offset) {
+        return (int) ((offset + 7) & ~7L);
+    }
+
+    /**
+     * Create a new {@code PyramidCoverage} over given profile.
+     *
+     * @param profile
+     *            coverage profile to summarize
+     * @param binSize
+     *            number of positions per bin at level {@code 0}
+     * @param factor
+     *            number of bins joined per bin of the next level
+     * @return a new {@code PyramidCoverage}
+     * @throws IllegalArgumentException
+     *             if {@code binSize < 1}, {@code factor < 2}, or the pyramid
+     *             does not fit into a single buffer
+     */
+    public static PyramidCoverage create(final ProfileCoverage profile, final long binSize, final int factor) {
+        if (binSize < 1 || factor < 2) {
+            throw new IllegalArgumentException("invalid bin size " + binSize + " or factor " + factor);
+        }
+        final int runs = profile.size();
+        final long origin = runs == 0 ? 0 : profile.getStart(0);
+        long bins = 0;
+        if (runs > 0) {
+            final long span = profile.getStop(runs - 1) - origin;
+            if (span < 0) {
+                throw new IllegalArgumentException("span too large");
+            }
+            bins = span / binSize + 1;
+        }
+        // number of bins per level: until a single bin remains, or bin width overflows
+        final long[] counts = new long[64];
+        int levels = 0;
+        long width = binSize;
+        for (long b = bins; b > 0; b = (b + factor - 1) / factor) {
+            counts[levels++] = b;
+            if (b == 1 || width > Long.MAX_VALUE / factor) {
+                break;
+            }
+            width *= factor;
+        }
+        long size = align(HEADER_SIZE + 4L * levels) + align(runs * 20L);
+        for (int level = 0; level < levels; level++) {
+            size += align(counts[level] * 16);
+        }
+        if (bins > Integer.MAX_VALUE || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many bins; increase bin size");
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(origin).putLong(binSize).putInt(factor).putInt(levels)
+                .putInt(runs).putInt(0);
+        for (int level = 0; level < levels; level++) {
+            buffer.putInt((int) counts[level]);
+        }
+        buffer.clear();
+        final PyramidCoverage result = new PyramidCoverage(buffer);
+        result.fill(profile);
+        return result;
+    }
+
+    /**
+     * Map given file read-only, that has been written by {@link #write(File)}.
+     *
+     * @param file
+     *            file to map
+     * @return a new {@code PyramidCoverage}, backed by the mapped file
+     * @throws IOException
+     *             if the file cannot be mapped or is invalid
+     */
+    public static PyramidCoverage map(final File file) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("invalid size " + channel.size());
+            }
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("invalid format");
+            }
+            try {
+                return new PyramidCoverage(buffer);
+            } catch (final RuntimeException e) {
+                throw new IOException("invalid format", e);
+            }
+        } finally {
+            raf.close();
+        }
+    }
+
+    private final ByteBuffer buffer;
+
+    private final long origin;
+
+    private final int factor;
+
+    private final int levels;
+
+    private final long[] widths;
+
+    private final int[] bins;
+
+    private final LongBuffer runStarts;
+
+    private final LongBuffer runStops;
+
+    private final IntBuffer runDepths;
+
+    private final LongBuffer[] sums;
+
+    private final IntBuffer[] mins;
+
+    private final IntBuffer[] maxs;
+
+    private PyramidCoverage(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.origin = buffer.getLong(8);
+        final long binSize = buffer.getLong(16);
+        this.factor = buffer.getInt(24);
+        this.levels = buffer.getInt(28);
+        final int runs = buffer.getInt(32);
+        if (binSize < 1 || factor < 2 || levels < 0 || runs < 0) {
+            throw new IllegalArgumentException("invalid header");
+        }
+        this.widths = new long[levels];
+        this.bins = new int[levels];
+        this.sums = new LongBuffer[levels];
+        this.mins = new IntBuffer[levels];
+        this.maxs = new IntBuffer[levels];
+        int offset = align(HEADER_SIZE + 4L * levels);
+        runStarts = slice(offset, runs * 8).asLongBuffer();
+        runStops = slice(offset + runs * 8, runs * 8).asLongBuffer();
+        runDepths = slice(offset + runs * 16, runs * 4).asIntBuffer();
+        offset += align(runs * 20L);
+        long width = binSize;
+        for (int level = 0; level < levels; level++) {
+            bins[level] = buffer.getInt(HEADER_SIZE + 4 * level);
+            widths[level] = width;
+            width *= factor;
+            sums[level] = slice(offset, bins[level] * 8).asLongBuffer();
+            mins[level] = slice(offset + bins[level] * 8, bins[level] * 4).asIntBuffer();
+            maxs[level] = slice(offset + bins[level] * 12, bins[level] * 4).asIntBuffer();
+            offset += align(bins[level] * 16L);
+        }
+    }
+
+    private void fill(final ProfileCoverage profile) {
+        final int runs = profile.size();
+        for (int i = 0; i < runs; i++) {
+            runStarts.put(i, profile.getStart(i));
+            runStops.put(i, profile.getStop(i));
+            runDepths.put(i, profile.getDepth(i));
+        }
+        if (levels == 0) {
+            return;
+        }
+        final long binSize = widths[0];
+        int current = -1;
+        long covered = 0;
+        for (int i = 0; i < runs; i++) {
+            final long start = profile.getStart(i);
+            final long stop = profile.getStop(i);
+            final int depth = profile.getDepth(i);
+            final int first = (int) ((start - origin) / binSize);
+            final int last = (int) ((stop - origin) / binSize);
+            for (int b = first; b <= last; b++) {
+                if (b != current) {
+                    finish(current, covered);
+                    current = b;
+                    covered = 0;
+                    mins[0].put(b, Integer.MAX_VALUE);
+                }
+                final long binStart = origin + b * binSize;
+                final long length = Math.min(stop, binStart + binSize - 1) - Math.max(start, binStart) + 1;
+                covered += length;
+                sums[0].put(b, sums[0].get(b) + length * depth);
+                mins[0].put(b, Math.min(mins[0].get(b), depth));
+                maxs[0].put(b, Math.max(maxs[0].get(b), depth));
+            }
+        }
+        finish(current, covered);
+        for (int level = 1; level < levels; level++) {
+            for (int b = 0; b < bins[level]; b++) {
+                final int from = b * factor;
+                final int to = (int) Math.min((long) from + factor, bins[level - 1]);
+                long sum = 0;
+                // bins beyond the last one are not covered
+                int min = to - from < factor ? 0 : Integer.MAX_VALUE;
+                int max = 0;
+                for (int c = from; c < to; c++) {
+                    sum += sums[level - 1].get(c);
+                    min = Math.min(min, mins[level - 1].get(c));
+                    max = Math.max(max, maxs[level - 1].get(c));
+                }
+                sums[level].put(b, sum);
+                mins[level].put(b, min);
+                maxs[level].put(b, max);
+            }
+        }
+    }
+
+    private void finish(final int bin, final long covered) {
+        if (bin >= 0 && covered < widths[0]) {
+            mins[0].put(bin, 0);
+        }
+    }
+
+    /**
+     * @return number of bins at given level
+     */
+    public int getBinCount(final int level) {
+        return bins[level];
+    }
+
+    /**
+     * @return number of positions per bin at given level
+     */
+    public long getBinSize(final int level) {
+        return widths[level];
+    }
+
+    /**
+     * @return number of levels
+     */
+    public int getLevelCount() {
+        return levels;
+    }
+
+    /**
+     * @return first position of the first bin
+     */
+    public long getOrigin() {
+        return origin;
+    }
+
+    private ByteBuffer slice(final int offset, final int length) {
+        final ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + length);
+        return duplicate.slice();
+    }
+
+    /**
+     * Aggregate depths over window {@code start->stop}.
+     *
+     * @param start
+     *            first position of the window
+     * @param stop
+     *            last position of the window, inclusively
+     * @return summary of the window
+     * @throws RangeException
+     *             if {@code stop < start}
+     */
+    public Summary summarize(final long start, final long stop) {
+        if (stop < start) {
+            throw new RangeException("invalid range start=" + start + " stop=" + stop);
+        }
+        // sum, min, max, positions accounted for
+        final long[] acc = { 0, Integer.MAX_VALUE, 0, 0 };
+        if (levels > 0 && stop >= origin) {
+            final int top = levels - 1;
+            final long width = widths[top];
+            final long first = start <= origin ? 0 : (start - origin) / width;
+            // negative, if the offset of stop overflows
+            final long offset = stop - origin;
+            final long last = offset < 0 ? bins[top] - 1L : Math.min(offset / width, bins[top] - 1L);
+            for (long b = first; b <= last; b++) {
+                summarize(top, (int) b, start, stop, acc);
+            }
+        }
+        final long length = stop - start + 1 > 0 ? stop - start + 1 : Long.MAX_VALUE;
+        if (acc[3] < length) {
+            // positions outside of all bins have depth 0
+            acc[1] = 0;
+        }
+        return new Summary(length, acc[0], (int) acc[1], (int) acc[2]);
+    }
+
+    private void summarize(final int level, final int bin, final long start, final long stop, final long[] acc) {
+        if (bin >= bins[level]) {
+            return;
+        }
+        final long binStart = origin + bin * widths[level];
+        final long binStop = binStart + widths[level] - 1;
+        final long from = Math.max(start, binStart);
+        final long to = Math.min(stop, binStop);
+        if (from > to) {
+            return;
+        }
+        if (from == binStart && to == binStop) {
+            acc[0] += sums[level].get(bin);
+            acc[1] = Math.min(acc[1], mins[level].get(bin));
+            acc[2] = Math.max(acc[2], maxs[level].get(bin));
+            acc[3] += widths[level];
+            return;
+        }
+        if (level > 0) {
+            for (int c = 0; c < factor; c++) {
+                summarize(level - 1, bin * factor + c, start, stop, acc);
+            }
+            return;
+        }
+        // edge of the window: resolve from runs
+        int lo = 0;
+        int hi = runStarts.limit();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (runStops.get(mid) < from) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        long covered = 0;
+        for (int i = lo; i < runStarts.limit() && runStarts.get(i) <= to; i++) {
+            final long length = Math.min(to, runStops.get(i)) - Math.max(from, runStarts.get(i)) + 1;
+            covered += length;
+            acc[0] += length * runDepths.get(i);
+            acc[1] = Math.min(acc[1], runDepths.get(i));
+            acc[2] = Math.max(acc[2], runDepths.get(i));
+        }
+        if (covered < to - from + 1) {
+            acc[1] = 0;
+        }
+        acc[3] += to - from + 1;
+    }
+
+    /**
+     * Store this pyramid to given file, so that it can be reopened by
+     * {@link #map(File)}.
+     *
+     * @param file
+     *            file to write to; will be overwritten
+     * @throws IOException
+     *             if writing fails
+     */
+    public void write(final File file) throws IOException {
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            final FileChannel channel = out.getChannel();
+            final ByteBuffer duplicate = buffer.duplicate();
+            duplicate.clear();
+            while (duplicate.hasRemaining()) {
+                channel.write(duplicate);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+}
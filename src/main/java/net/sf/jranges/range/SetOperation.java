@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+/**
+ * A binary set operation on the positions of two range sequences.
+ * <p>
+ * Each operation decides whether a position is part of the result, given
+ * whether it is included by the first and by the second operand.
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public enum SetOperation {
+
+    /**
+     * Positions included by the first or the second operand.
+     */
+    UNION {
+        @Override
+        public boolean apply(final boolean inFirst, final boolean inSecond) {
+            return inFirst || inSecond;
+        }
+    },
+
+    /**
+     * Positions included by both operands.
+     */
+    INTERSECTION {
+        @Override
+        public boolean apply(final boolean inFirst, final boolean inSecond) {
+            return inFirst && inSecond;
+        }
+    },
+
+    /**
+     * Positions included by the first, but not by the second operand.
+     */
+    DIFFERENCE {
+        @Override
+        public boolean apply(final boolean inFirst, final boolean inSecond) {
+            return inFirst && !inSecond;
+        }
+    },
+
+    /**
+     * Positions included by exactly one of both operands.
+     */
+    SYMMETRIC_DIFFERENCE {
+        @Override
+        public boolean apply(final boolean inFirst, final boolean inSecond) {
+            return inFirst != inSecond;
+        }
+    };
+
+    /**
+     * Decide whether a position is part of the result.
+     *
+     * @param inFirst
+     *            true, if the position is included by the first operand
+     * @param inSecond
+     *            true, if the position is included by the second operand
+     * @return true, if the position is part of the result
+     */
+    public abstract boolean apply(boolean inFirst, boolean inSecond);
+
+}
@@ -0,0 +1,423 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import java.util.Arrays;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.longrange.RangeLong;
+
+/**
+ * A mergeable sketch, that estimates the number of distinct positions covered
+ * by a stream of ranges, in bounded memory.
+ * <p>
+ * The coordinate space is cut into aligned blocks of {@code stride}
+ * positions, where the stride is a power of two. Only one position per block
+ * is sampled, which is chosen by hashing the block. A range samples a
+ * contiguous run of blocks, apart from its two edge blocks, so every range is
+ * stored as one span of block indices, no matter how long it is. Spans are
+ * buffered and periodically sorted and joined. Whenever more than
+ * {@code capacity} disjoint spans remain, the stride is doubled: the sample
+ * of a block of twice the size is, again by hash, the sample of one of its two
+ * halves, so sampled positions are kept or dropped consistently and
+ * neighbouring spans join.
+ * </p>
+ * <p>
+ * The estimate is the number of sampled, covered blocks, times the stride. It
+ * is exact while the stride is {@code 1}; afterwards, it is unbiased, since
+ * every position of a block is equally likely to be its sample. Since samples
+ * do not lie on a fixed grid, periodic input, for example all odd positions,
+ * is estimated as well as any other. Only blocks that are covered partially
+ * contribute an error, of less than one stride each; the relative error is
+ * therefore about {@code 1 / sqrt(capacity)} for input of many small or
+ * strided ranges, and much smaller for long contiguous ranges. A larger
+ * capacity means a smaller error and more memory, about {@code 32 * capacity}
+ * bytes. Adding a range with an interval of {@code 1} takes amortised
+ * {@code O(log capacity)}.
+ * </p>
+ * <p>
+ * A range with another interval does not sample a contiguous run of blocks,
+ * and is added block by block, or position by position if its interval is at
+ * least the stride. If that takes more than {@code 4 * capacity} steps, the
+ * stride is doubled first, so that adding such a range takes
+ * {@code O(capacity)}, independent of its length.
+ * </p>
+ * <p>
+ * Sketches that were filled independently, for example one per thread, are
+ * combined with {@link #merge(SketchDistinctPositions)}.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * SketchDistinctPositions sketch = new SketchDistinctPositions(4096);
+ * for (RangeInteger r : ranges) {
+ *     sketch.add(r);
+ * }
+ * System.out.println(sketch.estimate());
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class SketchDistinctPositions {
+
+    /**
+     * @return the half of given block, whose sample is the sample of the
+     *         block, as {@code 0} or {@code 1}
+     */
+    private static long choose(final long block, final int level) {
+        return mix(mix(block) ^ level) >>> 63;
+    }
+
+    /**
+     * Convert a span of blocks of the level below {@code level} into the span
+     * of blocks of {@code level}, whose samples it covers.
+     *
+     * @return first block of the new span
+     */
+    private static long liftFirst(final long first, final int level) {
+        final long block = first >> 1;
+        return (block << 1 | choose(block, level)) >= first ? block : block + 1;
+    }
+
+    /**
+     * @return last block of the new span
+     * @see #liftFirst(long, int)
+     */
+    private static long liftLast(final long last, final int level) {
+        final long block = last >> 1;
+        return (block << 1 | choose(block, level)) <= last ? block : block - 1;
+    }
+
+    /**
+     * Finalizer of SplitMix64.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @return the sampled position of given block of given level
+     */
+    private static long sample(final long block, final int level) {
+        long result = block;
+        for (int l = level; l > 0; l--) {
+            result = result << 1 | choose(result, l);
+        }
+        return result;
+    }
+
+    private final int capacity;
+
+    /**
+     * Block index spans; the first {@link #n} are valid, the first
+     * {@link #joined} of these are sorted and disjoint.
+     */
+    private final long[] starts;
+
+    private final long[] stops;
+
+    private int n = 0;
+
+    private int joined = 0;
+
+    /**
+     * Stride is {@code 2^level}.
+     */
+    private int level = 0;
+
+    /**
+     * Construct a new, empty {@code SketchDistinctPositions}.
+     *
+     * @param capacity
+     *            maximum number of disjoint spans to keep
+     */
+    public SketchDistinctPositions(final int capacity) {
+        if (capacity < 1 || capacity > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("invalid capacity " + capacity);
+        }
+        this.capacity = capacity;
+        this.starts = new long[2 * capacity];
+        this.stops = new long[2 * capacity];
+    }
+
+    /**
+     * Add all positions {@code start->stop}, inclusively.
+     *
+     * @param start
+     *            first position
+     * @param stop
+     *            last position
+     * @throws RangeException
+     *             if {@code stop < start}
+     */
+    public void add(final long start, final long stop) {
+        if (stop < start) {
+            throw new RangeException("invalid range start=" + start + " stop=" + stop);
+        }
+        long first = start >> level;
+        if (sample(first, level) < start) {
+            first++;
+        }
+        long last = stop >> level;
+        if (sample(last, level) > stop) {
+            last--;
+        }
+        if (first <= last) {
+            append(first, last, level);
+        }
+    }
+
+    /**
+     * Add every {@code interval}th position of {@code start->stop},
+     * inclusively, starting with {@code start}.
+     *
+     * @param start
+     *            first position
+     * @param stop
+     *            last position
+     * @param interval
+     *            distance between two positions
+     * @throws RangeException
+     *             if {@code stop < start} or {@code interval < 1}
+     */
+    public void add(final long start, final long stop, final long interval) {
+        if (stop < start || interval < 1) {
+            throw new RangeException("invalid range start=" + start + " stop=" + stop + " interval=" + interval);
+        }
+        if (interval == 1) {
+            add(start, stop);
+            return;
+        }
+        // differences may exceed Long.MAX_VALUE, but never 2^64 - 1
+        final long positions = Long.divideUnsigned(stop - start, interval) + 1;
+        while (steps(start, stop, interval, positions) > 4L * capacity) {
+            coarsen();
+        }
+        final int level = this.level;
+        long runFirst = 0;
+        long runLast = -1;
+        long position = start;
+        while (true) {
+            final long block = position >> level;
+            final long sample = sample(block, level);
+            if (sample >= start && sample <= stop && Long.remainderUnsigned(sample - start, interval) == 0) {
+                if (runFirst <= runLast && block == runLast + 1) {
+                    runLast = block;
+                } else {
+                    if (runFirst <= runLast) {
+                        append(runFirst, runLast, level);
+                    }
+                    runFirst = runLast = block;
+                }
+            }
+            // first position of the range behind this block
+            final long next;
+            if (interval >= 1L << level) {
+                next = position + interval;
+            } else {
+                final long end = (block << level) + ((1L << level) - 1);
+                if (end >= stop) {
+                    break;
+                }
+                next = start + (Long.divideUnsigned(end - start, interval) + 1) * interval;
+            }
+            // stop, or overflow past Long.MAX_VALUE
+            if (next > stop || next < position) {
+                break;
+            }
+            if (this.level != level) {
+                // appending coarsened this sketch; continue with the new stride
+                if (runFirst <= runLast) {
+                    append(runFirst, runLast, level);
+                }
+                add(next, stop, interval);
+                return;
+            }
+            position = next;
+        }
+        if (runFirst <= runLast) {
+            append(runFirst, runLast, level);
+        }
+    }
+
+    /**
+     * Add all positions of given range.
+     */
+    public void add(final RangeInteger range) {
+        add(range.getStart(), range.getStop(), range.getInterval());
+    }
+
+    /**
+     * Add all positions of given range.
+     */
+    public void add(final RangeLong range) {
+        add(range.getStart(), range.getStop(), range.getInterval());
+    }
+
+    /**
+     * Append a span of blocks of given level, which is lifted to the current
+     * level, if that is coarser.
+     */
+    private void append(long first, long last, final int level) {
+        if (n == starts.length) {
+            compact();
+        }
+        for (int l = level + 1; l <= this.level && first <= last; l++) {
+            first = liftFirst(first, l);
+            last = liftLast(last, l);
+        }
+        if (first <= last) {
+            starts[n] = first;
+            stops[n] = last;
+            n++;
+        }
+    }
+
+    /**
+     * Double the stride, keeping the samples of the new blocks and dropping
+     * spans that no longer contain one.
+     */
+    private void coarsen() {
+        level++;
+        int w = 0;
+        for (int i = 0; i < n; i++) {
+            final long first = liftFirst(starts[i], level);
+            final long last = liftLast(stops[i], level);
+            if (first <= last) {
+                starts[w] = first;
+                stops[w] = last;
+                w++;
+            }
+        }
+        n = w;
+        joined = 0;
+    }
+
+    /**
+     * Sort and join all spans, and double the stride until at most
+     * {@code capacity} spans remain.
+     */
+    private void compact() {
+        join();
+        while (n > capacity) {
+            coarsen();
+            join();
+        }
+    }
+
+    /**
+     * @return estimated number of distinct positions added so far
+     */
+    public long estimate() {
+        join();
+        long result = 0;
+        for (int i = 0; i < n; i++) {
+            result += stops[i] - starts[i] + 1;
+        }
+        return result << level;
+    }
+
+    /**
+     * @return number of positions per block, of which one is sampled
+     */
+    public long getStride() {
+        return 1L << level;
+    }
+
+    /**
+     * Sort spans and join overlapping and adjacent ones. Starts and stops are
+     * sorted independently; the union of all spans is then recovered by a
+     * depth sweep.
+     */
+    private void join() {
+        if (joined == n) {
+            return;
+        }
+        Arrays.sort(starts, 0, n);
+        Arrays.sort(stops, 0, n);
+        int w = 0;
+        int s = 0;
+        int e = 0;
+        while (s < n) {
+            final long runStart = starts[s];
+            long runStop = 0;
+            int depth = 0;
+            do {
+                // starts first, so that adjacent spans are joined
+                if (s < n && (stops[e] == Long.MAX_VALUE || starts[s] <= stops[e] + 1)) {
+                    depth++;
+                    s++;
+                } else {
+                    runStop = stops[e++];
+                    depth--;
+                }
+            } while (depth > 0);
+            starts[w] = runStart;
+            stops[w] = runStop;
+            w++;
+        }
+        n = joined = w;
+    }
+
+    /**
+     * Add all positions of given sketch to this sketch. Given sketch is not
+     * modified.
+     *
+     * @param other
+     *            sketch to merge
+     */
+    public void merge(final SketchDistinctPositions other) {
+        other.join();
+        while (level < other.level) {
+            coarsen();
+        }
+        for (int i = 0; i < other.n; i++) {
+            append(other.starts[i], other.stops[i], other.level);
+        }
+        compact();
+    }
+
+    /**
+     * @return number of blocks or positions to visit, for adding given range
+     *         at the current stride
+     */
+    private long steps(final long start, final long stop, final long interval, final long positions) {
+        if (interval >= 1L << level) {
+            return positions;
+        }
+        return (stop >> level) - (start >> level) + 1;
+    }
+
+}
@@ -15,10 +15,19 @@
  ******************************************************************************/
 package net.sf.jranges.range;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 
 import net.sf.jranges.range.doublerange.RangeDouble;
 import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.longrange.RangeLong;
 import net.sf.kerner.utils.math.UtilMath;
 
 public class UtilRange {
@@ -31,6 +40,93 @@ public class UtilRange {
         void call(int i);
     }
 
+    public interface LongRangeTask {
+        void call(long i);
+    }
+
+    private static class ForAllInteger extends RecursiveAction implements IntConsumer {
+
+        private static final long serialVersionUID = 3431046178574939823L;
+
+        private final Spliterator.OfInt spliterator;
+
+        private final IntegerRangeTask task;
+
+        private final long threshold;
+
+        private ForAllInteger(final Spliterator.OfInt spliterator, final IntegerRangeTask task, final long threshold) {
+            this.spliterator = spliterator;
+            this.task = task;
+            this.threshold = threshold;
+        }
+
+        public void accept(final int value) {
+            task.call(value);
+        }
+
+        @Override
+        protected void compute() {
+            if (spliterator.estimateSize() > threshold) {
+                final Spliterator.OfInt prefix = spliterator.trySplit();
+                if (prefix != null) {
+                    invokeAll(new ForAllInteger(prefix, task, threshold), new ForAllInteger(spliterator, task,
+                            threshold));
+                    return;
+                }
+            }
+            spliterator.forEachRemaining(this);
+        }
+    }
+
+    private static class ForAllLong extends RecursiveAction implements LongConsumer {
+
+        private static final long serialVersionUID = -1640385123370467146L;
+
+        private final Spliterator.OfLong spliterator;
+
+        private final LongRangeTask task;
+
+        private final long threshold;
+
+        private ForAllLong(final Spliterator.OfLong spliterator, final LongRangeTask task, final long threshold) {
+            this.spliterator = spliterator;
+            this.task = task;
+            this.threshold = threshold;
+        }
+
+        public void accept(final long value) {
+            task.call(value);
+        }
+
+        @Override
+        protected void compute() {
+            if (spliterator.estimateSize() > threshold) {
+                final Spliterator.OfLong prefix = spliterator.trySplit();
+                if (prefix != null) {
+                    invokeAll(new ForAllLong(prefix, task, threshold), new ForAllLong(spliterator, task, threshold));
+                    return;
+                }
+            }
+            spliterator.forEachRemaining(this);
+        }
+    }
+
+    /**
+     * Positions per leaf task; ranges are split into about four tasks per
+     * worker, but never into tasks smaller than this.
+     */
+    private final static long MIN_PARALLEL_SIZE = 1024;
+
+    private final static int SWEEP_COUNT = 0;
+
+    private final static int SWEEP_ALL = 1;
+
+    private final static int SWEEP_ANY = 2;
+
+    private static long threshold(final long size, final ForkJoinPool pool) {
+        return Math.max(size / (pool.getParallelism() * 4L), MIN_PARALLEL_SIZE);
+    }
+
     public static void doForAllInRange(final RangeDouble range, final DoubleRangeTask task) {
         for (double i = range.getStart(); UtilMath.round(i, 6) <= range.getStop(); i += range
                 .getInterval()) {
@@ -47,6 +143,192 @@ public class UtilRange {
         }
     }
 
+    public static void doForAllInRange(final RangeLong range, final LongRangeTask task) {
+        if (range == null || task == null) {
+            throw new NullPointerException();
+        }
+        final Spliterator.OfLong spliterator = range.spliterator();
+        spliterator.forEachRemaining(new LongConsumer() {
+            public void accept(final long value) {
+                task.call(value);
+            }
+        });
+    }
+
+    /**
+     * Call given task for every position of given range, in parallel on the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     * <p>
+     * Positions are not visited in order, and given task is called
+     * concurrently from several threads.
+     * </p>
+     * 
+     * @param range
+     *            range whose positions are visited
+     * @param task
+     *            thread-safe task that is called for every position
+     */
+    public static void doForAllInRangeParallel(final RangeInteger range, final IntegerRangeTask task) {
+        doForAllInRangeParallel(range, task, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Call given task for every position of given range, in parallel on given
+     * pool.
+     * <p>
+     * Positions are not visited in order, and given task is called
+     * concurrently from several threads.
+     * </p>
+     * 
+     * @param range
+     *            range whose positions are visited
+     * @param task
+     *            thread-safe task that is called for every position
+     * @param pool
+     *            pool that runs the task
+     */
+    public static void doForAllInRangeParallel(final RangeInteger range, final IntegerRangeTask task,
+            final ForkJoinPool pool) {
+        if (range == null || task == null || pool == null) {
+            throw new NullPointerException();
+        }
+        final Spliterator.OfInt spliterator = range.spliterator();
+        pool.invoke(new ForAllInteger(spliterator, task, threshold(spliterator.estimateSize(), pool)));
+    }
+
+    /**
+     * Call given task for every position of given range, in parallel on the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     * <p>
+     * Positions are not visited in order, and given task is called
+     * concurrently from several threads.
+     * </p>
+     * 
+     * @param range
+     *            range whose positions are visited
+     * @param task
+     *            thread-safe task that is called for every position
+     */
+    public static void doForAllInRangeParallel(final RangeLong range, final LongRangeTask task) {
+        doForAllInRangeParallel(range, task, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Call given task for every position of given range, in parallel on given
+     * pool.
+     * <p>
+     * Positions are not visited in order, and given task is called
+     * concurrently from several threads.
+     * </p>
+     * 
+     * @param range
+     *            range whose positions are visited
+     * @param task
+     *            thread-safe task that is called for every position
+     * @param pool
+     *            pool that runs the task
+     */
+    public static void doForAllInRangeParallel(final RangeLong range, final LongRangeTask task,
+            final ForkJoinPool pool) {
+        if (range == null || task == null || pool == null) {
+            throw new NullPointerException();
+        }
+        final Spliterator.OfLong spliterator = range.spliterator();
+        pool.invoke(new ForAllLong(spliterator, task, threshold(spliterator.estimateSize(), pool)));
+    }
+
+    /**
+     * Count positions, that are included by given range.
+     * <p>
+     * Binary search finds the positions between start and stop in
+     * {@code O(log n)}; for ranges with an interval other than {@code 1}, this
+     * window is then checked position by position.
+     * </p>
+     *
+     * @param range
+     *            range to check against
+     * @param positions
+     *            positions, sorted ascending; otherwise the result is
+     *            undefined
+     * @return number of positions, that are included by given range
+     */
+    public static int countIncluded(final RangeInteger range, final int[] positions) {
+        final int from = lowerBound(positions, range.getStart());
+        final int to = lowerBound(positions, (long) range.getStop() + 1);
+        if (range.getInterval() == 1) {
+            return to - from;
+        }
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            if (((long) positions[i] - range.getStart()) % range.getInterval() == 0) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Count positions, that are included by at least one of given ranges.
+     * <p>
+     * Ranges and positions are walked once in a merge sweep, in
+     * {@code O(n + m)}. Ranges with an interval other than {@code 1} are
+     * checked individually, as long as they overlap with the current position.
+     * </p>
+     *
+     * @param ranges
+     *            ranges to check against, sorted by start
+     * @param positions
+     *            positions, sorted ascending
+     * @return number of positions, that are included by at least one range
+     * @throws IllegalArgumentException
+     *             if ranges or positions are not sorted
+     */
+    public static int countIncluded(final List<? extends RangeInteger> ranges, final int[] positions) {
+        return sweep(ranges, positions, SWEEP_COUNT);
+    }
+
+    /**
+     * Check whether all given positions are included by given range.
+     * <p>
+     * For ranges with an interval of {@code 1}, this takes {@code O(1)}.
+     * </p>
+     *
+     * @param range
+     *            range to check against
+     * @param positions
+     *            positions, sorted ascending; otherwise the result is
+     *            undefined
+     * @return true, if every position is included by given range; false
+     *         otherwise
+     */
+    public static boolean includesAll(final RangeInteger range, final int[] positions) {
+        if (positions.length == 0) {
+            return true;
+        }
+        if (positions[0] < range.getStart() || positions[positions.length - 1] > range.getStop()) {
+            return false;
+        }
+        return range.getInterval() == 1 || countIncluded(range, positions) == positions.length;
+    }
+
+    /**
+     * Check whether every given position is included by at least one of given
+     * ranges.
+     *
+     * @param ranges
+     *            ranges to check against, sorted by start
+     * @param positions
+     *            positions, sorted ascending
+     * @return true, if every position is included by at least one range; false
+     *         otherwise
+     * @throws IllegalArgumentException
+     *             if ranges or positions are not sorted
+     * @see #countIncluded(List, int[])
+     */
+    public static boolean includesAll(final List<? extends RangeInteger> ranges, final int[] positions) {
+        return sweep(ranges, positions, SWEEP_ALL) == positions.length;
+    }
+
     public static boolean includesAll(final RangeInteger range,
             final Collection<? extends Integer> positions) {
         for (final int i : positions) {
@@ -59,6 +341,148 @@ public class UtilRange {
         return true;
     }
 
+    /**
+     * Check whether at least one given position is included by given range.
+     * <p>
+     * For ranges with an interval of {@code 1}, this takes {@code O(log n)}.
+     * </p>
+     *
+     * @param range
+     *            range to check against
+     * @param positions
+     *            positions, sorted ascending; otherwise the result is
+     *            undefined
+     * @return true, if at least one position is included by given range; false
+     *         otherwise
+     */
+    public static boolean includesAny(final RangeInteger range, final int[] positions) {
+        final int from = lowerBound(positions, range.getStart());
+        final int to = lowerBound(positions, (long) range.getStop() + 1);
+        if (range.getInterval() == 1) {
+            return from < to;
+        }
+        for (int i = from; i < to; i++) {
+            if (((long) positions[i] - range.getStart()) % range.getInterval() == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether at least one given position is included by at least one of
+     * given ranges.
+     *
+     * @param ranges
+     *            ranges to check against, sorted by start
+     * @param positions
+     *            positions, sorted ascending
+     * @return true, if at least one position is included by at least one
+     *         range; false otherwise
+     * @throws IllegalArgumentException
+     *             if ranges or positions are not sorted
+     * @see #countIncluded(List, int[])
+     */
+    public static boolean includesAny(final List<? extends RangeInteger> ranges, final int[] positions) {
+        return sweep(ranges, positions, SWEEP_ANY) > 0;
+    }
+
+    /**
+     * Find the first element of a sorted array, that is not less than given
+     * key, by binary search. This is also the number of elements, that are
+     * less than given key.
+     *
+     * @param sorted
+     *            array, sorted in ascending order
+     * @param key
+     *            key to search for
+     * @return index of the first element {@code >= key}, or
+     *         {@code sorted.length} if there is none
+     */
+    public static int lowerBound(final int[] sorted, final long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Same as {@link #lowerBound(int[], long)}, for an array of {@code long}s.
+     *
+     * @param sorted
+     *            array, sorted in ascending order
+     * @param key
+     *            key to search for
+     * @return index of the first element {@code >= key}, or
+     *         {@code sorted.length} if there is none
+     */
+    public static int lowerBound(final long[] sorted, final long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int sweep(final List<? extends RangeInteger> ranges, final int[] positions, final int mode) {
+        final Iterator<? extends RangeInteger> it = ranges.iterator();
+        // ranges with an interval other than 1, that may still include a position
+        final List<RangeInteger> strided = new ArrayList<RangeInteger>();
+        RangeInteger next = it.hasNext() ? it.next() : null;
+        long maxStop = Long.MIN_VALUE;
+        int result = 0;
+        for (int i = 0; i < positions.length; i++) {
+            final int p = positions[i];
+            if (i > 0 && p < positions[i - 1]) {
+                throw new IllegalArgumentException("positions not sorted");
+            }
+            while (next != null && next.getStart() <= p) {
+                if (next.getInterval() == 1) {
+                    maxStop = Math.max(maxStop, next.getStop());
+                } else {
+                    strided.add(next);
+                }
+                final RangeInteger previous = next;
+                next = it.hasNext() ? it.next() : null;
+                if (next != null && next.getStart() < previous.getStart()) {
+                    throw new IllegalArgumentException("ranges not sorted");
+                }
+            }
+            boolean included = maxStop >= p;
+            for (int k = strided.size() - 1; k >= 0 && !included; k--) {
+                final RangeInteger r = strided.get(k);
+                if (r.getStop() < p) {
+                    strided.set(k, strided.get(strided.size() - 1));
+                    strided.remove(strided.size() - 1);
+                } else {
+                    included = ((long) p - r.getStart()) % r.getInterval() == 0;
+                }
+            }
+            if (included) {
+                result++;
+                if (mode == SWEEP_ANY) {
+                    return result;
+                }
+            } else if (mode == SWEEP_ALL) {
+                return result;
+            }
+        }
+        return result;
+    }
+
     private UtilRange() {
     }
 }
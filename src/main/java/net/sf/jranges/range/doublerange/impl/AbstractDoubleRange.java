@@ -36,6 +36,26 @@ public abstract class AbstractDoubleRange extends VeryAbstractDoubleRange implem
         && UtilMath.round((UtilMath.round(stop - start, ACCURACY)) % interval, ACCURACY) != interval);
     }
 
+    /**
+     * Check whether given values satisfy {@code limit1 <= start <= stop <= limit2}, without throwing.
+     * 
+     * @return true, if given values make a valid {@code AbstractDoubleRange}; false otherwise
+     */
+    public static boolean isValid(final double start, final double stop, final double limit1, final double limit2) {
+        return limit1 <= start && start <= stop && stop <= limit2;
+    }
+
+    /**
+     * Check whether given values satisfy {@code limit1 <= start <= stop <= limit2} and fit given interval, without
+     * throwing.
+     * 
+     * @return true, if given values make a valid {@code AbstractDoubleRange}; false otherwise
+     */
+    public static boolean isValid(final double start, final double stop, final double limit1, final double limit2,
+            final double interval) {
+        return isValid(start, stop, limit1, limit2) && !inValid(start, stop, interval);
+    }
+
     /**
      * This {@code AbstractDoubleRange's} interval.
      */
@@ -75,7 +95,7 @@ public abstract class AbstractDoubleRange extends VeryAbstractDoubleRange implem
      */
     public AbstractDoubleRange(final double start, final double stop, final double limit1, final double limit2)
             throws RangeException {
-        if (limit1 > start || limit2 < stop || start > stop)
+        if (!isValid(start, stop, limit1, limit2))
             throw new RangeException("invalid range" + " start=" + start + " stop=" + stop + " limit1=" + limit1
                     + " limit2=" + limit2);
         this.interval = 1;
@@ -107,9 +127,9 @@ public abstract class AbstractDoubleRange extends VeryAbstractDoubleRange implem
      */
     public AbstractDoubleRange(final double start, final double stop, final double limit1, final double limit2,
             final double interval) throws RangeException {
-        if (limit1 > start || limit2 < stop || start > stop || (inValid(start, stop, interval)))
+        if (!isValid(start, stop, limit1, limit2, interval))
             throw new RangeException("invalid range" + " start=" + start + " stop=" + stop + " limit1=" + limit1
-                    + " limit2=" + limit2 + "interval=" + interval);
+                    + " limit2=" + limit2 + " interval=" + interval);
         this.limit1 = limit1;
         this.limit2 = limit2;
         this.interval = interval;
@@ -124,24 +144,52 @@ public abstract class AbstractDoubleRange extends VeryAbstractDoubleRange implem
     }
 
     public RangeDouble expandRange(final double offset, final boolean stayWithinLimits) throws RangeException {
-        double start = this.start;
-        double stop = this.stop;
+        final RangeDouble result = tryExpandRange(offset, stayWithinLimits);
+        if (result == null)
+            throw new RangeException("invalid range" + " start=" + (getStart() - offset) + " stop="
+                    + (getStop() + offset) + " limit1=" + limit1 + " limit2=" + limit2);
+        return result;
+    }
+
+    /**
+     * Same as {@link #expandRange(double, boolean)}, but returns {@code null} instead of throwing a
+     * {@link RangeException}.
+     * 
+     * @param offset
+     *            value to add on both sides
+     * @param stayWithinLimits
+     *            true, if the new range should be clamped to this range's limits
+     * @return the expanded range, or {@code null} if it would be invalid
+     */
+    public RangeDouble tryExpandRange(final double offset, final boolean stayWithinLimits) {
+        double start = getStart() - offset;
+        double stop = getStop() + offset;
         if (stayWithinLimits) {
-            start = getStart() - offset;
-            stop = getStop() + offset;
-
-            if (start < limit1) {
-                start = limit1;
-            }
-            if (stop > limit2) {
-                stop = limit2;
-            }
-            return newInstange(start, stop, getLimit1(), getLimit2());
-        } else {
-            start = getStart() - offset;
-            stop = getStop() + offset;
-            return newInstange(start, stop, getLimit1(), getLimit2());
+            start = Math.max(start, limit1);
+            stop = Math.min(stop, limit2);
         }
+        return tryNewInstance(start, stop);
+    }
+
+    /**
+     * Same as {@link #shift(double)}, but returns {@code null} instead of throwing a {@link RangeException}.
+     * 
+     * @param offset
+     *            value to shift
+     * @return the shifted range, or {@code null} if it would be invalid
+     */
+    public RangeDouble tryShift(final double offset) {
+        return tryNewInstance(getStart() + offset, getStop() + offset);
+    }
+
+    /**
+     * Retrieve a new instance via {@link #newInstange(double, double, double, double)}, or {@code null} if the new
+     * instance would be invalid.
+     */
+    private RangeDouble tryNewInstance(final double start, final double stop) {
+        if (!isValid(start, stop, limit1, limit2, interval))
+            return null;
+        return newInstange(start, stop, limit1, limit2);
     }
 
     // Override //
@@ -202,6 +250,10 @@ public abstract class AbstractDoubleRange extends VeryAbstractDoubleRange implem
     // Abstract //
 
     public RangeDouble shift(final double offset) throws RangeException {
-        return newInstange(getStart() + offset, getStop() + offset, getLimit1(), getLimit2());
+        final RangeDouble result = tryShift(offset);
+        if (result == null)
+            throw new RangeException("invalid range" + " start=" + (getStart() + offset) + " stop="
+                    + (getStop() + offset) + " limit1=" + limit1 + " limit2=" + limit2);
+        return result;
     }
 }
@@ -15,12 +15,99 @@
  ******************************************************************************/
 package net.sf.jranges.range.doublerange.impl;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import net.sf.jranges.range.doublerange.FactoryRangeDouble;
 
+/**
+ * 
+ * {@link FactoryRangeDouble} for {@link ZeroPositiveDoubleRange}s.
+ * 
+ * <p>
+ * Optionally, created ranges are interned the same way
+ * {@link net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRangeFactory
+ * ZeroPositiveIntegerRangeFactory} does. Start and stop are compared by their
+ * bit patterns.
+ * </p>
+ * 
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ * 
+ * <pre>
+ * Thread save.
+ * </pre>
+ * 
+ * </p>
+ * 
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ * 
+ */
 public class FactoryRangeDoubleZeroPositive implements FactoryRangeDouble<ZeroPositiveDoubleRange> {
 
+	private static int hash(long start, long stop) {
+		long h = start * 0x9E3779B97F4A7C15L + stop;
+		h ^= h >>> 32;
+		return (int) (h ^ (h >>> 16));
+	}
+
+	/**
+	 * {@code null}, if interning is disabled.
+	 */
+	private final AtomicReferenceArray<ZeroPositiveDoubleRange> cache;
+
+	/**
+	 * 
+	 * Construct a new {@code FactoryRangeDoubleZeroPositive}, that does not
+	 * intern.
+	 * 
+	 */
+	public FactoryRangeDoubleZeroPositive() {
+		this(0);
+	}
+
+	/**
+	 * 
+	 * Construct a new {@code FactoryRangeDoubleZeroPositive}, that interns
+	 * created ranges.
+	 * 
+	 * @param cacheSize
+	 *            maximum number of interned ranges, rounded up to a power of
+	 *            two; {@code 0} disables interning
+	 */
+	public FactoryRangeDoubleZeroPositive(int cacheSize) {
+		if (cacheSize < 0 || cacheSize > 1 << 30)
+			throw new IllegalArgumentException("invalid cache size " + cacheSize);
+		int capacity = 1;
+		while (capacity < cacheSize)
+			capacity <<= 1;
+		this.cache = cacheSize == 0 ? null : new AtomicReferenceArray<ZeroPositiveDoubleRange>(capacity);
+	}
+
 	public ZeroPositiveDoubleRange create(double start, double stop) {
-		return new ZeroPositiveDoubleRange(start, stop);
+		if (cache == null)
+			return new ZeroPositiveDoubleRange(start, stop);
+		final long startBits = Double.doubleToLongBits(start);
+		final long stopBits = Double.doubleToLongBits(stop);
+		final int slot = hash(startBits, stopBits) & (cache.length() - 1);
+		final ZeroPositiveDoubleRange cached = cache.get(slot);
+		if (cached != null && Double.doubleToLongBits(cached.getStart()) == startBits
+				&& Double.doubleToLongBits(cached.getStop()) == stopBits)
+			return cached;
+		final ZeroPositiveDoubleRange result = new ZeroPositiveDoubleRange(start, stop);
+		cache.lazySet(slot, result);
+		return result;
+	}
+
+	/**
+	 * 
+	 * @return maximum number of interned ranges, {@code 0} if interning is
+	 *         disabled
+	 */
+	public int getCacheSize() {
+		return cache == null ? 0 : cache.length();
 	}
 
 }
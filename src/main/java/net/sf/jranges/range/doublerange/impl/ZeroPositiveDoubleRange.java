@@ -19,6 +19,32 @@ import net.sf.jranges.range.RangeException;
 
 public class ZeroPositiveDoubleRange extends AbstractDoubleRange {
 
+	/**
+	 * 
+	 * Create a new {@code ZeroPositiveDoubleRange}, or return {@code null} if
+	 * given values are invalid. Other than the constructor, this never
+	 * throws.
+	 * 
+	 * @return a new {@code ZeroPositiveDoubleRange}, or {@code null}
+	 */
+	public static ZeroPositiveDoubleRange tryCreate(double start, double stop) {
+		if (!isValid(start, stop, 0, Double.MAX_VALUE))
+			return null;
+		return new ZeroPositiveDoubleRange(start, stop);
+	}
+
+	/**
+	 * 
+	 * Same as {@link #tryCreate(double, double)}, with given interval.
+	 * 
+	 * @return a new {@code ZeroPositiveDoubleRange}, or {@code null}
+	 */
+	public static ZeroPositiveDoubleRange tryCreate(double start, double stop, double interval) {
+		if (!isValid(start, stop, 0, Double.MAX_VALUE, interval))
+			return null;
+		return new ZeroPositiveDoubleRange(start, stop, interval);
+	}
+
 	public ZeroPositiveDoubleRange(double start, double stop) throws RangeException {
 		super(start, stop, 0, Double.MAX_VALUE);
 	}
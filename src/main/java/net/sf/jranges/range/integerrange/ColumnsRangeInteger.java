@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange;
+
+/**
+ * A sequence of {@link RangeInteger}s, whose start, stop and interval can be
+ * read by index without creating a {@code RangeInteger} instance.
+ * <p>
+ * {@link UtilsRangeInteger} and {@link net.sf.jranges.range.CoverageSweep
+ * CoverageSweep} read all ranges through this interface; lists that do not
+ * implement it are viewed through
+ * {@link UtilsRangeInteger#asColumns(java.util.Collection)}.
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public interface ColumnsRangeInteger {
+
+    /**
+     * @param index
+     *            index of the range
+     * @return {@link RangeInteger#getInterval() interval} of the range at
+     *         given index
+     */
+    int getInterval(int index);
+
+    /**
+     * @param index
+     *            index of the range
+     * @return {@link RangeInteger#getStart() start} of the range at given index
+     */
+    int getStart(int index);
+
+    /**
+     * @param index
+     *            index of the range
+     * @return {@link RangeInteger#getStop() stop} of the range at given index
+     */
+    int getStop(int index);
+
+    /**
+     * @return number of ranges
+     */
+    int size();
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange;
+
+import java.util.List;
+
+/**
+ * An immutable index over a collection of {@link RangeInteger}s, that answers
+ * position and overlap queries without walking the whole collection.
+ * <p>
+ * An index is built once from a collection of ranges; later modifications of
+ * that collection are not reflected by the index.
+ * </p>
+ * <p>
+ * Position queries ({@link #includes(int)}, {@link #numberOfAppearances(int)},
+ * {@link #getIncluding(int)}) respect {@link RangeInteger#getInterval()} the
+ * same way {@link RangeInteger#includes(int)} does. Overlap queries (
+ * {@link #numberOfOverlaps(int, int)}, {@link #getOverlapping(int, int)}) only
+ * compare start and stop positions.
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ * @param <R>
+ *            type of indexed {@code RangeInteger}
+ * @see UtilsRangeInteger#includedByOne(IndexRangeInteger, int)
+ * @see UtilsRangeInteger#numberOfAppearances(IndexRangeInteger, int)
+ */
+public interface IndexRangeInteger<R extends RangeInteger> {
+
+    /**
+     * Retrieve all indexed ranges that include given position.
+     *
+     * @param position
+     *            position that is checked
+     * @return all ranges that include given position, ordered by start
+     */
+    List<R> getIncluding(int position);
+
+    /**
+     * Retrieve all indexed ranges that share at least one position with
+     * {@code start->stop}.
+     *
+     * @param start
+     *            start of the query window, inclusively
+     * @param stop
+     *            stop of the query window, inclusively
+     * @return all ranges that overlap with given window, ordered by start
+     */
+    List<R> getOverlapping(int start, int stop);
+
+    /**
+     * Check whether given position is included by at least one indexed range.
+     *
+     * @param position
+     *            position that is checked
+     * @return true, if at least one range includes given position; false
+     *         otherwise
+     */
+    boolean includes(int position);
+
+    /**
+     * Count indexed ranges that include given position.
+     *
+     * @param position
+     *            position that is checked
+     * @return number of ranges that include given position
+     */
+    int numberOfAppearances(int position);
+
+    /**
+     * Count indexed ranges that share at least one position with
+     * {@code start->stop}.
+     *
+     * @param start
+     *            start of the query window, inclusively
+     * @param stop
+     *            stop of the query window, inclusively
+     * @return number of ranges that overlap with given window
+     */
+    int numberOfOverlaps(int start, int stop);
+
+    /**
+     * @return number of indexed ranges
+     */
+    int size();
+
+}
@@ -15,6 +15,11 @@
  ******************************************************************************/
 package net.sf.jranges.range.integerrange;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import net.sf.jranges.range.RangeException;
 import net.sf.kerner.utils.Factory;
 
 /**
@@ -51,6 +56,67 @@ public interface IntegerRangeFactory<T extends RangeInteger> extends Factory<T>
 	 */
 	T create(int start, int stop);
 
+	/**
+	 * 
+	 * Create a {@link RangeInteger} with given start and stop positions and
+	 * given interval.
+	 * <p>
+	 * By default, only an interval of {@code 1} is supported.
+	 * </p>
+	 * 
+	 * @param start
+	 *            start position of created {@code IntegerRange}
+	 * @param stop
+	 *            stop position of created {@code IntegerRange}
+	 * @param interval
+	 *            interval of created {@code IntegerRange}
+	 * @return newly created {@code IntegerRange}
+	 * @throws RangeException
+	 *             if this factory does not support given interval
+	 */
+	default T create(int start, int stop, int interval) {
+		if (interval != 1)
+			throw new RangeException("interval not supported " + interval);
+		return create(start, stop);
+	}
+
+	/**
+	 * 
+	 * Create ranges from primitive columns in one call.
+	 * <p>
+	 * Invalid rows are skipped and reported through {@code invalid}. By
+	 * default, every row is created by {@link #create(int, int, int)} and
+	 * invalid rows are detected by catching {@link RangeException};
+	 * implementations should override this to validate without throwing, e.g.
+	 * by {@link UtilsRangeInteger#validate(int[], int[], int[], int, int)}.
+	 * </p>
+	 * 
+	 * @param starts
+	 *            start positions
+	 * @param stops
+	 *            stop positions
+	 * @param intervals
+	 *            intervals, or {@code null} if all intervals are {@code 1}
+	 * @param invalid
+	 *            if not {@code null}, bit {@code i} is set for every invalid
+	 *            row {@code i}
+	 * @return newly created ranges of all valid rows, in row order
+	 */
+	default List<T> createAll(int[] starts, int[] stops, int[] intervals, BitSet invalid) {
+		if (stops.length != starts.length || (intervals != null && intervals.length != starts.length))
+			throw new IllegalArgumentException("columns differ in length");
+		final List<T> result = new ArrayList<T>(starts.length);
+		for (int i = 0; i < starts.length; i++) {
+			try {
+				result.add(create(starts[i], stops[i], intervals == null ? 1 : intervals[i]));
+			} catch (final RangeException e) {
+				if (invalid != null)
+					invalid.set(i);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * 
 	 * Create a {@link RangeInteger} with from given template.
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A {@link PrimitiveIterator.OfInt} over all positions of a
+ * {@link RangeInteger}, in ascending order.
+ * <p>
+ * Positions are computed from start and interval; {@link #nextInt()} neither
+ * boxes nor allocates.
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class IteratorRangeInteger implements PrimitiveIterator.OfInt {
+
+    private final int start;
+
+    private final int interval;
+
+    private final long size;
+
+    private long index = 0;
+
+    /**
+     * Construct a new {@code IteratorRangeInteger} over all positions of given
+     * range.
+     *
+     * @param range
+     *            range to iterate over
+     */
+    public IteratorRangeInteger(final RangeInteger range) {
+        this(range.getStart(), range.getInterval(), Math.max(((long) range.getStop() - range.getStart())
+                / range.getInterval() + 1, 0));
+    }
+
+    /**
+     * Construct a new {@code IteratorRangeInteger} over {@code size} positions
+     * {@code start, start + interval, ...}.
+     *
+     * @param start
+     *            first position
+     * @param interval
+     *            distance between positions
+     * @param size
+     *            number of positions
+     */
+    public IteratorRangeInteger(final int start, final int interval, final long size) {
+        this.start = start;
+        this.interval = interval;
+        this.size = size;
+    }
+
+    public boolean hasNext() {
+        return index < size;
+    }
+
+    public int nextInt() {
+        if (index >= size) {
+            throw new NoSuchElementException();
+        }
+        return (int) (start + index++ * interval);
+    }
+
+}
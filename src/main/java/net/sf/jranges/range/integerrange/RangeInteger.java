@@ -16,6 +16,10 @@
 package net.sf.jranges.range.integerrange;
 
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import net.sf.jranges.range.Range;
 import net.sf.jranges.range.RangeException;
@@ -30,8 +34,61 @@ import net.sf.jranges.range.RangeException;
  */
 public interface RangeInteger extends Range, Comparable<RangeInteger> {
 
+    /**
+     * 
+     * Retrieve all positions of this {@code IntegerRange}, in ascending order.
+     * <p>
+     * The returned list is a read-only view, which is computed lazily from
+     * start, stop and interval.
+     * </p>
+     * 
+     * @return all positions of this {@code IntegerRange}
+     */
     List<Integer> asList();
 
+    /**
+     * 
+     * Retrieve an iterator over all positions of this {@code IntegerRange}, in
+     * ascending order, that does not box.
+     * <p>
+     * The default implementation computes positions from {@link #getStart()},
+     * {@link #getStop()} and {@link #getInterval()}.
+     * </p>
+     * 
+     * @return an iterator over all positions
+     */
+    default PrimitiveIterator.OfInt intIterator() {
+        return new IteratorRangeInteger(this);
+    }
+
+    /**
+     * 
+     * Retrieve a spliterator over all positions of this {@code IntegerRange},
+     * in ascending order. The spliterator reports an exact size and splits
+     * into exactly sized halves.
+     * <p>
+     * The default implementation computes positions from {@link #getStart()},
+     * {@link #getStop()} and {@link #getInterval()}.
+     * </p>
+     * 
+     * @return a spliterator over all positions
+     */
+    default Spliterator.OfInt spliterator() {
+        return new SpliteratorRangeInteger(this);
+    }
+
+    /**
+     * 
+     * Retrieve a sequential stream of all positions of this
+     * {@code IntegerRange}, in ascending order. The stream respects
+     * {@link #getInterval()}.
+     * 
+     * @return a stream of all positions
+     */
+    default IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
     /**
      * 
      * 
@@ -15,12 +15,22 @@
  ******************************************************************************/
 package net.sf.jranges.range.integerrange;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
+import net.sf.jranges.range.CoverageSweep;
+import net.sf.jranges.range.RangeException;
+import net.sf.jranges.range.UtilRange;
 import net.sf.kerner.utils.Util;
-import net.sf.kerner.utils.math.ArithmeticSavety;
 
 /**
  * Utility class for all kind of {@link net.sf.jranges.range.integerrange.RangeInteger Range} related operations.
@@ -30,10 +40,83 @@ import net.sf.kerner.utils.math.ArithmeticSavety;
  */
 public class UtilsRangeInteger {
 
+    /**
+     * Compares {@link RangeInteger}s by {@link RangeInteger#getStart()} and, if
+     * equal, by {@link RangeInteger#getStop()}.
+     */
+    public final static Comparator<RangeInteger> COMPARATOR_START_STOP = new Comparator<RangeInteger>() {
+        public int compare(final RangeInteger o1, final RangeInteger o2) {
+            if (o1.getStart() != o2.getStart()) {
+                return o1.getStart() < o2.getStart() ? -1 : 1;
+            }
+            if (o1.getStop() != o2.getStop()) {
+                return o1.getStop() < o2.getStop() ? -1 : 1;
+            }
+            return 0;
+        }
+    };
+
+    /**
+     * Starts per leaf task of parallel operations; ranges are split into about
+     * four tasks per worker, but never into tasks smaller than this.
+     */
+    private final static int MIN_PARALLEL_SIZE = 1024;
+
+    /**
+     * {@link ColumnsRangeInteger} view of a {@link RandomAccess} list.
+     */
+    private static class ListColumns implements ColumnsRangeInteger {
+
+        private final List<? extends RangeInteger> ranges;
+
+        ListColumns(final List<? extends RangeInteger> ranges) {
+            this.ranges = ranges;
+        }
+
+        public int getInterval(final int index) {
+            return ranges.get(index).getInterval();
+        }
+
+        public int getStart(final int index) {
+            return ranges.get(index).getStart();
+        }
+
+        public int getStop(final int index) {
+            return ranges.get(index).getStop();
+        }
+
+        public int size() {
+            return ranges.size();
+        }
+    }
+
     private UtilsRangeInteger() {
         // singleton
     }
 
+    /**
+     * View given ranges as {@link ColumnsRangeInteger}, so that algorithms
+     * over ranges are written once, against primitive accessors.
+     * <p>
+     * Collections that implement {@code ColumnsRangeInteger} are returned as
+     * they are. {@link RandomAccess} lists are read through
+     * {@link List#get(int)}; other collections are copied into a list first.
+     * </p>
+     * 
+     * @param ranges
+     *            ranges to view
+     * @return given ranges, as columns
+     */
+    public static ColumnsRangeInteger asColumns(final Collection<? extends RangeInteger> ranges) {
+        if (ranges instanceof ColumnsRangeInteger) {
+            return (ColumnsRangeInteger) ranges;
+        }
+        if (ranges instanceof List && ranges instanceof RandomAccess) {
+            return new ListColumns((List<? extends RangeInteger>) ranges);
+        }
+        return new ListColumns(new ArrayList<RangeInteger>(ranges));
+    }
+
     /**
      * Check whether a position is covered by at least one of the given {@code Range}s.
      * <p>
@@ -59,18 +142,52 @@ public class UtilsRangeInteger {
      * @return true, if given position is contained by at least one of the given ranges; false otherwise
      */
     public static boolean includedByOne(final List<? extends RangeInteger> ranges, final int position) {
-        for (final RangeInteger r : ranges) {
-            if (r.includes(position)) {
+        final ColumnsRangeInteger columns = asColumns(ranges);
+        for (int i = 0; i < columns.size(); i++) {
+            if (includes(columns, i, position)) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Check whether a position is covered by at least one of the indexed {@code Range}s.
+     * <p>
+     * Other than {@link #includedByOne(List, int)}, this takes {@code O(log n)} instead of {@code O(n)}.
+     * </p>
+     * 
+     * @param index
+     *            {@link IndexRangeInteger} of {@code Range}s that are checked for the coverage
+     * @param position
+     *            position that is checked
+     * @return true, if given position is contained by at least one of the indexed ranges; false otherwise
+     */
+    public static boolean includedByOne(final IndexRangeInteger<?> index, final int position) {
+        return index.includes(position);
+    }
+
+    /**
+     * Count indexed {@code Range}s that include given position.
+     * <p>
+     * Other than {@link #numberOfAppearances(List, int)}, this takes {@code O(log n + k)} instead of {@code O(n)}.
+     * </p>
+     * 
+     * @param index
+     *            {@link IndexRangeInteger} of {@code Range}s that are checked for the coverage
+     * @param position
+     *            position that is checked
+     * @return number of indexed ranges that include given position
+     */
+    public static int numberOfAppearances(final IndexRangeInteger<?> index, final int position) {
+        return index.numberOfAppearances(position);
+    }
+
     public static int numberOfAppearances(final List<? extends RangeInteger> ranges, final int position) {
+        final ColumnsRangeInteger columns = asColumns(ranges);
         int result = 0;
-        for (final RangeInteger r : ranges) {
-            if (r.includes(position)) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (includes(columns, i, position)) {
                 result++;
             }
         }
@@ -78,13 +195,465 @@ public class UtilsRangeInteger {
     }
 
     public static long numberOfPositions(final List<? extends RangeInteger> ranges) {
+        final ColumnsRangeInteger columns = asColumns(ranges);
+        long result = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            result += ((long) columns.getStop(i) - columns.getStart(i)) / columns.getInterval(i) + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Count distinct positions covered by given ranges. Unlike
+     * {@link #numberOfPositions(List)}, positions included by several ranges
+     * are counted once.
+     * <p>
+     * If all ranges have an interval of {@code 1} and are sorted by start,
+     * this takes a single pass in {@code O(n)}. Otherwise, start and end
+     * positions are sorted and swept in {@code O(n log n)}.
+     * </p>
+     * <p>
+     * Ranges with an interval other than {@code 1} are not expanded. Ranges
+     * are grouped by interval and by {@code start % interval}, and merged
+     * within each group. Where groups overlap, their common positions are
+     * found by inclusion-exclusion, which is cheap for a few groups, such as
+     * reading frames, but grows with {@code 2^g}, if {@code g} groups overlap
+     * at the same position.
+     * </p>
+     *
+     * @param ranges
+     *            ranges to count positions of
+     * @return number of positions, that are included by at least one range
+     * @see #numberOfDistinctPositionsParallel(List)
+     */
+    public static long numberOfDistinctPositions(final List<? extends RangeInteger> ranges) {
+        final ColumnsRangeInteger columns = asColumns(ranges);
+        final long result = numberOfDistinctPositionsSorted(columns);
+        if (result >= 0) {
+            return result;
+        }
+        final long[] starts = new long[columns.size()];
+        final long[] ends = new long[starts.length];
+        if (!spans(columns, starts, ends)) {
+            return new Progressions(columns).count();
+        }
+        Arrays.sort(starts);
+        Arrays.sort(ends);
+        return numberOfDistinctPositions(starts, ends, 0, starts.length, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #numberOfDistinctPositions(List)}, in parallel on the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param ranges
+     *            ranges to count positions of
+     * @return number of positions, that are included by at least one range
+     */
+    public static long numberOfDistinctPositionsParallel(final List<? extends RangeInteger> ranges) {
+        return numberOfDistinctPositionsParallel(ranges, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #numberOfDistinctPositions(List)}, in parallel on given
+     * pool.
+     * <p>
+     * Start and end positions are sorted in parallel. The coordinate space is
+     * then cut into windows at start positions; each window is swept by its
+     * own task, starting with the depth at its left boundary, which is found by
+     * binary search. Windows do not overlap, so their counts add up exactly.
+     * If any range has an interval other than {@code 1}, counting runs
+     * sequentially, like {@link #numberOfDistinctPositions(List)} does.
+     * </p>
+     *
+     * @param ranges
+     *            ranges to count positions of
+     * @param pool
+     *            pool that runs the tasks
+     * @return number of positions, that are included by at least one range
+     */
+    public static long numberOfDistinctPositionsParallel(final List<? extends RangeInteger> ranges,
+            final ForkJoinPool pool) {
+        final ColumnsRangeInteger columns = asColumns(ranges);
+        final long[] starts = new long[columns.size()];
+        final long[] ends = new long[starts.length];
+        if (!spans(columns, starts, ends)) {
+            return new Progressions(columns).count();
+        }
+        if (starts.length == 0) {
+            return 0;
+        }
+        Arrays.parallelSort(starts);
+        Arrays.parallelSort(ends);
+        final int threshold = Math.max(starts.length / (pool.getParallelism() * 4), MIN_PARALLEL_SIZE);
+        return pool.invoke(new DistinctPositions(starts, ends, 0, starts.length, threshold)).longValue();
+    }
+
+    /**
+     * Count distinct positions within {@code [x0, x1)}, by sweeping the
+     * starts in {@code [from, to)}, that all lie within that window.
+     *
+     * @param starts
+     *            sorted start positions
+     * @param ends
+     *            sorted end positions, exclusively
+     */
+    private static long numberOfDistinctPositions(final long[] starts, final long[] ends, final int from,
+            final int to, final long x0, final long x1) {
+        // depth at x0: ranges started before, but not yet ended
+        int e = UtilRange.lowerBound(ends, x0);
+        int depth = from - e;
+        int s = from;
+        long position = x0;
+        long result = 0;
+        while (true) {
+            final long next;
+            if (s < to && (e == ends.length || starts[s] < ends[e])) {
+                next = starts[s];
+            } else if (e < ends.length && ends[e] < x1) {
+                next = ends[e];
+            } else {
+                break;
+            }
+            if (depth > 0) {
+                result += next - position;
+            }
+            position = next;
+            while (s < to && starts[s] == next) {
+                depth++;
+                s++;
+            }
+            while (e < ends.length && ends[e] == next) {
+                depth--;
+                e++;
+            }
+        }
+        if (depth > 0) {
+            result += x1 - position;
+        }
+        return result;
+    }
+
+    /**
+     * @return number of positions covered by given ranges, if they are sorted
+     *         by start and all have an interval of {@code 1}; {@code -1}
+     *         otherwise
+     */
+    private static long numberOfDistinctPositionsSorted(final ColumnsRangeInteger columns) {
         long result = 0;
-        for (final RangeInteger r : ranges) {
-            result += r.getLength();
+        long previousStart = Long.MIN_VALUE;
+        long maxStop = Long.MIN_VALUE;
+        for (int i = 0; i < columns.size(); i++) {
+            final long start = columns.getStart(i);
+            final long stop = columns.getStop(i);
+            if (columns.getInterval(i) != 1 || start < previousStart) {
+                return -1;
+            }
+            // count only the part behind everything seen so far
+            result += stop - Math.max(start - 1, maxStop) > 0 ? stop - Math.max(start - 1, maxStop) : 0;
+            previousStart = start;
+            maxStop = Math.max(maxStop, stop);
         }
         return result;
     }
 
+    /**
+     * Fill start and end (exclusive) positions of given ranges.
+     *
+     * @return false, if a range has an interval other than {@code 1}
+     */
+    private static boolean spans(final ColumnsRangeInteger columns, final long[] starts, final long[] ends) {
+        for (int i = 0; i < starts.length; i++) {
+            if (columns.getInterval(i) != 1) {
+                return false;
+            }
+            starts[i] = columns.getStart(i);
+            ends[i] = columns.getStop(i) + 1L;
+        }
+        return true;
+    }
+
+    /**
+     * Exact count of distinct positions of ranges with any interval, that
+     * visits no position of a range.
+     * <p>
+     * Ranges are grouped by interval and by {@code start % interval}. Within a
+     * group, all positions lie on one grid, so overlapping or adjacent ranges
+     * are merged into disjoint progressions. Progressions are then swept by
+     * start. Between two consecutive boundaries, at most one progression per
+     * group is active, and the union of active progressions is counted by
+     * inclusion-exclusion; each intersection is solved as a pair of
+     * congruences.
+     * </p>
+     */
+    private static class Progressions {
+
+        /**
+         * Interval of a progression, that has at most one position left
+         * within the current window.
+         */
+        private static final long SINGLE = Long.MAX_VALUE;
+
+        private final long[] starts;
+
+        private final long[] stops;
+
+        private final long[] intervals;
+
+        private final int size;
+
+        /**
+         * First position within the current window and interval, for every
+         * active progression.
+         */
+        private final long[] firsts;
+
+        private final long[] steps;
+
+        /**
+         * Result of {@link #intersect(long, long, long, long, long)}.
+         */
+        private long common;
+
+        private long commonStep;
+
+        Progressions(final ColumnsRangeInteger columns) {
+            final int n = columns.size();
+            final Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = Integer.valueOf(i);
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                public int compare(final Integer o1, final Integer o2) {
+                    final int i1 = o1.intValue();
+                    final int i2 = o2.intValue();
+                    final int interval1 = columns.getInterval(i1);
+                    final int interval2 = columns.getInterval(i2);
+                    if (interval1 != interval2) {
+                        return interval1 < interval2 ? -1 : 1;
+                    }
+                    final int c = Integer.compare(Math.floorMod(columns.getStart(i1), interval1),
+                            Math.floorMod(columns.getStart(i2), interval2));
+                    return c != 0 ? c : Integer.compare(columns.getStart(i1), columns.getStart(i2));
+                }
+            });
+            this.starts = new long[n];
+            this.stops = new long[n];
+            this.intervals = new long[n];
+            int size = 0;
+            for (int k = 0; k < n; k++) {
+                final int i = order[k].intValue();
+                final long start = columns.getStart(i);
+                final long stop = columns.getStop(i);
+                final long interval = columns.getInterval(i);
+                if (size > 0 && intervals[size - 1] == interval && (start - starts[size - 1]) % interval == 0
+                        && start <= stops[size - 1] + interval) {
+                    stops[size - 1] = Math.max(stops[size - 1], stop);
+                } else {
+                    starts[size] = start;
+                    stops[size] = stop;
+                    intervals[size] = interval;
+                    size++;
+                }
+            }
+            this.size = size;
+            this.firsts = new long[size];
+            this.steps = new long[size];
+        }
+
+        long count() {
+            // start in upper bits, index in lower bits
+            final long[] keys = new long[size];
+            final long[] ends = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = (starts[i] << 32) | i;
+                ends[i] = stops[i] + 1;
+            }
+            Arrays.sort(keys);
+            Arrays.sort(ends);
+            final int[] active = new int[size];
+            int m = 0;
+            int s = 0;
+            int e = 0;
+            long position = 0;
+            long result = 0;
+            while (e < size) {
+                final long next = s < size && starts[(int) keys[s]] < ends[e] ? starts[(int) keys[s]] : ends[e];
+                if (m > 0) {
+                    result += union(active, m, position, next);
+                }
+                position = next;
+                while (e < size && ends[e] == next) {
+                    e++;
+                }
+                for (int j = 0; j < m;) {
+                    if (stops[active[j]] + 1 == next) {
+                        active[j] = active[--m];
+                    } else {
+                        j++;
+                    }
+                }
+                while (s < size && starts[(int) keys[s]] == next) {
+                    active[m++] = (int) keys[s++];
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Count positions of given active progressions within {@code [x, y)}.
+         */
+        private long union(final int[] active, final int m, final long x, final long y) {
+            final long last = y - 1;
+            int k = 0;
+            for (int j = 0; j < m; j++) {
+                final int i = active[j];
+                final long interval = intervals[i];
+                if (interval == 1) {
+                    return y - x;
+                }
+                final long first = starts[i] + (x - starts[i] + interval - 1) / interval * interval;
+                if (first <= last) {
+                    firsts[k] = first;
+                    steps[k] = interval > last - first ? SINGLE : interval;
+                    k++;
+                }
+            }
+            if (k <= 1) {
+                return k == 0 ? 0 : count(firsts[0], steps[0], last);
+            }
+            if (k < 62 && y - x <= 1L << k) {
+                // fewer positions than terms
+                long result = 0;
+                for (long p = x; p <= last; p++) {
+                    for (int j = 0; j < k; j++) {
+                        if (p >= firsts[j] && (p - firsts[j]) % steps[j] == 0) {
+                            result++;
+                            break;
+                        }
+                    }
+                }
+                return result;
+            }
+            return inclusionExclusion(0, k, x, 1, last);
+        }
+
+        /**
+         * @return number of positions of progression {@code first, first + step, ...}, up to {@code last},
+         *         that are included by at least one of the progressions {@code from} to {@code k}
+         */
+        private long inclusionExclusion(final int from, final int k, final long first, final long step,
+                final long last) {
+            long result = 0;
+            for (int j = from; j < k; j++) {
+                if (intersect(first, step, firsts[j], steps[j], last)) {
+                    final long f = common;
+                    final long s = commonStep;
+                    result += count(f, s, last) - inclusionExclusion(j + 1, k, f, s, last);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Intersect progression {@code first, first + step, ...} with
+         * {@code a, a + b, ...}, up to {@code last}. Both start at or after the
+         * window's start, and {@code a} is the first position of its
+         * progression within the window.
+         *
+         * @return false, if there is no common position; otherwise, the common
+         *         progression is stored in {@link #common} and
+         *         {@link #commonStep}
+         */
+        private boolean intersect(final long first, final long step, final long a, final long b, final long last) {
+            if (step == SINGLE || b == SINGLE) {
+                final long p = step == SINGLE ? first : a;
+                common = p;
+                commonStep = SINGLE;
+                return p >= first && p >= a && (p - first) % step == 0 && (p - a) % b == 0;
+            }
+            final long g = gcd(step, b);
+            final long d = a - first;
+            if (d % g != 0) {
+                return false;
+            }
+            // first + step * t is congruent to a modulo b
+            final long n = b / g;
+            final long t = Math.floorMod(d / g, n) * inverse(Math.floorMod(step / g, n), n) % n;
+            if (t > (last - first) / step) {
+                return false;
+            }
+            common = first + t * step;
+            commonStep = step / g > (last - common) / b ? SINGLE : step / g * b;
+            return true;
+        }
+
+        private static long count(final long first, final long step, final long last) {
+            return step == SINGLE ? 1 : (last - first) / step + 1;
+        }
+    }
+
+    private static class DistinctPositions extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] starts;
+
+        private final long[] ends;
+
+        private final int from;
+
+        private final int to;
+
+        private final int threshold;
+
+        DistinctPositions(final long[] starts, final long[] ends, final int from, final int to,
+                final int threshold) {
+            this.starts = starts;
+            this.ends = ends;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= threshold) {
+                // window reaches from the first start up to the next window
+                final long x0 = from == 0 ? Long.MIN_VALUE : starts[from];
+                final long x1 = to == starts.length ? Long.MAX_VALUE : starts[to];
+                return Long.valueOf(numberOfDistinctPositions(starts, ends, from, to, x0, x1));
+            }
+            int mid = (from + to) >>> 1;
+            // windows must not cut between equal starts
+            while (mid > from && starts[mid] == starts[mid - 1]) {
+                mid--;
+            }
+            if (mid == from) {
+                mid = UtilRange.lowerBound(starts, starts[(from + to) >>> 1] + 1);
+            }
+            if (mid == to) {
+                return new DistinctPositions(starts, ends, from, to, Integer.MAX_VALUE).compute();
+            }
+            final DistinctPositions left = new DistinctPositions(starts, ends, from, mid, threshold);
+            left.fork();
+            final long right = new DistinctPositions(starts, ends, mid, to, threshold).compute().longValue();
+            return Long.valueOf(left.join().longValue() + right);
+        }
+    }
+
+    /**
+     * Same as {@link RangeInteger#includes(int)}, for the range at given index.
+     */
+    private static boolean includes(final ColumnsRangeInteger columns, final int index, final int position) {
+        final int start = columns.getStart(index);
+        if (position < start || position > columns.getStop(index)) {
+            return false;
+        }
+        final int interval = columns.getInterval(index);
+        return interval == 1 || ((long) position - start) % interval == 0;
+    }
+
     /**
      * Merge one or more {@code Range}s.
      * <p>
@@ -109,59 +678,505 @@ public class UtilsRangeInteger {
      *            new {@code Range} -instance
      * @return a new {@code Range}, that represents the merge of the given {@code Range}s
      * @see IntegerRangeFactory
+     * @see net.sf.jranges.range.integerrange.impl.RangeIntegerSet RangeIntegerSet, for a union that preserves gaps
      */
     public static <T extends RangeInteger> T merge(final List<? extends RangeInteger> ranges,
             final IntegerRangeFactory<T> factory) {
         if (ranges.isEmpty())
             return factory.create();
-        final RangeInteger result = factory.create(ranges.iterator().next());
-        int start = result.getStart();
-        int stop = result.getStop();
-        for (final RangeInteger r : ranges) {
-            if (r.getStart() < start)
-                start = r.getStart();
-            if (r.getStop() > stop)
-                stop = r.getStop();
+        final ColumnsRangeInteger columns = asColumns(ranges);
+        int start = columns.getStart(0);
+        int stop = columns.getStop(0);
+        for (int i = 1; i < columns.size(); i++) {
+            start = Math.min(start, columns.getStart(i));
+            stop = Math.max(stop, columns.getStop(i));
         }
         return factory.create(start, stop);
     }
 
+    /**
+     * Validate ranges given as primitive columns, without creating any range and without throwing for invalid rows.
+     * <p>
+     * Row {@code i} is valid, if {@code limit1 <= starts[i] <= stops[i] <= limit2}, {@code intervals[i] > 0} and
+     * {@code (stops[i] - starts[i]) % intervals[i] == 0}. Results are collected in {@code long} words; without
+     * intervals, the loop does not branch per row.
+     * </p>
+     * 
+     * @param starts
+     *            start positions
+     * @param stops
+     *            stop positions
+     * @param intervals
+     *            intervals, or {@code null} if all intervals are {@code 1}
+     * @param limit1
+     *            smallest valid start position
+     * @param limit2
+     *            greatest valid stop position
+     * @return a new {@code BitSet}, in which bit {@code i} is set if row {@code i} is invalid
+     * @throws IllegalArgumentException
+     *             if columns differ in length
+     */
+    public static BitSet validate(final int[] starts, final int[] stops, final int[] intervals, final int limit1,
+            final int limit2) {
+        final int n = starts.length;
+        if (stops.length != n || (intervals != null && intervals.length != n)) {
+            throw new IllegalArgumentException("columns differ in length");
+        }
+        final long[] words = new long[(n + 63) >>> 6];
+        if (intervals == null) {
+            for (int i = 0; i < n; i++) {
+                final int start = starts[i];
+                final int stop = stops[i];
+                final boolean invalid = (start > stop) | (start < limit1) | (stop > limit2);
+                words[i >>> 6] |= (invalid ? 1L : 0L) << i;
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                final int start = starts[i];
+                final int stop = stops[i];
+                final int interval = intervals[i];
+                final boolean invalid = (start > stop) | (start < limit1) | (stop > limit2) | (interval < 1)
+                        || ((long) stop - start) % interval != 0;
+                words[i >>> 6] |= (invalid ? 1L : 0L) << i;
+            }
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Compute the positions that two, possibly strided, ranges have in common.
+     * <p>
+     * Common positions of ranges with intervals {@code p} and {@code q} satisfy two congruences, that are solved by
+     * the extended Euclidean algorithm in {@code O(log min(p, q))}; no position is visited.
+     * </p>
+     * 
+     * @return {@code {first, last, interval}} of the common positions within {@code from->to}, or {@code null} if
+     *         there are none
+     */
+    private static long[] commonPositions(final RangeInteger a, final RangeInteger b, final long from, final long to) {
+        final long p = a.getInterval();
+        final long q = b.getInterval();
+        final long lo = Math.max(Math.max(a.getStart(), b.getStart()), from);
+        final long hi = Math.min(Math.min(a.getStop(), b.getStop()), to);
+        if (lo > hi) {
+            return null;
+        }
+        final long g = gcd(p, q);
+        final long d = (long) b.getStart() - a.getStart();
+        if (d % g != 0) {
+            return null;
+        }
+        // a.start + p * t is congruent to b.start modulo q
+        final long m = q / g;
+        final long t = Math.floorMod(Math.floorMod(d / g, m) * inverse(Math.floorMod(p / g, m), m), m);
+        final long lcm = p / g * q;
+        final long x = a.getStart() + p * t;
+        final long first = lo + Math.floorMod(x - lo, lcm);
+        if (first > hi) {
+            return null;
+        }
+        final long last = first + (hi - first) / lcm * lcm;
+        return new long[] { first, last, lcm };
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            final long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    /**
+     * Multiplicative inverse of {@code a} modulo {@code m}, for {@code gcd(a, m) == 1}.
+     */
+    private static long inverse(final long a, final long m) {
+        if (m == 1) {
+            return 0;
+        }
+        long r0 = m;
+        long r1 = a;
+        long t0 = 0;
+        long t1 = 1;
+        while (r1 != 0) {
+            final long k = r0 / r1;
+            long tmp = r0 - k * r1;
+            r0 = r1;
+            r1 = tmp;
+            tmp = t0 - k * t1;
+            t0 = t1;
+            t1 = tmp;
+        }
+        return Math.floorMod(t0, m);
+    }
+
+    /**
+     * Intersect two, possibly strided, ranges.
+     * <p>
+     * The result holds exactly the positions that are included by both ranges. Its interval is the least common
+     * multiple of both intervals, unless there is only one common position; then its interval is {@code 1}. This
+     * takes {@code O(log min(p, q))} for intervals {@code p} and {@code q}.
+     * </p>
+     * 
+     * @param a
+     *            first range
+     * @param b
+     *            second range
+     * @param factory
+     *            factory that creates the result, via {@link IntegerRangeFactory#create(int, int, int)}
+     * @return a new range of all common positions, or {@code null} if there are none
+     * @throws ArithmeticException
+     *             if there is more than one common position, but their distance exceeds {@code Integer.MAX_VALUE}
+     */
+    public static <R extends RangeInteger> R intersection(final RangeInteger a, final RangeInteger b,
+            final IntegerRangeFactory<R> factory) {
+        final long[] common = commonPositions(a, b, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        if (common == null) {
+            return null;
+        }
+        if (common[0] == common[1]) {
+            return factory.create((int) common[0], (int) common[1]);
+        }
+        if (common[2] > Integer.MAX_VALUE) {
+            throw new ArithmeticException("integer overflow, interval " + common[2]);
+        }
+        return factory.create((int) common[0], (int) common[1], (int) common[2]);
+    }
+
+    /**
+     * Count positions that are included by both given, possibly strided, ranges.
+     * 
+     * @see #numberOfCommonPositions(RangeInteger, RangeInteger, int, int)
+     */
+    public static long numberOfCommonPositions(final RangeInteger a, final RangeInteger b) {
+        return numberOfCommonPositions(a, b, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Count positions within {@code from->to} that are included by both given, possibly strided, ranges.
+     * <p>
+     * This takes {@code O(log min(p, q))} for intervals {@code p} and {@code q}; no position is visited.
+     * </p>
+     * 
+     * @param a
+     *            first range
+     * @param b
+     *            second range
+     * @param from
+     *            first position of the window
+     * @param to
+     *            last position of the window, inclusively
+     * @return number of common positions within given window
+     */
+    public static long numberOfCommonPositions(final RangeInteger a, final RangeInteger b, final int from,
+            final int to) {
+        final long[] common = commonPositions(a, b, from, to);
+        if (common == null) {
+            return 0;
+        }
+        return (common[1] - common[0]) / common[2] + 1;
+    }
+
+    /**
+     * Check whether two, possibly strided, ranges include at least one common position.
+     * <p>
+     * Other than comparing start and stop positions, this respects {@link RangeInteger#getInterval() intervals}. It
+     * takes {@code O(log min(p, q))} for intervals {@code p} and {@code q}, and constant time if both intervals are
+     * {@code 1}.
+     * </p>
+     * 
+     * @param a
+     *            first range
+     * @param b
+     *            second range
+     * @return true, if at least one position is included by both ranges; false otherwise
+     */
+    public static boolean overlaps(final RangeInteger a, final RangeInteger b) {
+        if (a.getInterval() == 1 && b.getInterval() == 1) {
+            return a.getStart() <= b.getStop() && b.getStart() <= a.getStop();
+        }
+        return commonPositions(a, b, Integer.MIN_VALUE, Integer.MAX_VALUE) != null;
+    }
+
+    /**
+     * Count, for every position that is included by at least one of {@code ranges2}, the number of {@code ranges}
+     * that include that position. If a position is included by several of {@code ranges2}, counts are summed up.
+     * <p>
+     * Positions are determined by a sort-and-sweep over both lists, that takes {@code O((n+m) log (n+m))}; only
+     * filling the returned map depends on the number of positions. Use
+     * {@link #positionFrequencies(List, List, int, int)} to avoid boxing.
+     * </p>
+     * 
+     * @param ranges
+     *            ranges that are counted
+     * @param ranges2
+     *            ranges that define the positions of interest
+     * @return a map of position to frequency
+     */
     public static Map<Integer, Integer> positionFrequencies(final List<? extends RangeInteger> ranges,
             final List<? extends RangeInteger> ranges2) {
         Util.checkForNull(ranges, ranges2);
 
         final Map<Integer, Integer> result = new HashMap<Integer, Integer>();
 
-        for (final RangeInteger range : ranges2) {
-            for (int i = range.getStart(); i <= range.getStop(); i++) {
-                final int n = numberOfAppearances(ranges, i);
-                final Integer key = Integer.valueOf(i);
-                final Integer value = result.get(key);
-                if (value == null)
-                    result.put(key, Integer.valueOf(n));
-                else
-                    result.put(key, ArithmeticSavety.add(value, n));
+        forEachPositionFrequency(ranges, ranges2, new FrequencyTask() {
+            public void call(final long start, final long stop, final int frequency) {
+                final Integer value = Integer.valueOf(frequency);
+                for (long i = start; i <= stop; i++) {
+                    result.put(Integer.valueOf((int) i), value);
+                }
             }
-        }
+        });
 
         return result;
     }
 
-    public static double medianPositionFrequencies(final List<? extends RangeInteger> ranges,
-            final List<? extends RangeInteger> ranges2) {
+    /**
+     * Same as {@link #positionFrequencies(List, List)}, but frequencies are returned as a primitive array over
+     * {@code from->to}. Element {@code i} holds the frequency of position {@code from + i}; positions that are not
+     * included by any of {@code ranges2} have a frequency of {@code 0}.
+     * <p>
+     * This takes {@code O((n+m) log (n+m) + (to - from))} and does not box.
+     * </p>
+     * 
+     * @param ranges
+     *            ranges that are counted
+     * @param ranges2
+     *            ranges that define the positions of interest
+     * @param from
+     *            first position of the returned span
+     * @param to
+     *            last position of the returned span, inclusively
+     * @return frequencies of positions {@code from->to}
+     */
+    public static int[] positionFrequencies(final List<? extends RangeInteger> ranges,
+            final List<? extends RangeInteger> ranges2, final int from, final int to) {
+        Util.checkForNull(ranges, ranges2);
+        final int[] result = newSpan(from, to);
+        forEachPositionFrequency(ranges, ranges2, new FrequencyTask() {
+            public void call(final long start, final long stop, final int frequency) {
+                fill(result, from, to, start, stop, frequency);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Count, for every position {@code from->to}, the number of ranges that include that position.
+     * <p>
+     * This takes {@code O(n log n + (to - from))} and does not box.
+     * </p>
+     * 
+     * @param ranges
+     *            ranges that are counted
+     * @param from
+     *            first position of the returned span
+     * @param to
+     *            last position of the returned span, inclusively
+     * @return coverage depth of positions {@code from->to}; element {@code i} holds the depth of position
+     *         {@code from + i}
+     */
+    public static int[] coverage(final List<? extends RangeInteger> ranges, final int from, final int to) {
+        final int[] result = newSpan(from, to);
+        final CoverageSweep sweep = CoverageSweep.create(ranges);
+        while (sweep.next()) {
+            fill(result, from, to, sweep.getStart(), sweep.getStop(), sweep.getDepth());
+        }
+        return result;
+    }
+
+    private static int[] newSpan(final int from, final int to) {
+        final long size = (long) to - from + 1;
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new RangeException("invalid span from=" + from + " to=" + to);
+        }
+        return new int[(int) size];
+    }
+
+    private static void fill(final int[] span, final int from, final int to, final long start, final long stop,
+            final int value) {
+        final long first = Math.max(start, from);
+        final long last = Math.min(stop, to);
+        if (first <= last) {
+            Arrays.fill(span, (int) (first - from), (int) (last - from) + 1, value);
+        }
+    }
 
-        final Map<Integer, Integer> map = positionFrequencies(ranges, ranges2);
+    private interface FrequencyTask {
+        void call(long start, long stop, int frequency);
+    }
+
+    /**
+     * Walks runs of equal depth of {@code ranges2} and of {@code ranges} side by side, and reports every run of
+     * positions included by {@code ranges2} together with its frequency.
+     */
+    private static void forEachPositionFrequency(final List<? extends RangeInteger> ranges,
+            final List<? extends RangeInteger> ranges2, final FrequencyTask task) {
+        final CoverageSweep depth = CoverageSweep.create(ranges);
+        final CoverageSweep multiplicity = CoverageSweep.createIgnoringIntervals(ranges2);
+        boolean hasDepth = depth.next();
+        while (multiplicity.next()) {
+            final long stop = multiplicity.getStop();
+            final long m = multiplicity.getDepth();
+            long position = multiplicity.getStart();
+            while (position <= stop) {
+                while (hasDepth && depth.getStop() < position) {
+                    hasDepth = depth.next();
+                }
+                if (!hasDepth || depth.getStart() > stop) {
+                    task.call(position, stop, 0);
+                    break;
+                }
+                if (depth.getStart() > position) {
+                    task.call(position, depth.getStart() - 1, 0);
+                    position = depth.getStart();
+                }
+                final long end = Math.min(stop, depth.getStop());
+                final long frequency = m * depth.getDepth();
+                if (frequency > Integer.MAX_VALUE) {
+                    throw new ArithmeticException("integer overflow");
+                }
+                task.call(position, end, (int) frequency);
+                position = end + 1;
+            }
+        }
+    }
 
-        if (map.size() == 0)
+    /**
+     * Build a histogram of {@link #positionFrequencies(List, List) position frequencies}.
+     * <p>
+     * Element {@code i} of the returned array holds the number of positions that have a frequency of {@code i}.
+     * Frequencies are computed by a streaming sweep, so memory is bounded by the greatest frequency rather than by
+     * the number of positions.
+     * </p>
+     * 
+     * @param ranges
+     *            ranges that are counted
+     * @param ranges2
+     *            ranges that define the positions of interest
+     * @return histogram of position frequencies
+     * @see #quantile(long[], double)
+     */
+    public static long[] histogramPositionFrequencies(final List<? extends RangeInteger> ranges,
+            final List<? extends RangeInteger> ranges2) {
+        Util.checkForNull(ranges, ranges2);
+        final long[][] histogram = new long[][] { new long[16] };
+        forEachPositionFrequency(ranges, ranges2, new FrequencyTask() {
+            public void call(final long start, final long stop, final int frequency) {
+                if (frequency >= histogram[0].length) {
+                    histogram[0] = Arrays.copyOf(histogram[0], Math.max(frequency + 1, histogram[0].length * 2));
+                }
+                histogram[0][frequency] += stop - start + 1;
+            }
+        });
+        int size = histogram[0].length;
+        while (size > 0 && histogram[0][size - 1] == 0) {
+            size--;
+        }
+        return Arrays.copyOf(histogram[0], size);
+    }
+
+    /**
+     * Compute the mean of all {@link #positionFrequencies(List, List) position frequencies}.
+     * 
+     * @param ranges
+     *            ranges that are counted
+     * @param ranges2
+     *            ranges that define the positions of interest
+     * @return mean position frequency, or {@code 0} if {@code ranges2} is empty
+     */
+    public static double meanPositionFrequencies(final List<? extends RangeInteger> ranges,
+            final List<? extends RangeInteger> ranges2) {
+        final long[] histogram = histogramPositionFrequencies(ranges, ranges2);
+        double sum = 0;
+        long count = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            sum += (double) i * histogram[i];
+            count += histogram[i];
+        }
+        if (count == 0)
             return 0;
+        return sum / count;
+    }
 
-        int result = 0;
+    /**
+     * Compute the median of all {@link #positionFrequencies(List, List) position frequencies}.
+     * <p>
+     * If the number of positions is even, the mean of the two middle frequencies is returned.
+     * </p>
+     * 
+     * @param ranges
+     *            ranges that are counted
+     * @param ranges2
+     *            ranges that define the positions of interest
+     * @return median position frequency, or {@code 0} if {@code ranges2} is empty
+     * @see #quantilePositionFrequencies(List, List, double)
+     * @see #meanPositionFrequencies(List, List)
+     */
+    public static double medianPositionFrequencies(final List<? extends RangeInteger> ranges,
+            final List<? extends RangeInteger> ranges2) {
+        return quantilePositionFrequencies(ranges, ranges2, 0.5);
+    }
+
+    /**
+     * Compute given quantile of all {@link #positionFrequencies(List, List) position frequencies}.
+     * 
+     * @param ranges
+     *            ranges that are counted
+     * @param ranges2
+     *            ranges that define the positions of interest
+     * @param quantile
+     *            quantile to compute, {@code 0 <= quantile <= 1}
+     * @return requested quantile, or {@code 0} if {@code ranges2} is empty
+     * @see #quantile(long[], double)
+     */
+    public static double quantilePositionFrequencies(final List<? extends RangeInteger> ranges,
+            final List<? extends RangeInteger> ranges2, final double quantile) {
+        return quantile(histogramPositionFrequencies(ranges, ranges2), quantile);
+    }
 
-        for (final Integer value : map.values()) {
-            result += value.intValue();
+    /**
+     * Compute given quantile from a histogram, in which element {@code i} holds the number of observations of value
+     * {@code i}.
+     * <p>
+     * The quantile is interpolated linearly between the two closest ranks, so that {@code quantile(h, 0.5)} is the
+     * median.
+     * </p>
+     * 
+     * @param histogram
+     *            histogram of observations
+     * @param quantile
+     *            quantile to compute, {@code 0 <= quantile <= 1}
+     * @return requested quantile, or {@code 0} if there are no observations
+     */
+    public static double quantile(final long[] histogram, final double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("invalid quantile " + quantile);
+        }
+        long count = 0;
+        for (final long c : histogram) {
+            count += c;
         }
+        if (count == 0)
+            return 0;
+        final double rank = (count - 1) * quantile;
+        final long lower = (long) Math.floor(rank);
+        final long upper = (long) Math.ceil(rank);
+        final int lowerValue = valueAtRank(histogram, lower);
+        final int upperValue = upper == lower ? lowerValue : valueAtRank(histogram, upper);
+        return lowerValue + (upperValue - lowerValue) * (rank - lower);
+    }
 
-        return (double) result / (double) map.size();
+    private static int valueAtRank(final long[] histogram, final long rank) {
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen > rank) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("rank out of bounds " + rank);
     }
 
     public static <R extends RangeInteger> R trimmValidStart(final R range, final int minStart, final int maxStart,
@@ -0,0 +1,786 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import net.sf.jranges.range.CoverageSweep;
+import net.sf.jranges.range.SetOperation;
+import net.sf.jranges.range.integerrange.IntegerRangeFactory;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+/**
+ * An immutable, compressed bitmap of integer positions, for dense and
+ * fragmented sets of {@link RangeInteger}s.
+ * <p>
+ * Positions are split into chunks of {@code 2^16}, keyed by their upper 16 bits
+ * (with the sign bit flipped, so that chunks are ordered like signed
+ * positions). Each non-empty chunk is stored in the smallest of three
+ * containers:
+ * <ul>
+ * <li>an array container, a sorted {@code char[]} of up to 4096 positions</li>
+ * <li>a bitmap container, {@code 1024} {@code long} words</li>
+ * <li>a run container, sorted start and stop {@code char[]}s of maximal runs</li>
+ * </ul>
+ * </p>
+ * <p>
+ * {@link #contains(int)} takes {@code O(log c)} for {@code c} chunks, plus
+ * {@code O(1)} or {@code O(log n)} within a container. Set operations work
+ * chunk by chunk, on words for bitmap containers and by merging for array and
+ * run containers.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * BitmapRangeInteger mask = BitmapRangeInteger.create(ranges);
+ * BitmapRangeInteger both = mask.and(BitmapRangeInteger.create(otherRanges));
+ * List&lt;ZeroPositiveIntegerRange&gt; result = both.toRanges(new ZeroPositiveIntegerRangeFactory());
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class BitmapRangeInteger {
+
+    /**
+     * A set of positions within one chunk, given by their lower 16 bits.
+     */
+    private static abstract class Container {
+
+        static Container apply(final SetOperation operation, final Container a, final Container b) {
+            if (a instanceof ArrayContainer && b instanceof ArrayContainer) {
+                return ArrayContainer.apply(operation, (ArrayContainer) a, (ArrayContainer) b);
+            }
+            if (a instanceof RunContainer && b instanceof RunContainer) {
+                return RunContainer.apply(operation, (RunContainer) a, (RunContainer) b);
+            }
+            return BitmapContainer.apply(operation, a.words(), b.words());
+        }
+
+        /**
+         * Create the smallest container for given runs, or {@code null} if
+         * there are none.
+         */
+        static Container ofRuns(final char[] starts, final char[] stops, final int n) {
+            if (n == 0) {
+                return null;
+            }
+            int cardinality = 0;
+            for (int i = 0; i < n; i++) {
+                cardinality += stops[i] - starts[i] + 1;
+            }
+            switch (best(cardinality, n)) {
+            case RUN:
+                return new RunContainer(Arrays.copyOf(starts, n), Arrays.copyOf(stops, n));
+            case ARRAY:
+                final char[] values = new char[cardinality];
+                int k = 0;
+                for (int i = 0; i < n; i++) {
+                    for (int x = starts[i]; x <= stops[i]; x++) {
+                        values[k++] = (char) x;
+                    }
+                }
+                return new ArrayContainer(values);
+            default:
+                final long[] words = new long[WORDS];
+                for (int i = 0; i < n; i++) {
+                    setRange(words, starts[i], stops[i]);
+                }
+                return new BitmapContainer(words, cardinality);
+            }
+        }
+
+        /**
+         * Create the smallest container for given words, or {@code null} if no
+         * bit is set.
+         */
+        static Container ofWords(final long[] words) {
+            int cardinality = 0;
+            int runs = 0;
+            long previous = 0;
+            for (final long w : words) {
+                cardinality += Long.bitCount(w);
+                runs += Long.bitCount(w & ~((w << 1) | (previous >>> 63)));
+                previous = w;
+            }
+            if (cardinality == 0) {
+                return null;
+            }
+            switch (best(cardinality, runs)) {
+            case RUN:
+                final char[] starts = new char[runs];
+                final char[] stops = new char[runs];
+                int n = 0;
+                int x = nextSetBit(words, 0);
+                while (x >= 0) {
+                    final int end = nextClearBit(words, x);
+                    starts[n] = (char) x;
+                    stops[n++] = (char) (end - 1);
+                    x = nextSetBit(words, end);
+                }
+                return new RunContainer(starts, stops);
+            case ARRAY:
+                final char[] values = new char[cardinality];
+                int k = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    long w = words[i];
+                    while (w != 0) {
+                        values[k++] = (char) ((i << 6) + Long.numberOfTrailingZeros(w));
+                        w &= w - 1;
+                    }
+                }
+                return new ArrayContainer(values);
+            default:
+                return new BitmapContainer(words, cardinality);
+            }
+        }
+
+        abstract int cardinality();
+
+        abstract boolean contains(int low);
+
+        /**
+         * Add all runs of this container to given builder.
+         */
+        abstract void runs(int key, RangeIntegerSet.Builder builder);
+
+        /**
+         * @return approximate size of this container in bytes
+         */
+        abstract int sizeInBytes();
+
+        /**
+         * @return a bitmap of this container; must not be modified
+         */
+        abstract long[] words();
+
+    }
+
+    private static class ArrayContainer extends Container {
+
+        static Container apply(final SetOperation operation, final ArrayContainer a, final ArrayContainer b) {
+            final char[] va = a.values;
+            final char[] vb = b.values;
+            final char[] result = new char[va.length + vb.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < va.length || j < vb.length) {
+                final char x;
+                final boolean inA;
+                final boolean inB;
+                if (j == vb.length || (i < va.length && va[i] < vb[j])) {
+                    x = va[i++];
+                    inA = true;
+                    inB = false;
+                } else if (i == va.length || vb[j] < va[i]) {
+                    x = vb[j++];
+                    inA = false;
+                    inB = true;
+                } else {
+                    x = va[i++];
+                    j++;
+                    inA = true;
+                    inB = true;
+                }
+                if (operation.apply(inA, inB)) {
+                    result[n++] = x;
+                }
+            }
+            if (n == 0) {
+                return null;
+            }
+            if (n > ARRAY_MAX) {
+                final long[] words = new long[WORDS];
+                for (int k = 0; k < n; k++) {
+                    words[result[k] >>> 6] |= 1L << result[k];
+                }
+                return ofWords(words);
+            }
+            int runs = 1;
+            for (int k = 1; k < n; k++) {
+                if (result[k] != result[k - 1] + 1) {
+                    runs++;
+                }
+            }
+            if (best(n, runs) == RUN) {
+                final char[] starts = new char[runs];
+                final char[] stops = new char[runs];
+                int r = 0;
+                starts[0] = result[0];
+                for (int k = 1; k < n; k++) {
+                    if (result[k] != result[k - 1] + 1) {
+                        stops[r++] = result[k - 1];
+                        starts[r] = result[k];
+                    }
+                }
+                stops[r] = result[n - 1];
+                return new RunContainer(starts, stops);
+            }
+            return new ArrayContainer(Arrays.copyOf(result, n));
+        }
+
+        private final char[] values;
+
+        ArrayContainer(final char[] values) {
+            this.values = values;
+        }
+
+        @Override
+        int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        boolean contains(final int low) {
+            return Arrays.binarySearch(values, (char) low) >= 0;
+        }
+
+        @Override
+        void runs(final int key, final RangeIntegerSet.Builder builder) {
+            int start = values[0];
+            for (int i = 1; i < values.length; i++) {
+                if (values[i] != values[i - 1] + 1) {
+                    builder.add(position(key, start), position(key, values[i - 1]));
+                    start = values[i];
+                }
+            }
+            builder.add(position(key, start), position(key, values[values.length - 1]));
+        }
+
+        @Override
+        int sizeInBytes() {
+            return 2 * values.length;
+        }
+
+        @Override
+        long[] words() {
+            final long[] words = new long[WORDS];
+            for (final char x : values) {
+                words[x >>> 6] |= 1L << x;
+            }
+            return words;
+        }
+
+    }
+
+    private static class BitmapContainer extends Container {
+
+        static Container apply(final SetOperation operation, final long[] a, final long[] b) {
+            final long[] words = new long[WORDS];
+            switch (operation) {
+            case UNION:
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] = a[i] | b[i];
+                }
+                break;
+            case INTERSECTION:
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] = a[i] & b[i];
+                }
+                break;
+            case DIFFERENCE:
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] = a[i] & ~b[i];
+                }
+                break;
+            case SYMMETRIC_DIFFERENCE:
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] = a[i] ^ b[i];
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("unknown operation " + operation);
+            }
+            return ofWords(words);
+        }
+
+        private final long[] words;
+
+        private final int cardinality;
+
+        BitmapContainer(final long[] words, final int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(final int low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        void runs(final int key, final RangeIntegerSet.Builder builder) {
+            int x = nextSetBit(words, 0);
+            while (x >= 0) {
+                final int end = nextClearBit(words, x);
+                builder.add(position(key, x), position(key, end - 1));
+                x = nextSetBit(words, end);
+            }
+        }
+
+        @Override
+        int sizeInBytes() {
+            return 8 * WORDS;
+        }
+
+        @Override
+        long[] words() {
+            return words;
+        }
+
+    }
+
+    private static class RunContainer extends Container {
+
+        static Container apply(final SetOperation operation, final RunContainer a, final RunContainer b) {
+            final int na = 2 * a.starts.length;
+            final int nb = 2 * b.starts.length;
+            final char[] starts = new char[a.starts.length + b.starts.length + 1];
+            final char[] stops = new char[starts.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            boolean open = false;
+            int begin = 0;
+            while (i < na || j < nb) {
+                final int pa = i < na ? a.boundary(i) : Integer.MAX_VALUE;
+                final int pb = j < nb ? b.boundary(j) : Integer.MAX_VALUE;
+                final int position = Math.min(pa, pb);
+                if (pa == position) {
+                    i++;
+                }
+                if (pb == position) {
+                    j++;
+                }
+                final boolean in = operation.apply((i & 1) == 1, (j & 1) == 1);
+                if (in && !open) {
+                    open = true;
+                    begin = position;
+                } else if (!in && open) {
+                    open = false;
+                    if (n > 0 && begin == stops[n - 1] + 1) {
+                        stops[n - 1] = (char) (position - 1);
+                    } else {
+                        starts[n] = (char) begin;
+                        stops[n++] = (char) (position - 1);
+                    }
+                }
+            }
+            return ofRuns(starts, stops, n);
+        }
+
+        private final char[] starts;
+
+        private final char[] stops;
+
+        RunContainer(final char[] starts, final char[] stops) {
+            this.starts = starts;
+            this.stops = stops;
+        }
+
+        /**
+         * Boundary {@code i}; even boundaries enter a run, odd boundaries leave
+         * it (exclusively).
+         */
+        private int boundary(final int i) {
+            return (i & 1) == 0 ? starts[i >>> 1] : stops[i >>> 1] + 1;
+        }
+
+        @Override
+        int cardinality() {
+            int result = 0;
+            for (int i = 0; i < starts.length; i++) {
+                result += stops[i] - starts[i] + 1;
+            }
+            return result;
+        }
+
+        @Override
+        boolean contains(final int low) {
+            int i = Arrays.binarySearch(starts, (char) low);
+            if (i >= 0) {
+                return true;
+            }
+            i = -i - 2;
+            return i >= 0 && stops[i] >= low;
+        }
+
+        @Override
+        void runs(final int key, final RangeIntegerSet.Builder builder) {
+            for (int i = 0; i < starts.length; i++) {
+                builder.add(position(key, starts[i]), position(key, stops[i]));
+            }
+        }
+
+        @Override
+        int sizeInBytes() {
+            return 2 + 4 * starts.length;
+        }
+
+        @Override
+        long[] words() {
+            final long[] words = new long[WORDS];
+            for (int i = 0; i < starts.length; i++) {
+                setRange(words, starts[i], stops[i]);
+            }
+            return words;
+        }
+
+    }
+
+    /**
+     * Collects ascending, non-overlapping spans chunk by chunk.
+     */
+    private static class Appender {
+
+        private final List<Container> containers = new ArrayList<Container>();
+
+        private char[] keys = new char[4];
+
+        private int key = -1;
+
+        private char[] starts = new char[16];
+
+        private char[] stops = new char[16];
+
+        private int n = 0;
+
+        void add(final int start, final int stop) {
+            long u = (start ^ SIGN) & 0xFFFFFFFFL;
+            final long end = (stop ^ SIGN) & 0xFFFFFFFFL;
+            while (u <= end) {
+                final int k = (int) (u >>> 16);
+                final long chunkEnd = Math.min(end, ((long) k << 16) | 0xFFFF);
+                addRun(k, (char) u, (char) chunkEnd);
+                u = chunkEnd + 1;
+            }
+        }
+
+        private void addRun(final int k, final char low, final char high) {
+            if (k != key) {
+                flush();
+                key = k;
+            }
+            if (n > 0 && low == stops[n - 1] + 1) {
+                stops[n - 1] = high;
+                return;
+            }
+            if (n == starts.length) {
+                starts = Arrays.copyOf(starts, 2 * n);
+                stops = Arrays.copyOf(stops, 2 * n);
+            }
+            starts[n] = low;
+            stops[n++] = high;
+        }
+
+        BitmapRangeInteger build() {
+            flush();
+            return new BitmapRangeInteger(Arrays.copyOf(keys, containers.size()),
+                    containers.toArray(new Container[containers.size()]));
+        }
+
+        private void flush() {
+            if (n == 0) {
+                return;
+            }
+            if (containers.size() == keys.length) {
+                keys = Arrays.copyOf(keys, 2 * keys.length);
+            }
+            keys[containers.size()] = (char) key;
+            containers.add(Container.ofRuns(starts, stops, n));
+            n = 0;
+        }
+
+    }
+
+    private static final int SIGN = 0x80000000;
+
+    private static final int ARRAY_MAX = 4096;
+
+    private static final int WORDS = 1024;
+
+    private static final int ARRAY = 0;
+
+    private static final int BITMAP = 1;
+
+    private static final int RUN = 2;
+
+    private static int best(final int cardinality, final int runs) {
+        final int array = cardinality <= ARRAY_MAX ? 2 * cardinality : Integer.MAX_VALUE;
+        final int bitmap = 8 * WORDS;
+        if (2 + 4 * runs < Math.min(array, bitmap)) {
+            return RUN;
+        }
+        return array <= bitmap ? ARRAY : BITMAP;
+    }
+
+    /**
+     * Create a new {@code BitmapRangeInteger} of all positions of given ranges.
+     *
+     * @param ranges
+     *            ranges to add
+     * @return a new {@code BitmapRangeInteger}
+     */
+    public static BitmapRangeInteger create(final Collection<? extends RangeInteger> ranges) {
+        final CoverageSweep sweep = CoverageSweep.create(ranges);
+        final Appender appender = new Appender();
+        while (sweep.next()) {
+            appender.add((int) sweep.getStart(), (int) sweep.getStop());
+        }
+        return appender.build();
+    }
+
+    /**
+     * Create a new {@code BitmapRangeInteger} of all positions of given set.
+     *
+     * @param set
+     *            set to add
+     * @return a new {@code BitmapRangeInteger}
+     */
+    public static BitmapRangeInteger create(final RangeIntegerSet<?> set) {
+        final Appender appender = new Appender();
+        for (int i = 0; i < set.size(); i++) {
+            appender.add(set.getStart(i), set.getStop(i));
+        }
+        return appender.build();
+    }
+
+    private static int nextClearBit(final long[] words, final int from) {
+        int i = from >>> 6;
+        long w = ~words[i] & (-1L << from);
+        while (w == 0) {
+            if (++i == WORDS) {
+                return WORDS << 6;
+            }
+            w = ~words[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(w);
+    }
+
+    private static int nextSetBit(final long[] words, final int from) {
+        int i = from >>> 6;
+        if (i >= WORDS) {
+            return -1;
+        }
+        long w = words[i] & (-1L << from);
+        while (w == 0) {
+            if (++i == WORDS) {
+                return -1;
+            }
+            w = words[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(w);
+    }
+
+    private static int position(final int key, final int low) {
+        return ((key << 16) | low) ^ SIGN;
+    }
+
+    private static void setRange(final long[] words, final int from, final int to) {
+        final int first = from >>> 6;
+        final int last = to >>> 6;
+        final long firstMask = -1L << from;
+        final long lastMask = -1L >>> (63 - (to & 63));
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        for (int i = first + 1; i < last; i++) {
+            words[i] = -1L;
+        }
+        words[last] |= lastMask;
+    }
+
+    private final char[] keys;
+
+    private final Container[] containers;
+
+    private BitmapRangeInteger(final char[] keys, final Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+    }
+
+    /**
+     * @see SetOperation#INTERSECTION
+     */
+    public BitmapRangeInteger and(final BitmapRangeInteger other) {
+        return apply(SetOperation.INTERSECTION, other);
+    }
+
+    /**
+     * @see SetOperation#DIFFERENCE
+     */
+    public BitmapRangeInteger andNot(final BitmapRangeInteger other) {
+        return apply(SetOperation.DIFFERENCE, other);
+    }
+
+    /**
+     * Apply given set operation to this and another bitmap.
+     *
+     * @param operation
+     *            set operation to apply
+     * @param other
+     *            second operand
+     * @return a new {@code BitmapRangeInteger}
+     */
+    public BitmapRangeInteger apply(final SetOperation operation, final BitmapRangeInteger other) {
+        final boolean keepFirst = operation.apply(true, false);
+        final boolean keepSecond = operation.apply(false, true);
+        final char[] resultKeys = new char[keys.length + other.keys.length];
+        final Container[] resultContainers = new Container[resultKeys.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                if (keepFirst) {
+                    resultKeys[n] = keys[i];
+                    resultContainers[n++] = containers[i];
+                }
+                i++;
+            } else if (i == keys.length || other.keys[j] < keys[i]) {
+                if (keepSecond) {
+                    resultKeys[n] = other.keys[j];
+                    resultContainers[n++] = other.containers[j];
+                }
+                j++;
+            } else {
+                final Container c = Container.apply(operation, containers[i], other.containers[j]);
+                if (c != null) {
+                    resultKeys[n] = keys[i];
+                    resultContainers[n++] = c;
+                }
+                i++;
+                j++;
+            }
+        }
+        return new BitmapRangeInteger(Arrays.copyOf(resultKeys, n), Arrays.copyOf(resultContainers, n));
+    }
+
+    /**
+     * @return number of positions in this bitmap
+     */
+    public long cardinality() {
+        long result = 0;
+        for (final Container c : containers) {
+            result += c.cardinality();
+        }
+        return result;
+    }
+
+    /**
+     * Check whether given position is part of this bitmap.
+     *
+     * @param position
+     *            position that is checked
+     * @return true, if given position is part of this bitmap; false otherwise
+     */
+    public boolean contains(final int position) {
+        final int u = position ^ SIGN;
+        final int i = Arrays.binarySearch(keys, (char) (u >>> 16));
+        return i >= 0 && containers[i].contains(u & 0xFFFF);
+    }
+
+    /**
+     * @return approximate size of the containers of this bitmap in bytes
+     */
+    public long getSizeInBytes() {
+        long result = 2L * keys.length;
+        for (final Container c : containers) {
+            result += c.sizeInBytes();
+        }
+        return result;
+    }
+
+    /**
+     * @return true, if this bitmap contains no position
+     */
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /**
+     * @see SetOperation#UNION
+     */
+    public BitmapRangeInteger or(final BitmapRangeInteger other) {
+        return apply(SetOperation.UNION, other);
+    }
+
+    /**
+     * Convert this bitmap into a {@link RangeIntegerSet} of maximal ranges.
+     *
+     * @param factory
+     *            factory that creates the ranges
+     * @return a new {@code RangeIntegerSet}
+     */
+    public <R extends RangeInteger> RangeIntegerSet<R> toRangeIntegerSet(final IntegerRangeFactory<R> factory) {
+        final RangeIntegerSet.Builder builder = new RangeIntegerSet.Builder(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].runs(keys[i], builder);
+        }
+        return builder.build(factory);
+    }
+
+    /**
+     * Convert this bitmap into a sorted list of maximal ranges.
+     *
+     * @param factory
+     *            factory that creates the ranges
+     * @return a new, unmodifiable list of ranges
+     */
+    public <R extends RangeInteger> List<R> toRanges(final IntegerRangeFactory<R> factory) {
+        return toRangeIntegerSet(factory).getRanges();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[cardinality=" + cardinality() + ",chunks=" + keys.length + "]";
+    }
+
+    /**
+     * @see SetOperation#SYMMETRIC_DIFFERENCE
+     */
+    public BitmapRangeInteger xor(final BitmapRangeInteger other) {
+        return apply(SetOperation.SYMMETRIC_DIFFERENCE, other);
+    }
+
+}
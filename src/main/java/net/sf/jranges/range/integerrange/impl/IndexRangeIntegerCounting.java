@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import net.sf.jranges.range.UtilRange;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+/**
+ * An index that counts ranges including a position, or overlapping with a
+ * window, without retrieving them.
+ * <p>
+ * Start and stop positions are kept in two independently sorted arrays. The
+ * number of ranges including position {@code p} is then the number of starts
+ * {@code <= p} minus the number of stops {@code < p}, which takes two binary
+ * searches. Overlaps with a window are counted the same way. Ranges with an
+ * interval other than {@code 1} are kept in a separate
+ * {@link IndexRangeIntegerFlat}, so that position counts respect intervals
+ * like {@link RangeInteger#includes(int)} does.
+ * </p>
+ * <p>
+ * {@link #numberOfAppearances(int[])} answers a sorted batch of positions in
+ * one linear pass.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * IndexRangeIntegerCounting index = new IndexRangeIntegerCounting(ranges);
+ * int depth = index.numberOfAppearances(42);
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class IndexRangeIntegerCounting {
+
+    private final int[] starts;
+
+    private final int[] stops;
+
+    /**
+     * Ranges with an interval other than {@code 1}, or {@code null} if there
+     * are none.
+     */
+    private final IndexRangeIntegerFlat<RangeInteger> strided;
+
+    private final int size;
+
+    /**
+     * Construct a new {@code IndexRangeIntegerCounting} from given ranges.
+     * <p>
+     * Building the index takes {@code O(n log n)}.
+     * </p>
+     *
+     * @param ranges
+     *            ranges to index
+     */
+    public IndexRangeIntegerCounting(final Collection<? extends RangeInteger> ranges) {
+        int[] starts = new int[ranges.size()];
+        int[] stops = new int[ranges.size()];
+        final List<RangeInteger> strided = new ArrayList<RangeInteger>();
+        int n = 0;
+        for (final RangeInteger r : ranges) {
+            if (r.getInterval() == 1) {
+                starts[n] = r.getStart();
+                stops[n] = r.getStop();
+                n++;
+            } else {
+                strided.add(r);
+            }
+        }
+        if (n < starts.length) {
+            starts = Arrays.copyOf(starts, n);
+            stops = Arrays.copyOf(stops, n);
+        }
+        Arrays.sort(starts);
+        Arrays.sort(stops);
+        this.starts = starts;
+        this.stops = stops;
+        this.strided = strided.isEmpty() ? null : new IndexRangeIntegerFlat<RangeInteger>(strided);
+        this.size = ranges.size();
+    }
+
+    /**
+     * Check whether given position is included by at least one indexed range.
+     *
+     * @param position
+     *            position that is checked
+     * @return true, if at least one range includes given position; false
+     *         otherwise
+     */
+    public boolean includes(final int position) {
+        return numberOfAppearances(position) > 0;
+    }
+
+    /**
+     * Count indexed ranges that include given position, in {@code O(log n)}.
+     *
+     * @param position
+     *            position that is checked
+     * @return number of ranges that include given position
+     */
+    public int numberOfAppearances(final int position) {
+        final int result = UtilRange.lowerBound(starts, (long) position + 1) - UtilRange.lowerBound(stops, position);
+        return strided == null ? result : result + strided.numberOfAppearances(position);
+    }
+
+    /**
+     * Count indexed ranges that include each of given positions, in one pass.
+     *
+     * @param positions
+     *            positions that are checked, sorted ascending
+     * @return for every position, number of ranges that include it
+     * @throws IllegalArgumentException
+     *             if positions are not sorted
+     */
+    public int[] numberOfAppearances(final int[] positions) {
+        final int[] result = new int[positions.length];
+        int started = 0;
+        int stopped = 0;
+        for (int i = 0; i < positions.length; i++) {
+            final int p = positions[i];
+            if (i > 0 && p < positions[i - 1]) {
+                throw new IllegalArgumentException("positions not sorted");
+            }
+            while (started < starts.length && starts[started] <= p) {
+                started++;
+            }
+            while (stopped < stops.length && stops[stopped] < p) {
+                stopped++;
+            }
+            result[i] = started - stopped;
+            if (strided != null) {
+                result[i] += strided.numberOfAppearances(p);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Count indexed ranges, whose hull {@code getStart()->getStop()} overlaps
+     * {@code start->stop}, in {@code O(log n)}. The interval of a range is not
+     * considered.
+     *
+     * @param start
+     *            start of the query window, inclusively
+     * @param stop
+     *            stop of the query window, inclusively
+     * @return number of ranges that overlap with given window
+     */
+    public int numberOfOverlaps(final int start, final int stop) {
+        if (stop < start) {
+            return 0;
+        }
+        final int result = UtilRange.lowerBound(starts, (long) stop + 1) - UtilRange.lowerBound(stops, start);
+        return strided == null ? result : result + strided.numberOfOverlaps(start, stop);
+    }
+
+    /**
+     * @return number of indexed ranges
+     */
+    public int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import net.sf.jranges.range.UtilRange.IntegerRangeTask;
+import net.sf.jranges.range.integerrange.IndexRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+/**
+ * An {@link IndexRangeInteger} that stores its ranges in flat, parallel
+ * {@code int} arrays.
+ * <p>
+ * Ranges are sorted once by start position. The sorted array is interpreted
+ * as an implicit binary tree (as done by cgranges): the element at index
+ * {@code i} is a node at level {@code k}, where {@code k} is the number of
+ * trailing one-bits of {@code i}. An additional array holds, for every node,
+ * the greatest stop position of its subtree. No node objects are created, and
+ * the tree is traversed by index arithmetic only.
+ * </p>
+ * <p>
+ * Queries run in {@code O(log n + k)}. Hits are reported as indices into this
+ * index; {@link #forEachOverlapping(int, int, IntegerRangeTask)} and
+ * {@link #forEachIncluding(int, IntegerRangeTask)} do not allocate.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * final IndexRangeIntegerFlat&lt;RangeInteger&gt; index = new IndexRangeIntegerFlat&lt;RangeInteger&gt;(ranges);
+ * index.forEachOverlapping(100, 200, new IntegerRangeTask() {
+ *     public void call(int i) {
+ *         System.out.println(index.getStart(i) + &quot;-&gt;&quot; + index.getStop(i));
+ *     }
+ * });
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ * @param <R>
+ *            type of indexed {@code RangeInteger}
+ */
+public class IndexRangeIntegerFlat<R extends RangeInteger> implements IndexRangeInteger<R> {
+
+    private final int[] starts;
+
+    private final int[] stops;
+
+    /**
+     * Intervals of indexed ranges, or {@code null} if all intervals are
+     * {@code 1}.
+     */
+    private final int[] intervals;
+
+    private final Object[] ranges;
+
+    private final TreeImplicitRangeInteger tree;
+
+    /**
+     * Construct a new {@code IndexRangeIntegerFlat} from given ranges.
+     * <p>
+     * Building the index takes {@code O(n log n)}.
+     * </p>
+     *
+     * @param ranges
+     *            ranges to index
+     */
+    public IndexRangeIntegerFlat(final Collection<? extends R> ranges) {
+        final int n = ranges.size();
+        final Object[] input = ranges.toArray();
+        // sort by start; original index in lower bits keeps this stable
+        final long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) ((RangeInteger) input[i]).getStart() << 32) | i;
+        }
+        Arrays.sort(keys);
+        this.starts = new int[n];
+        this.stops = new int[n];
+        this.ranges = new Object[n];
+        int[] intervals = null;
+        for (int i = 0; i < n; i++) {
+            final RangeInteger r = (RangeInteger) input[(int) keys[i]];
+            this.ranges[i] = r;
+            starts[i] = r.getStart();
+            stops[i] = r.getStop();
+            if (r.getInterval() != 1) {
+                if (intervals == null) {
+                    intervals = new int[n];
+                    Arrays.fill(intervals, 1);
+                }
+                intervals[i] = r.getInterval();
+            }
+        }
+        this.intervals = intervals;
+        final int[] maxStops = new int[n];
+        final int maxLevel = TreeImplicitRangeInteger.augment(n, stops, maxStops);
+        this.tree = new TreeImplicitRangeInteger(n, maxLevel, IntBuffer.wrap(starts), IntBuffer.wrap(stops),
+                IntBuffer.wrap(maxStops), intervals == null ? null : IntBuffer.wrap(intervals));
+    }
+
+    /**
+     * Call given task with the index of every range that includes given
+     * position, in order of start position.
+     *
+     * @param position
+     *            position that is checked
+     * @param task
+     *            task that is called for every hit
+     * @return number of hits
+     */
+    public int forEachIncluding(final int position, final IntegerRangeTask task) {
+        return query(position, position, true, task);
+    }
+
+    /**
+     * Call given task with the index of every range that overlaps with
+     * {@code start->stop}, in order of start position.
+     *
+     * @param start
+     *            start of the query window, inclusively
+     * @param stop
+     *            stop of the query window, inclusively
+     * @param task
+     *            task that is called for every hit
+     * @return number of hits
+     */
+    public int forEachOverlapping(final int start, final int stop, final IntegerRangeTask task) {
+        return query(start, stop, false, task);
+    }
+
+    public List<R> getIncluding(final int position) {
+        return toRanges(getIncludingIndices(position));
+    }
+
+    /**
+     * Retrieve indices of all ranges that include given position.
+     *
+     * @param position
+     *            position that is checked
+     * @return indices of hits, in order of start position
+     */
+    public int[] getIncludingIndices(final int position) {
+        final int[] result = new int[query(position, position, true, null)];
+        query(position, position, true, new Collector(result));
+        return result;
+    }
+
+    /**
+     * Retrieve the interval of the range at given index.
+     *
+     * @param index
+     *            index of the range
+     * @return interval of the range
+     */
+    public int getInterval(final int index) {
+        return intervals == null ? 1 : intervals[index];
+    }
+
+    public List<R> getOverlapping(final int start, final int stop) {
+        return toRanges(getOverlappingIndices(start, stop));
+    }
+
+    /**
+     * Retrieve indices of all ranges that overlap with {@code start->stop}.
+     *
+     * @param start
+     *            start of the query window, inclusively
+     * @param stop
+     *            stop of the query window, inclusively
+     * @return indices of hits, in order of start position
+     */
+    public int[] getOverlappingIndices(final int start, final int stop) {
+        final int[] result = new int[query(start, stop, false, null)];
+        query(start, stop, false, new Collector(result));
+        return result;
+    }
+
+    /**
+     * Retrieve the range at given index.
+     *
+     * @param index
+     *            index of the range
+     * @return the range
+     */
+    @SuppressWarnings("unchecked")
+    public R getRange(final int index) {
+        return (R) ranges[index];
+    }
+
+    /**
+     * Retrieve the start position of the range at given index.
+     *
+     * @param index
+     *            index of the range
+     * @return start position of the range
+     */
+    public int getStart(final int index) {
+        return starts[index];
+    }
+
+    /**
+     * Retrieve the stop position of the range at given index.
+     *
+     * @param index
+     *            index of the range
+     * @return stop position of the range
+     */
+    public int getStop(final int index) {
+        return stops[index];
+    }
+
+    public boolean includes(final int position) {
+        return query(position, position, true, null) > 0;
+    }
+
+    public int numberOfAppearances(final int position) {
+        return query(position, position, true, null);
+    }
+
+    public int numberOfOverlaps(final int start, final int stop) {
+        return query(start, stop, false, null);
+    }
+
+    private int query(final int start, final int stop, final boolean position, final IntegerRangeTask task) {
+        return tree.query(start, stop, position, task);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    private List<R> toRanges(final int[] indices) {
+        final List<R> result = new ArrayList<R>(indices.length);
+        for (final int i : indices) {
+            result.add(getRange(i));
+        }
+        return result;
+    }
+
+    private static class Collector implements IntegerRangeTask {
+
+        private final int[] result;
+
+        private int index = 0;
+
+        private Collector(final int[] result) {
+            this.result = result;
+        }
+
+        public void call(final int i) {
+            result[index++] = i;
+        }
+    }
+
+}
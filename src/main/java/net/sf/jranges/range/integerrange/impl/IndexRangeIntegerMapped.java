@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import net.sf.jranges.range.UtilRange.IntegerRangeTask;
+import net.sf.jranges.range.integerrange.IndexRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+/**
+ * An {@link IndexRangeInteger} that answers queries directly against a
+ * memory-mapped file.
+ * <p>
+ * The file holds the flat arrays of an {@link IndexRangeIntegerFlat} (sorted
+ * starts, stops, the greatest stop per implicit tree node and, if needed,
+ * intervals) and is written by {@link #write(IndexRangeIntegerFlat, File)}.
+ * Opening it maps the file read-only and only validates the header, so startup
+ * takes {@code O(1)} and nothing is copied to the heap. Pages are loaded by the
+ * operating system on first access and are shared between all processes that
+ * map the same file.
+ * </p>
+ * <p>
+ * Queries run in {@code O(log n + k)}, like they do for
+ * {@link IndexRangeIntegerFlat}. Indexed range instances are not persisted;
+ * {@link #getIncluding(int)} and {@link #getOverlapping(int, int)} return
+ * hits as a new {@link RangeIntegerArray}.
+ * </p>
+ * <p>
+ * A single mapping is limited to {@link Integer#MAX_VALUE} bytes, that is
+ * roughly 178 million ranges with interval {@code 1}.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * IndexRangeIntegerMapped.write(new IndexRangeIntegerFlat&lt;RangeInteger&gt;(ranges), file);
+ * // later, or in another process
+ * IndexRangeIntegerMapped index = new IndexRangeIntegerMapped(file);
+ * index.includes(42);
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class IndexRangeIntegerMapped implements IndexRangeInteger<RangeInteger> {
+
+    private final static int MAGIC = 0x4A524958;
+
+    private final static int VERSION = 1;
+
+    /**
+     * Number of {@code int}s in the header: magic, version, size, level of the
+     * root node, and a flag for intervals.
+     */
+    private final static int HEADER_SIZE = 5;
+
+    /**
+     * Persist given index to given file.
+     *
+     * @param index
+     *            index to persist
+     * @param file
+     *            file to write to; will be overwritten
+     * @throws IOException
+     *             if writing fails
+     */
+    public static void write(final IndexRangeIntegerFlat<?> index, final File file) throws IOException {
+        final int n = index.size();
+        final int[] stops = new int[n];
+        boolean strided = false;
+        for (int i = 0; i < n; i++) {
+            stops[i] = index.getStop(i);
+            strided |= index.getInterval(i) != 1;
+        }
+        final int[] maxStops = new int[n];
+        final int maxLevel = TreeImplicitRangeInteger.augment(n, stops, maxStops);
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(n);
+            out.writeInt(maxLevel);
+            out.writeInt(strided ? 1 : 0);
+            for (int i = 0; i < n; i++) {
+                out.writeInt(index.getStart(i));
+            }
+            for (int i = 0; i < n; i++) {
+                out.writeInt(stops[i]);
+            }
+            for (int i = 0; i < n; i++) {
+                out.writeInt(maxStops[i]);
+            }
+            if (strided) {
+                for (int i = 0; i < n; i++) {
+                    out.writeInt(index.getInterval(i));
+                }
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private final int n;
+
+    private final IntBuffer starts;
+
+    private final IntBuffer stops;
+
+    /**
+     * Intervals of indexed ranges, or {@code null} if all intervals are
+     * {@code 1}.
+     */
+    private final IntBuffer intervals;
+
+    private final TreeImplicitRangeInteger tree;
+
+    /**
+     * Map given file, that has been written by
+     * {@link #write(IndexRangeIntegerFlat, File)}.
+     *
+     * @param file
+     *            file to map
+     * @throws IOException
+     *             if the file cannot be mapped or is invalid
+     */
+    public IndexRangeIntegerMapped(final File file) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        final ByteBuffer buffer;
+        try {
+            final FileChannel channel = raf.getChannel();
+            if (channel.size() < HEADER_SIZE * 4L || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("invalid size " + channel.size());
+            }
+            // mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            raf.close();
+        }
+        final IntBuffer ints = buffer.asIntBuffer();
+        if (ints.get(0) != MAGIC || ints.get(1) != VERSION) {
+            throw new IOException("invalid format");
+        }
+        this.n = ints.get(2);
+        final int maxLevel = ints.get(3);
+        final boolean strided = ints.get(4) != 0;
+        if (n < 0 || ints.capacity() != HEADER_SIZE + (strided ? 4L : 3L) * n) {
+            throw new IOException("invalid format");
+        }
+        this.starts = slice(ints, HEADER_SIZE);
+        this.stops = slice(ints, HEADER_SIZE + n);
+        this.intervals = strided ? slice(ints, HEADER_SIZE + 3 * n) : null;
+        this.tree = new TreeImplicitRangeInteger(n, maxLevel, starts, stops, slice(ints, HEADER_SIZE + 2 * n),
+                intervals);
+    }
+
+    private IntBuffer slice(final IntBuffer ints, final int offset) {
+        final IntBuffer duplicate = ints.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + n);
+        return duplicate.slice();
+    }
+
+    /**
+     * Call given task with the index of every range that includes given
+     * position, in order of start position.
+     *
+     * @param position
+     *            position that is checked
+     * @param task
+     *            task that is called for every hit
+     * @return number of hits
+     */
+    public int forEachIncluding(final int position, final IntegerRangeTask task) {
+        return query(position, position, true, task);
+    }
+
+    /**
+     * Call given task with the index of every range that overlaps with
+     * {@code start->stop}, in order of start position.
+     *
+     * @param start
+     *            start of the query window, inclusively
+     * @param stop
+     *            stop of the query window, inclusively
+     * @param task
+     *            task that is called for every hit
+     * @return number of hits
+     */
+    public int forEachOverlapping(final int start, final int stop, final IntegerRangeTask task) {
+        return query(start, stop, false, task);
+    }
+
+    public List<RangeInteger> getIncluding(final int position) {
+        final RangeIntegerArray result = new RangeIntegerArray();
+        query(position, position, true, new Collector(result));
+        return result;
+    }
+
+    /**
+     * Retrieve the interval of the range at given index.
+     *
+     * @param index
+     *            index of the range
+     * @return interval of the range
+     */
+    public int getInterval(final int index) {
+        return intervals == null ? 1 : intervals.get(index);
+    }
+
+    public List<RangeInteger> getOverlapping(final int start, final int stop) {
+        final RangeIntegerArray result = new RangeIntegerArray();
+        query(start, stop, false, new Collector(result));
+        return result;
+    }
+
+    /**
+     * Retrieve the start position of the range at given index.
+     *
+     * @param index
+     *            index of the range
+     * @return start position of the range
+     */
+    public int getStart(final int index) {
+        return starts.get(index);
+    }
+
+    /**
+     * Retrieve the stop position of the range at given index.
+     *
+     * @param index
+     *            index of the range
+     * @return stop position of the range
+     */
+    public int getStop(final int index) {
+        return stops.get(index);
+    }
+
+    public boolean includes(final int position) {
+        return query(position, position, true, null) > 0;
+    }
+
+    public int numberOfAppearances(final int position) {
+        return query(position, position, true, null);
+    }
+
+    public int numberOfOverlaps(final int start, final int stop) {
+        return query(start, stop, false, null);
+    }
+
+    private int query(final int start, final int stop, final boolean position, final IntegerRangeTask task) {
+        return tree.query(start, stop, position, task);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    private class Collector implements IntegerRangeTask {
+
+        private final RangeIntegerArray result;
+
+        private Collector(final RangeIntegerArray result) {
+            this.result = result;
+        }
+
+        public void call(final int i) {
+            result.append(getStart(i), getStop(i), getInterval(i));
+        }
+    }
+
+}
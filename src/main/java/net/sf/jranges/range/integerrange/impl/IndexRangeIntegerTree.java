@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jranges.range.integerrange.IndexRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+
+/**
+ * An {@link IndexRangeInteger} that is implemented as an augmented interval
+ * tree.
+ * <p>
+ * The tree is a balanced binary search tree ordered by start position. Every
+ * node additionally stores the greatest stop position of its subtree, so that
+ * subtrees that cannot contain a hit are skipped. Queries therefore run in
+ * {@code O(log n + k)}, with {@code k} being the number of hits.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * IndexRangeInteger&lt;RangeInteger&gt; index = new IndexRangeIntegerTree&lt;RangeInteger&gt;(ranges);
+ * boolean covered = UtilsRangeInteger.includedByOne(index, 42);
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ * @param <R>
+ *            type of indexed {@code RangeInteger}
+ */
+public class IndexRangeIntegerTree<R extends RangeInteger> implements IndexRangeInteger<R> {
+
+    private static class Node<R> {
+
+        private final R range;
+
+        private final int start;
+
+        private final int stop;
+
+        private int maxStop;
+
+        private Node<R> left;
+
+        private Node<R> right;
+
+        private Node(final R range, final int start, final int stop) {
+            this.range = range;
+            this.start = start;
+            this.stop = stop;
+        }
+    }
+
+    private static <R extends RangeInteger> Node<R> build(final List<R> sorted, final int from, final int to) {
+        if (from > to) {
+            return null;
+        }
+        final int mid = (from + to) >>> 1;
+        final R range = sorted.get(mid);
+        final Node<R> node = new Node<R>(range, range.getStart(), range.getStop());
+        node.left = build(sorted, from, mid - 1);
+        node.right = build(sorted, mid + 1, to);
+        int maxStop = node.stop;
+        if (node.left != null && node.left.maxStop > maxStop) {
+            maxStop = node.left.maxStop;
+        }
+        if (node.right != null && node.right.maxStop > maxStop) {
+            maxStop = node.right.maxStop;
+        }
+        node.maxStop = maxStop;
+        return node;
+    }
+
+    private final Node<R> root;
+
+    private final int size;
+
+    /**
+     * Construct a new {@code IndexRangeIntegerTree} from given ranges.
+     * <p>
+     * Building the index takes {@code O(n log n)}.
+     * </p>
+     *
+     * @param ranges
+     *            ranges to index
+     */
+    public IndexRangeIntegerTree(final Collection<? extends R> ranges) {
+        final List<R> sorted = new ArrayList<R>(ranges);
+        Collections.sort(sorted, UtilsRangeInteger.COMPARATOR_START_STOP);
+        this.size = sorted.size();
+        this.root = build(sorted, 0, sorted.size() - 1);
+    }
+
+    private int count(final Node<R> node, final int position) {
+        if (node == null || node.maxStop < position) {
+            return 0;
+        }
+        int result = count(node.left, position);
+        if (node.start <= position) {
+            if (node.stop >= position && node.range.includes(position)) {
+                result++;
+            }
+            result += count(node.right, position);
+        }
+        return result;
+    }
+
+    private int countOverlaps(final Node<R> node, final int start, final int stop) {
+        if (node == null || node.maxStop < start) {
+            return 0;
+        }
+        int result = countOverlaps(node.left, start, stop);
+        if (node.start <= stop) {
+            if (node.stop >= start) {
+                result++;
+            }
+            result += countOverlaps(node.right, start, stop);
+        }
+        return result;
+    }
+
+    private boolean find(final Node<R> node, final int position) {
+        if (node == null || node.maxStop < position) {
+            return false;
+        }
+        if (find(node.left, position)) {
+            return true;
+        }
+        if (node.start <= position) {
+            if (node.stop >= position && node.range.includes(position)) {
+                return true;
+            }
+            return find(node.right, position);
+        }
+        return false;
+    }
+
+    public List<R> getIncluding(final int position) {
+        final List<R> result = new ArrayList<R>();
+        including(root, position, result);
+        return result;
+    }
+
+    public List<R> getOverlapping(final int start, final int stop) {
+        final List<R> result = new ArrayList<R>();
+        overlapping(root, start, stop, result);
+        return result;
+    }
+
+    public boolean includes(final int position) {
+        return find(root, position);
+    }
+
+    private void including(final Node<R> node, final int position, final List<R> result) {
+        if (node == null || node.maxStop < position) {
+            return;
+        }
+        including(node.left, position, result);
+        if (node.start <= position) {
+            if (node.stop >= position && node.range.includes(position)) {
+                result.add(node.range);
+            }
+            including(node.right, position, result);
+        }
+    }
+
+    public int numberOfAppearances(final int position) {
+        return count(root, position);
+    }
+
+    public int numberOfOverlaps(final int start, final int stop) {
+        return countOverlaps(root, start, stop);
+    }
+
+    private void overlapping(final Node<R> node, final int start, final int stop, final List<R> result) {
+        if (node == null || node.maxStop < start) {
+            return;
+        }
+        overlapping(node.left, start, stop, result);
+        if (node.start <= stop) {
+            if (node.stop >= start) {
+                result.add(node.range);
+            }
+            overlapping(node.right, start, stop, result);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import net.sf.jranges.range.SetOperation;
+import net.sf.jranges.range.integerrange.IntegerRangeFactory;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+/**
+ * A streaming {@link SetOperation} on two sequences of {@link RangeInteger}s.
+ * <p>
+ * Both operands must be sorted by start and have an interval of {@code 1};
+ * they may overlap. Only one range per operand is held at a time, so operands
+ * may be larger than memory, e.g. ranges read lazily from a file. Each
+ * operand is consumed exactly once, in {@code O(n + m)}.
+ * </p>
+ * <p>
+ * Result ranges are sorted, neither overlapping nor adjacent, and created by
+ * given {@link IntegerRangeFactory}.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Iterator&lt;ZeroPositiveIntegerRange&gt; it = new IteratorSetOperationRangeInteger&lt;ZeroPositiveIntegerRange&gt;(
+ *         SetOperation.INTERSECTION, readerA, readerB, new ZeroPositiveIntegerRangeFactory());
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ * @param <R>
+ *            type of result {@code RangeInteger}
+ */
+public class IteratorSetOperationRangeInteger<R extends RangeInteger> implements Iterator<R> {
+
+    private final SetOperationSweep sweep;
+
+    private final IntegerRangeFactory<R> factory;
+
+    private R next;
+
+    /**
+     * Construct a new {@code IteratorSetOperationRangeInteger}.
+     *
+     * @param operation
+     *            set operation to apply
+     * @param first
+     *            first operand, sorted by start
+     * @param second
+     *            second operand, sorted by start
+     * @param factory
+     *            factory that creates result ranges
+     * @throws IllegalArgumentException
+     *             (while iterating) if an operand is not sorted by start
+     * @throws net.sf.jranges.range.RangeException
+     *             (while iterating) if an operand range has an interval other
+     *             than {@code 1}
+     */
+    public IteratorSetOperationRangeInteger(final SetOperation operation,
+            final Iterator<? extends RangeInteger> first, final Iterator<? extends RangeInteger> second,
+            final IntegerRangeFactory<R> factory) {
+        this.sweep = new SetOperationSweep(operation, new SetOperationSweep.IteratorBoundaries(first),
+                new SetOperationSweep.IteratorBoundaries(second));
+        this.factory = factory;
+    }
+
+    public boolean hasNext() {
+        if (next == null && sweep.next()) {
+            next = factory.create(sweep.getStart(), sweep.getStop());
+        }
+        return next != null;
+    }
+
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final R result = next;
+        next = null;
+        return result;
+    }
+
+}
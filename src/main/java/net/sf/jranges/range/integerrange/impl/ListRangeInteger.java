@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+
+import net.sf.jranges.range.integerrange.IteratorRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+/**
+ * A lazy, read-only {@link java.util.List List} view of all positions of a
+ * {@link RangeInteger}.
+ * <p>
+ * Size and elements are computed from start, stop and interval, so a
+ * {@code ListRangeInteger} takes {@code O(1)} memory regardless of the number of
+ * positions. {@link #getInt(int)} and {@link #intIterator()} do not box.
+ * </p>
+ * <p>
+ * Start, stop and interval are read once on construction; later modifications
+ * of a mutable range are not reflected.
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class ListRangeInteger extends AbstractList<Integer> implements RandomAccess {
+
+    /**
+     * Number of positions of given range, computed without overflow.
+     */
+    static long size(final RangeInteger range) {
+        final long size = ((long) range.getStop() - range.getStart()) / range.getInterval() + 1;
+        return size < 0 ? 0 : size;
+    }
+
+    private final int start;
+
+    private final int interval;
+
+    private final long size;
+
+    /**
+     * Construct a new {@code ListRangeInteger} for given range.
+     *
+     * @param range
+     *            range to view
+     */
+    public ListRangeInteger(final RangeInteger range) {
+        this.start = range.getStart();
+        this.interval = range.getInterval();
+        this.size = size(range);
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public Integer get(final int index) {
+        return Integer.valueOf(getInt(index));
+    }
+
+    /**
+     * Retrieve the position at given index without boxing.
+     *
+     * @param index
+     *            index of the position
+     * @return position at given index
+     */
+    public int getInt(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + " size=" + size);
+        }
+        return (int) (start + (long) index * interval);
+    }
+
+    @Override
+    public int indexOf(final Object o) {
+        if (!(o instanceof Integer)) {
+            return -1;
+        }
+        final long offset = (long) ((Integer) o).intValue() - start;
+        if (offset < 0 || offset % interval != 0) {
+            return -1;
+        }
+        final long index = offset / interval;
+        return index < size && index <= Integer.MAX_VALUE ? (int) index : -1;
+    }
+
+    /**
+     * @return a non-boxing iterator over all positions
+     */
+    public PrimitiveIterator.OfInt intIterator() {
+        return new IteratorRangeInteger(start, interval, size);
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return intIterator();
+    }
+
+    @Override
+    public int lastIndexOf(final Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * @return number of positions, or {@link Integer#MAX_VALUE} if there are
+     *         more
+     */
+    @Override
+    public int size() {
+        return size > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) size;
+    }
+
+}
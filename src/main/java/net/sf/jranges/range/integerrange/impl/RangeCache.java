@@ -15,59 +15,89 @@
  ******************************************************************************/
 package net.sf.jranges.range.integerrange.impl;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.jranges.range.integerrange.RangeInteger;
 
+/**
+ * Hands out a collection of {@link RangeInteger}s in batches of a fixed size.
+ * <p>
+ * Ranges are copied once into a shared array on construction. Batches are
+ * read-only views on that array, which are claimed by an atomic cursor; neither
+ * claiming nor handing out a batch copies or locks.
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ * 
+ * <pre>
+ * Thread save. Several consumers may drain one RangeCache concurrently by
+ * calling poll() until it returns null. hasNext() followed by next() is not
+ * atomic; next() throws NoSuchElementException if another consumer claimed
+ * the last batch in between.
+ * </pre>
+ * 
+ * </p>
+ */
 class RangeCache implements Iterable<Collection<? extends RangeInteger>>, Iterator<Collection<? extends RangeInteger>> {
 
 	final static int DEFAULT_ELEMENTS = 10000;
 
 	final int elements;
 
-	private final List<? extends RangeInteger> ranges;
-
-	private volatile Collection<? extends RangeInteger> cache;
+	private final List<RangeInteger> ranges;
 
-	private volatile int index = 0;
+	private final AtomicInteger index = new AtomicInteger(0);
 
 	RangeCache(final Collection<? extends RangeInteger> ranges, int elements) {
+		if (elements < 1)
+			throw new IllegalArgumentException("invalid batch size " + elements);
 		this.elements = elements;
-		this.ranges = new ArrayList<RangeInteger>(ranges);
-		fill();
+		this.ranges = Arrays.asList(ranges.toArray(new RangeInteger[ranges.size()]));
 	}
 
 	RangeCache(final Collection<? extends RangeInteger> ranges) {
-		this.elements = DEFAULT_ELEMENTS;
-		this.ranges = new ArrayList<RangeInteger>(ranges);
-		fill();
+		this(ranges, DEFAULT_ELEMENTS);
 	}
 
-	private void fill() {
-		int end = index + elements;
-		if (end > ranges.size() - 1)
-			end = ranges.size();
-		cache = new ArrayList<RangeInteger>(ranges.subList(index, end));
-		index += elements;
+	/**
+	 * Claim the next batch.
+	 * 
+	 * @return the next batch, or {@code null} if all batches have been claimed
+	 */
+	Collection<? extends RangeInteger> poll() {
+		final int size = ranges.size();
+		while (true) {
+			final int from = index.get();
+			if (from >= size)
+				return null;
+			final int to = size - from > elements ? from + elements : size;
+			if (index.compareAndSet(from, to))
+				return Collections.unmodifiableList(ranges.subList(from, to));
+		}
 	}
 
 	/** 
 	 * 
 	 */
 	public boolean hasNext() {
-		// System.err.println(index);
-		return (index <= ranges.size());
+		return index.get() < ranges.size();
 	}
 
 	/** 
 	 * 
 	 */
-	public synchronized Collection<? extends RangeInteger> next() {
-		final Collection<? extends RangeInteger> result = new ArrayList<RangeInteger>(cache);
-		fill();
+	public Collection<? extends RangeInteger> next() {
+		final Collection<? extends RangeInteger> result = poll();
+		if (result == null)
+			throw new NoSuchElementException();
 		return result;
 	}
 
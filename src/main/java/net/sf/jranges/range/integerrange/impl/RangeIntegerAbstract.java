@@ -15,12 +15,8 @@
  ******************************************************************************/
 package net.sf.jranges.range.integerrange.impl;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import net.sf.jranges.range.RangeException;
 import net.sf.jranges.range.integerrange.RangeInteger;
-import net.sf.kerner.utils.math.ArithmeticSavety;
 
 /**
  * 
@@ -43,6 +39,32 @@ import net.sf.kerner.utils.math.ArithmeticSavety;
  */
 public abstract class RangeIntegerAbstract extends VeryAbstractIntegerRange implements RangeInteger {
 
+    /**
+     * 
+     * Check whether given values satisfy
+     * {@code limit1 <= start <= stop <= limit2}, without throwing.
+     * 
+     * @return true, if given values make a valid {@code AbstractIntegerRange};
+     *         false otherwise
+     */
+    public static boolean isValid(final long start, final long stop, final int limit1, final int limit2) {
+        return limit1 <= start && start <= stop && stop <= limit2;
+    }
+
+    /**
+     * 
+     * Check whether given values satisfy
+     * {@code limit1 <= start <= stop <= limit2}, {@code interval > 0} and
+     * {@code (stop - start) % interval == 0}, without throwing.
+     * 
+     * @return true, if given values make a valid {@code AbstractIntegerRange};
+     *         false otherwise
+     */
+    public static boolean isValid(final long start, final long stop, final int limit1, final int limit2,
+            final int interval) {
+        return isValid(start, stop, limit1, limit2) && interval > 0 && (stop - start) % interval == 0;
+    }
+
     /**
      * This {@code AbstractIntegerRange}'s lower limit, which is the smallest
      * possible position that for {@code start} is valid.
@@ -84,7 +106,7 @@ public abstract class RangeIntegerAbstract extends VeryAbstractIntegerRange impl
      */
     public RangeIntegerAbstract(final int start, final int stop, final int limit1, final int limit2)
             throws RangeException {
-        if (limit1 > start || limit2 < stop || start > stop)
+        if (!isValid(start, stop, limit1, limit2))
             throw new RangeException("invalid range" + " start=" + start + " stop=" + stop + " limit1=" + limit1
                     + " limit2=" + limit2);
         interval = 1;
@@ -117,13 +139,13 @@ public abstract class RangeIntegerAbstract extends VeryAbstractIntegerRange impl
      *            interval of this {@code AbstractIntegerRange}
      * @throws RangeException
      *             if
-     *             {@code limit1 > start || limit2 < stop || start > stop || (((stop - start) % interval) != 0)}
+     *             {@code limit1 > start || limit2 < stop || start > stop || interval < 1 || (((stop - start) % interval) != 0)}
      */
     public RangeIntegerAbstract(final int start, final int stop, final int limit1, final int limit2, final int interval)
             throws RangeException {
-        if (limit1 > start || limit2 < stop || start > stop || (((stop - start) % interval) != 0))
+        if (!isValid(start, stop, limit1, limit2, interval))
             throw new RangeException("invalid range" + " start=" + start + " stop=" + stop + " limit1=" + limit1
-                    + " limit2=" + limit2 + "interval=" + interval);
+                    + " limit2=" + limit2 + " interval=" + interval);
         this.limit1 = limit1;
         this.limit2 = limit2;
         this.interval = interval;
@@ -131,46 +153,16 @@ public abstract class RangeIntegerAbstract extends VeryAbstractIntegerRange impl
         this.start = start;
     }
 
-    @Override
-    public List<Integer> asList() {
-        // TODO init size
-        final List<Integer> result = new ArrayList<Integer>();
-        for (int i = getStart(); i <= getStop(); i += interval) {
-            result.add(i);
-        }
-        return result;
-    }
-
     public RangeInteger expandRange(final int offset) throws RangeException {
         return expandRange(offset, false);
     }
 
     public RangeInteger expandRange(final int offset, final boolean stayWithinLimits) throws RangeException {
-        int start = this.start;
-        int stop = this.stop;
-        if (stayWithinLimits) {
-            try {
-                start = ArithmeticSavety.addInt(getStart(), -offset);
-            } catch (final ArithmeticException e) {
-                //
-            }
-            try {
-                stop = ArithmeticSavety.addInt(getStop(), offset);
-            } catch (final ArithmeticException e) {
-                //
-            }
-            if (start < limit1) {
-                start = limit1;
-            }
-            if (stop > limit2) {
-                stop = limit2;
-            }
-            return newInstange(start, stop, getLimit1(), getLimit2());
-        } else {
-            start = ArithmeticSavety.addInt(getStart(), -offset);
-            stop = ArithmeticSavety.addInt(getStop(), offset);
-            return newInstange(start, stop, getLimit1(), getLimit2());
-        }
+        final RangeInteger result = tryExpandRange(offset, stayWithinLimits);
+        if (result == null)
+            throw new RangeException("invalid range" + " start=" + ((long) getStart() - offset) + " stop="
+                    + ((long) getStop() + offset) + " limit1=" + limit1 + " limit2=" + limit2);
+        return result;
     }
 
     @Override
@@ -212,7 +204,7 @@ public abstract class RangeIntegerAbstract extends VeryAbstractIntegerRange impl
     public boolean includes(final int position) {
         if (interval == 1)
             return super.includes(position);
-        return ((position - start) % interval == 0) && position <= stop;
+        return ((position - start) % interval == 0) && position >= start && position <= stop;
     }
 
     /**
@@ -236,8 +228,62 @@ public abstract class RangeIntegerAbstract extends VeryAbstractIntegerRange impl
             throws RangeException;
 
     public RangeInteger shift(final int offset) throws RangeException {
-        return newInstange(ArithmeticSavety.addInt(getStart(), offset), ArithmeticSavety.addInt(getStop(), offset),
-                getLimit1(), getLimit2());
+        final RangeInteger result = tryShift(offset);
+        if (result == null)
+            throw new RangeException("invalid range" + " start=" + ((long) getStart() + offset) + " stop="
+                    + ((long) getStop() + offset) + " limit1=" + limit1 + " limit2=" + limit2);
+        return result;
+    }
+
+    /**
+     * 
+     * Same as {@link #expandRange(int, boolean)}, but returns {@code null}
+     * instead of throwing a {@link RangeException}.
+     * <p>
+     * Positions are computed as {@code long}, so nothing overflows; if
+     * {@code stayWithinLimits} is true, they are clamped to
+     * {@code limit1->limit2}.
+     * </p>
+     * 
+     * @param offset
+     *            number of positions to add on both sides
+     * @param stayWithinLimits
+     *            true, if the new range should be clamped to this range's
+     *            limits
+     * @return the expanded range, or {@code null} if it would be invalid
+     */
+    public RangeInteger tryExpandRange(final int offset, final boolean stayWithinLimits) {
+        long start = (long) getStart() - offset;
+        long stop = (long) getStop() + offset;
+        if (stayWithinLimits) {
+            start = Math.max(start, limit1);
+            stop = Math.min(stop, limit2);
+        }
+        return tryNewInstance(start, stop);
+    }
 
+    /**
+     * 
+     * Retrieve a new instance via {@link #newInstange(int, int, int, int)},
+     * or {@code null} if the new instance would be invalid.
+     * 
+     */
+    private RangeInteger tryNewInstance(final long start, final long stop) {
+        if (!isValid(start, stop, limit1, limit2, interval))
+            return null;
+        return newInstange((int) start, (int) stop, limit1, limit2);
+    }
+
+    /**
+     * 
+     * Same as {@link #shift(int)}, but returns {@code null} instead of
+     * throwing a {@link RangeException}.
+     * 
+     * @param offset
+     *            number of positions to shift
+     * @return the shifted range, or {@code null} if it would be invalid
+     */
+    public RangeInteger tryShift(final int offset) {
+        return tryNewInstance((long) getStart() + offset, (long) getStop() + offset);
     }
 }
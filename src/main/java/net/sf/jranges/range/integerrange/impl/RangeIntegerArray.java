@@ -0,0 +1,493 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import net.sf.jranges.range.RangeException;
+import net.sf.jranges.range.integerrange.ColumnsRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+
+/**
+ * A compact, growable list of {@link RangeInteger}s, stored as parallel
+ * primitive arrays of starts, stops and (only if needed) intervals.
+ * <p>
+ * A range takes 8 bytes, or 12 bytes once any range with an interval other
+ * than {@code 1} has been added, instead of a full object per range.
+ * {@link #get(int)} creates a small, immutable {@code RangeInteger} on demand;
+ * {@link #getStart(int)}, {@link #getStop(int)} and {@link #getInterval(int)}
+ * read the arrays directly. {@link net.sf.jranges.range.integerrange.UtilsRangeInteger
+ * UtilsRangeInteger} recognises this list and does not create any
+ * {@code RangeInteger} while walking it.
+ * </p>
+ * <p>
+ * Ranges can also be exchanged in packed form, as {@code long}s of
+ * {@code (start << 32) | stop}.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * RangeIntegerArray ranges = new RangeIntegerArray(1000000);
+ * for (...) {
+ *     ranges.append(start, stop);
+ * }
+ * int[] depth = UtilsRangeInteger.coverage(ranges, 0, 10000);
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class RangeIntegerArray extends AbstractList<RangeInteger> implements ColumnsRangeInteger, RandomAccess {
+
+    /**
+     * Immutable range, as returned by {@link RangeIntegerArray#get(int)}.
+     */
+    private static class Element extends VeryAbstractIntegerRange {
+
+        private final int interval;
+
+        Element(final int start, final int stop, final int interval) {
+            this.start = start;
+            this.stop = stop;
+            this.interval = interval;
+        }
+
+        public RangeInteger expandRange(final int offset) throws RangeException {
+            return expandRange(offset, false);
+        }
+
+        /**
+         * Positions are computed as {@code long}; if {@code stayWithinLimits} is true, they are clamped to the
+         * {@code int} range.
+         */
+        public RangeInteger expandRange(final int offset, final boolean stayWithinLimits) throws RangeException {
+            long start = (long) this.start - offset;
+            long stop = (long) this.stop + offset;
+            if (stayWithinLimits) {
+                start = Math.max(start, Integer.MIN_VALUE);
+                stop = Math.min(stop, Integer.MAX_VALUE);
+            }
+            return newInstance(start, stop);
+        }
+
+        @Override
+        public int getInterval() {
+            return interval;
+        }
+
+        @Override
+        public int getLength() {
+            return (int) Math.min(((long) stop - start) / interval + 1, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean includes(final int position) {
+            return super.includes(position) && ((long) position - start) % interval == 0;
+        }
+
+        private Element newInstance(final long start, final long stop) throws RangeException {
+            if (!RangeIntegerAbstract.isValid(start, stop, Integer.MIN_VALUE, Integer.MAX_VALUE, interval))
+                throw new RangeException("invalid range" + " start=" + start + " stop=" + stop + " interval="
+                        + interval);
+            return new Element((int) start, (int) stop, interval);
+        }
+
+        public RangeInteger shift(final int offset) throws RangeException {
+            return newInstance((long) start + offset, (long) stop + offset);
+        }
+
+    }
+
+    /**
+     * Create a new {@code RangeIntegerArray} from primitive columns in one call.
+     * 
+     * @see #create(int[], int[], int[], int, int, BitSet)
+     */
+    public static RangeIntegerArray create(final int[] starts, final int[] stops, final int[] intervals,
+            final BitSet invalid) {
+        return create(starts, stops, intervals, Integer.MIN_VALUE, Integer.MAX_VALUE, invalid);
+    }
+
+    /**
+     * Create a new {@code RangeIntegerArray} from primitive columns in one call.
+     * <p>
+     * Rows are validated by
+     * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#validate(int[], int[], int[], int, int)
+     * UtilsRangeInteger.validate()}; invalid rows are skipped and reported through {@code invalid}, nothing is
+     * thrown. Valid rows are copied in blocks between invalid ones, so no range instance is created.
+     * </p>
+     * 
+     * @param starts
+     *            start positions
+     * @param stops
+     *            stop positions
+     * @param intervals
+     *            intervals, or {@code null} if all intervals are {@code 1}
+     * @param limit1
+     *            smallest valid start position
+     * @param limit2
+     *            greatest valid stop position
+     * @param invalid
+     *            if not {@code null}, bit {@code i} is set for every invalid row {@code i}
+     * @return a new {@code RangeIntegerArray} of all valid rows, in row order
+     */
+    public static RangeIntegerArray create(final int[] starts, final int[] stops, final int[] intervals,
+            final int limit1, final int limit2, final BitSet invalid) {
+        final BitSet bad = UtilsRangeInteger.validate(starts, stops, intervals, limit1, limit2);
+        if (invalid != null) {
+            invalid.or(bad);
+        }
+        final int n = starts.length - bad.cardinality();
+        final RangeIntegerArray result = new RangeIntegerArray(n);
+        boolean strided = false;
+        if (intervals != null) {
+            for (int i = 0; i < starts.length && !strided; i++) {
+                strided = intervals[i] != 1 && !bad.get(i);
+            }
+        }
+        if (strided) {
+            result.intervals = new int[n];
+        }
+        int from = 0;
+        while (from < starts.length) {
+            int to = bad.nextSetBit(from);
+            if (to < 0) {
+                to = starts.length;
+            }
+            final int length = to - from;
+            System.arraycopy(starts, from, result.starts, result.size, length);
+            System.arraycopy(stops, from, result.stops, result.size, length);
+            if (strided) {
+                System.arraycopy(intervals, from, result.intervals, result.size, length);
+            }
+            result.size += length;
+            from = bad.nextClearBit(to);
+        }
+        return result;
+    }
+
+    /**
+     * Create a new {@code RangeIntegerArray} from packed ranges in one call. Invalid rows, for which stop is less
+     * than start, are skipped and reported through {@code invalid}; nothing is thrown.
+     * 
+     * @param packed
+     *            ranges, packed as {@code (start << 32) | (stop & 0xFFFFFFFFL)}
+     * @param invalid
+     *            if not {@code null}, bit {@code i} is set for every invalid row {@code i}
+     * @return a new {@code RangeIntegerArray} of all valid rows, in row order
+     * @see #pack(int, int)
+     */
+    public static RangeIntegerArray fromPacked(final long[] packed, final BitSet invalid) {
+        final RangeIntegerArray result = new RangeIntegerArray(packed.length);
+        for (int i = 0; i < packed.length; i++) {
+            final int start = (int) (packed[i] >> 32);
+            final int stop = (int) packed[i];
+            result.starts[result.size] = start;
+            result.stops[result.size] = stop;
+            if (stop >= start) {
+                result.size++;
+            } else if (invalid != null) {
+                invalid.set(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create a new {@code RangeIntegerArray} from packed ranges.
+     *
+     * @param packed
+     *            ranges, packed as {@code (start << 32) | (stop & 0xFFFFFFFFL)}
+     * @return a new {@code RangeIntegerArray}
+     * @throws RangeException
+     *             if a packed stop is less than its start
+     * @see #pack(int, int)
+     */
+    public static RangeIntegerArray fromPacked(final long[] packed) {
+        final RangeIntegerArray result = new RangeIntegerArray(packed.length);
+        for (final long p : packed) {
+            result.append((int) (p >> 32), (int) p);
+        }
+        return result;
+    }
+
+    /**
+     * Pack a range into one {@code long}.
+     *
+     * @param start
+     *            start position
+     * @param stop
+     *            stop position
+     * @return {@code (start << 32) | (stop & 0xFFFFFFFFL)}
+     */
+    public static long pack(final int start, final int stop) {
+        return ((long) start << 32) | (stop & 0xFFFFFFFFL);
+    }
+
+    private int[] starts;
+
+    private int[] stops;
+
+    /**
+     * {@code null}, as long as all intervals are {@code 1}.
+     */
+    private int[] intervals;
+
+    private int size = 0;
+
+    /**
+     * Construct a new, empty {@code RangeIntegerArray}.
+     */
+    public RangeIntegerArray() {
+        this(16);
+    }
+
+    /**
+     * Construct a new {@code RangeIntegerArray} that contains given ranges.
+     *
+     * @param ranges
+     *            ranges to add
+     */
+    public RangeIntegerArray(final Collection<? extends RangeInteger> ranges) {
+        this(ranges.size());
+        addAll(ranges);
+    }
+
+    /**
+     * Construct a new, empty {@code RangeIntegerArray}.
+     *
+     * @param capacity
+     *            number of ranges that can be added without growing
+     */
+    public RangeIntegerArray(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative, was " + capacity);
+        }
+        starts = new int[capacity];
+        stops = new int[capacity];
+    }
+
+    @Override
+    public void add(final int index, final RangeInteger range) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index=" + index + " size=" + size);
+        }
+        check(range.getStart(), range.getStop(), range.getInterval());
+        grow(size + 1);
+        System.arraycopy(starts, index, starts, index + 1, size - index);
+        System.arraycopy(stops, index, stops, index + 1, size - index);
+        if (intervals != null) {
+            System.arraycopy(intervals, index, intervals, index + 1, size - index);
+        }
+        size++;
+        put(index, range.getStart(), range.getStop(), range.getInterval());
+        modCount++;
+    }
+
+    /**
+     * Append a range with an interval of {@code 1}.
+     *
+     * @param start
+     *            start position
+     * @param stop
+     *            stop position
+     * @throws RangeException
+     *             if {@code stop < start}
+     */
+    public void append(final int start, final int stop) {
+        append(start, stop, 1);
+    }
+
+    /**
+     * Append a range.
+     *
+     * @param start
+     *            start position
+     * @param stop
+     *            stop position
+     * @param interval
+     *            interval
+     * @throws RangeException
+     *             if {@code stop < start}, {@code interval < 1} or
+     *             {@code stop - start} is not a multiple of {@code interval}
+     */
+    public void append(final int start, final int stop, final int interval) {
+        check(start, stop, interval);
+        grow(size + 1);
+        put(size++, start, stop, interval);
+        modCount++;
+    }
+
+    private void check(final int start, final int stop, final int interval) {
+        if (!RangeIntegerAbstract.isValid(start, stop, Integer.MIN_VALUE, Integer.MAX_VALUE, interval)) {
+            throw new RangeException("invalid range" + " start=" + start + " stop=" + stop + " interval=" + interval);
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + " size=" + size);
+        }
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        intervals = null;
+        modCount++;
+    }
+
+    @Override
+    public RangeInteger get(final int index) {
+        checkIndex(index);
+        return new Element(starts[index], stops[index], intervals == null ? 1 : intervals[index]);
+    }
+
+    public int getInterval(final int index) {
+        checkIndex(index);
+        return intervals == null ? 1 : intervals[index];
+    }
+
+    /**
+     * Retrieve the range at given index in packed form.
+     *
+     * @param index
+     *            index of the range
+     * @return packed range
+     * @see #pack(int, int)
+     */
+    public long getPacked(final int index) {
+        checkIndex(index);
+        return pack(starts[index], stops[index]);
+    }
+
+    public int getStart(final int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    public int getStop(final int index) {
+        checkIndex(index);
+        return stops[index];
+    }
+
+    private void grow(final int capacity) {
+        if (capacity > starts.length) {
+            final int newCapacity = Math.max(capacity, starts.length + (starts.length >> 1) + 1);
+            starts = Arrays.copyOf(starts, newCapacity);
+            stops = Arrays.copyOf(stops, newCapacity);
+            if (intervals != null) {
+                intervals = Arrays.copyOf(intervals, newCapacity);
+            }
+        }
+    }
+
+    private void put(final int index, final int start, final int stop, final int interval) {
+        starts[index] = start;
+        stops[index] = stop;
+        if (interval != 1 && intervals == null) {
+            intervals = new int[starts.length];
+            Arrays.fill(intervals, 0, size, 1);
+        }
+        if (intervals != null) {
+            intervals[index] = interval;
+        }
+    }
+
+    @Override
+    public RangeInteger remove(final int index) {
+        final RangeInteger result = get(index);
+        final int n = size - index - 1;
+        System.arraycopy(starts, index + 1, starts, index, n);
+        System.arraycopy(stops, index + 1, stops, index, n);
+        if (intervals != null) {
+            System.arraycopy(intervals, index + 1, intervals, index, n);
+        }
+        size--;
+        modCount++;
+        return result;
+    }
+
+    @Override
+    public RangeInteger set(final int index, final RangeInteger range) {
+        final RangeInteger result = get(index);
+        check(range.getStart(), range.getStop(), range.getInterval());
+        put(index, range.getStart(), range.getStop(), range.getInterval());
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieve all ranges in packed form.
+     *
+     * @return a new array of packed ranges
+     * @throws IllegalStateException
+     *             if a range has an interval other than {@code 1}, which
+     *             cannot be packed
+     * @see #pack(int, int)
+     */
+    public long[] toPacked() {
+        if (intervals != null) {
+            for (int i = 0; i < size; i++) {
+                if (intervals[i] != 1) {
+                    throw new IllegalStateException("cannot pack interval " + intervals[i]);
+                }
+            }
+        }
+        final long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = pack(starts[i], stops[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Shrink the backing arrays to the number of ranges.
+     */
+    public void trimToSize() {
+        starts = Arrays.copyOf(starts, size);
+        stops = Arrays.copyOf(stops, size);
+        if (intervals != null) {
+            intervals = Arrays.copyOf(intervals, size);
+        }
+    }
+
+}
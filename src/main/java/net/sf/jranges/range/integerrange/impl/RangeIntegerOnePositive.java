@@ -40,6 +40,32 @@ import net.sf.jranges.range.RangeException;
  */
 public class RangeIntegerOnePositive extends RangeIntegerAbstract {
 
+	/**
+	 * 
+	 * Create a new {@code RangeIntegerOnePositive}, or return {@code null} if
+	 * given values are invalid. Other than the constructor, this never
+	 * throws.
+	 * 
+	 * @return a new {@code RangeIntegerOnePositive}, or {@code null}
+	 */
+	public static RangeIntegerOnePositive tryCreate(int start, int stop) {
+		if (!isValid(start, stop, 1, Integer.MAX_VALUE))
+			return null;
+		return new RangeIntegerOnePositive(start, stop);
+	}
+
+	/**
+	 * 
+	 * Same as {@link #tryCreate(int, int)}, with given interval.
+	 * 
+	 * @return a new {@code RangeIntegerOnePositive}, or {@code null}
+	 */
+	public static RangeIntegerOnePositive tryCreate(int start, int stop, int interval) {
+		if (!isValid(start, stop, 1, Integer.MAX_VALUE, interval))
+			return null;
+		return new RangeIntegerOnePositive(start, stop, interval);
+	}
+
 	public RangeIntegerOnePositive(int start, int stop) throws RangeException {
 		super(start, stop, 1, Integer.MAX_VALUE);
 	}
@@ -0,0 +1,459 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import net.sf.jranges.range.CoverageSweep;
+import net.sf.jranges.range.SetOperation;
+import net.sf.jranges.range.integerrange.ColumnsRangeInteger;
+import net.sf.jranges.range.integerrange.IntegerRangeFactory;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+
+/**
+ * An immutable, sorted set of non-overlapping, non-adjacent
+ * {@link RangeInteger}s, that represents the union of all positions of the
+ * ranges it was created from.
+ * <p>
+ * In contrast to
+ * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#merge(List, IntegerRangeFactory)
+ * UtilsRangeInteger.merge()}, which returns a bounding box, gaps between ranges
+ * are preserved. Overlapping or adjacent ranges are joined.
+ * </p>
+ * <p>
+ * Creating a {@code RangeIntegerSet} takes {@code O(n log n)}, or {@code O(n)}
+ * if given ranges are already sorted by start and all have an interval of
+ * {@code 1}. Ranges with another interval contribute each of their positions
+ * individually. Membership is answered by binary search in {@code O(log n)}.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * RangeIntegerSet&lt;ZeroPositiveIntegerRange&gt; set = RangeIntegerSet.create(ranges,
+ *         new ZeroPositiveIntegerRangeFactory());
+ * for (ZeroPositiveIntegerRange r : set) {
+ *     System.out.println(r);
+ * }
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save, since immutable.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ * @param <R>
+ *            type of {@code RangeInteger} in this set
+ */
+public class RangeIntegerSet<R extends RangeInteger> implements Iterable<R> {
+
+    /**
+     * Create a new {@code RangeIntegerSet} from given ranges.
+     *
+     * @param ranges
+     *            ranges to join
+     * @param factory
+     *            factory that creates the ranges of the new set
+     * @return a new {@code RangeIntegerSet}
+     */
+    public static <R extends RangeInteger> RangeIntegerSet<R> create(final Collection<? extends RangeInteger> ranges,
+            final IntegerRangeFactory<R> factory) {
+        if (isSortedContiguous(ranges)) {
+            return createFromSorted(ranges, factory);
+        }
+        final CoverageSweep sweep = CoverageSweep.create(ranges);
+        final Builder builder = new Builder(ranges.size());
+        while (sweep.next()) {
+            builder.add((int) sweep.getStart(), (int) sweep.getStop());
+        }
+        return builder.build(factory);
+    }
+
+    private static <R extends RangeInteger> RangeIntegerSet<R> createFromSorted(
+            final Collection<? extends RangeInteger> ranges, final IntegerRangeFactory<R> factory) {
+        final ColumnsRangeInteger columns = UtilsRangeInteger.asColumns(ranges);
+        final Builder builder = new Builder(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            builder.add(columns.getStart(i), columns.getStop(i));
+        }
+        return builder.build(factory);
+    }
+
+    private static boolean isSortedContiguous(final Collection<? extends RangeInteger> ranges) {
+        final ColumnsRangeInteger columns = UtilsRangeInteger.asColumns(ranges);
+        int last = Integer.MIN_VALUE;
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.getStart(i) < last || columns.getInterval(i) != 1) {
+                return false;
+            }
+            last = columns.getStart(i);
+        }
+        return true;
+    }
+
+    /**
+     * Collects spans in ascending order of start, joining overlapping and
+     * adjacent ones.
+     */
+    static class Builder {
+
+        private int[] starts;
+
+        private int[] stops;
+
+        private int size = 0;
+
+        Builder(final int capacity) {
+            starts = new int[Math.max(capacity, 4)];
+            stops = new int[starts.length];
+        }
+
+        /**
+         * Add a span; {@code start} must not be less than the start of the
+         * previous span.
+         */
+        void add(final int start, final int stop) {
+            if (size > 0 && start <= (long) stops[size - 1] + 1) {
+                if (stop > stops[size - 1]) {
+                    stops[size - 1] = stop;
+                }
+                return;
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                stops = Arrays.copyOf(stops, size * 2);
+            }
+            starts[size] = start;
+            stops[size] = stop;
+            size++;
+        }
+
+        void addAll(final Builder other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.starts[i], other.stops[i]);
+            }
+        }
+
+        <R extends RangeInteger> RangeIntegerSet<R> build(final IntegerRangeFactory<R> factory) {
+            return new RangeIntegerSet<R>(Arrays.copyOf(starts, size), Arrays.copyOf(stops, size), factory);
+        }
+    }
+
+    /**
+     * Applies a set operation to one window of the coordinate space.
+     */
+    private static class Window extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SetOperation operation;
+
+        private final RangeIntegerSet<?> first;
+
+        private final RangeIntegerSet<?> second;
+
+        private final int lo;
+
+        private final int hi;
+
+        private Builder result;
+
+        private Window(final SetOperation operation, final RangeIntegerSet<?> first, final RangeIntegerSet<?> second,
+                final int lo, final int hi) {
+            this.operation = operation;
+            this.first = first;
+            this.second = second;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            result = first.sweep(operation, second, lo, hi, 16);
+        }
+
+    }
+
+    private final static int MIN_PARALLEL_SIZE = 1024;
+
+    private final int[] starts;
+
+    private final int[] stops;
+
+    private final List<R> ranges;
+
+    private final IntegerRangeFactory<R> factory;
+
+    RangeIntegerSet(final int[] starts, final int[] stops, final IntegerRangeFactory<R> factory) {
+        this.starts = starts;
+        this.stops = stops;
+        this.factory = factory;
+        final List<R> ranges = new ArrayList<R>(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            ranges.add(factory.create(starts[i], stops[i]));
+        }
+        this.ranges = Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * Apply given set operation to this and another set, in {@code O(n + m)}.
+     *
+     * @param operation
+     *            set operation to apply
+     * @param other
+     *            second operand
+     * @return a new {@code RangeIntegerSet}, whose ranges are created by this
+     *         set's factory
+     */
+    public RangeIntegerSet<R> apply(final SetOperation operation, final RangeIntegerSet<?> other) {
+        return sweep(operation, other, Integer.MIN_VALUE, Integer.MAX_VALUE, size() + other.size()).build(factory);
+    }
+
+    /**
+     * Apply given set operation to this and another set, using the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @see #applyParallel(SetOperation, RangeIntegerSet, ForkJoinPool)
+     */
+    public RangeIntegerSet<R> applyParallel(final SetOperation operation, final RangeIntegerSet<?> other) {
+        return applyParallel(operation, other, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Apply given set operation to this and another set in parallel.
+     * <p>
+     * The coordinate space is cut into windows at quantiles of both sets'
+     * start positions. Ranges are clipped to each window, windows are merged
+     * concurrently, and results are stitched back together, joining ranges
+     * that meet at a window border. Small operands are merged sequentially.
+     * </p>
+     *
+     * @param operation
+     *            set operation to apply
+     * @param other
+     *            second operand
+     * @param pool
+     *            pool that merges the windows
+     * @return a new {@code RangeIntegerSet}, equal to
+     *         {@link #apply(SetOperation, RangeIntegerSet) apply(operation,
+     *         other)}
+     */
+    public RangeIntegerSet<R> applyParallel(final SetOperation operation, final RangeIntegerSet<?> other,
+            final ForkJoinPool pool) {
+        final int parts = Math.min(pool.getParallelism() * 4, (size() + other.size()) / MIN_PARALLEL_SIZE);
+        if (parts < 2) {
+            return apply(operation, other);
+        }
+        final int[] cuts = new int[2 * parts];
+        int n = 0;
+        for (final RangeIntegerSet<?> set : Arrays.<RangeIntegerSet<?>> asList(this, other)) {
+            for (int k = 1; k < parts && set.size() >= parts; k++) {
+                cuts[n++] = set.starts[(int) ((long) k * set.size() / parts)];
+            }
+        }
+        Arrays.sort(cuts, 0, n);
+        final List<Window> windows = new ArrayList<Window>(n + 1);
+        int lo = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            final int cut = cuts[i];
+            if (cut > lo) {
+                windows.add(new Window(operation, this, other, lo, cut - 1));
+                lo = cut;
+            }
+        }
+        windows.add(new Window(operation, this, other, lo, Integer.MAX_VALUE));
+        for (final Window w : windows) {
+            pool.execute(w);
+        }
+        final Builder builder = new Builder(size() + other.size());
+        for (final Window w : windows) {
+            w.join();
+            builder.addAll(w.result);
+        }
+        return builder.build(factory);
+    }
+
+    /**
+     * Positions included by this set, but not by given set.
+     *
+     * @see SetOperation#DIFFERENCE
+     */
+    public RangeIntegerSet<R> difference(final RangeIntegerSet<?> other) {
+        return apply(SetOperation.DIFFERENCE, other);
+    }
+
+    /**
+     * @return the factory that created the ranges of this set
+     */
+    public IntegerRangeFactory<R> getFactory() {
+        return factory;
+    }
+
+    /**
+     * @return all ranges of this set, ordered by start
+     */
+    public List<R> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Retrieve the start position of the range at given index.
+     *
+     * @param index
+     *            index of the range
+     * @return start position of the range
+     */
+    public int getStart(final int index) {
+        return starts[index];
+    }
+
+    /**
+     * Retrieve the stop position of the range at given index.
+     *
+     * @param index
+     *            index of the range
+     * @return stop position of the range
+     */
+    public int getStop(final int index) {
+        return stops[index];
+    }
+
+    /**
+     * Check whether given position is included by this set.
+     *
+     * @param position
+     *            position that is checked
+     * @return true, if given position is included by one range of this set;
+     *         false otherwise
+     */
+    public boolean includes(final int position) {
+        return indexOf(position) >= 0;
+    }
+
+    /**
+     * Retrieve the index of the range that includes given position.
+     *
+     * @param position
+     *            position that is checked
+     * @return index of the range that includes given position, or
+     *         {@code (-(insertion point) - 1)}, with insertion point being the
+     *         index of the first range that starts after given position
+     */
+    public int indexOf(final int position) {
+        int i = Arrays.binarySearch(starts, position);
+        if (i >= 0) {
+            return i;
+        }
+        i = -i - 2;
+        if (i >= 0 && stops[i] >= position) {
+            return i;
+        }
+        return -(i + 1) - 1;
+    }
+
+    /**
+     * Positions included by both this and given set.
+     *
+     * @see SetOperation#INTERSECTION
+     */
+    public RangeIntegerSet<R> intersection(final RangeIntegerSet<?> other) {
+        return apply(SetOperation.INTERSECTION, other);
+    }
+
+    /**
+     * @return true, if this set contains no ranges
+     */
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    public Iterator<R> iterator() {
+        return ranges.iterator();
+    }
+
+    /**
+     * @return number of distinct positions in this set
+     */
+    public long numberOfPositions() {
+        long result = 0;
+        for (int i = 0; i < starts.length; i++) {
+            result += (long) stops[i] - starts[i] + 1;
+        }
+        return result;
+    }
+
+    /**
+     * @return number of ranges in this set
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    private Builder sweep(final SetOperation operation, final RangeIntegerSet<?> other, final int lo, final int hi,
+            final int capacity) {
+        final SetOperationSweep sweep = new SetOperationSweep(operation, new SetOperationSweep.ArrayBoundaries(
+                starts, stops, lo, hi), new SetOperationSweep.ArrayBoundaries(other.starts, other.stops, lo, hi));
+        final Builder builder = new Builder(capacity);
+        while (sweep.next()) {
+            builder.add(sweep.getStart(), sweep.getStop());
+        }
+        return builder;
+    }
+
+    /**
+     * Positions included by exactly one of this and given set.
+     *
+     * @see SetOperation#SYMMETRIC_DIFFERENCE
+     */
+    public RangeIntegerSet<R> symmetricDifference(final RangeIntegerSet<?> other) {
+        return apply(SetOperation.SYMMETRIC_DIFFERENCE, other);
+    }
+
+    @Override
+    public String toString() {
+        return ranges.toString();
+    }
+
+    /**
+     * Positions included by this or given set.
+     *
+     * @see SetOperation#UNION
+     */
+    public RangeIntegerSet<R> union(final RangeIntegerSet<?> other) {
+        return apply(SetOperation.UNION, other);
+    }
+
+}
@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.util.Iterator;
+
+import net.sf.jranges.range.RangeException;
+import net.sf.jranges.range.SetOperation;
+import net.sf.jranges.range.UtilRange;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+/**
+ * A boundary-merge cursor over the result of a {@link SetOperation} on two
+ * sequences of ranges, sorted by start.
+ * <p>
+ * Both operands are walked exactly once, so a sweep takes {@code O(n + m)}.
+ * Overlapping or adjacent ranges within one operand are joined on the fly.
+ * Reported runs are maximal, sorted and neither overlapping nor adjacent.
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+class SetOperationSweep {
+
+    /**
+     * Boundaries of one operand, alternating between entering and leaving a
+     * range. Leaving boundaries are exclusive, so {@code stop + 1} is computed
+     * as {@code long}.
+     */
+    static abstract class Boundaries {
+
+        private static final long NONE = Long.MAX_VALUE;
+
+        long rawStart;
+
+        long rawEnd;
+
+        private boolean lookahead = false;
+
+        private long start;
+
+        private long end;
+
+        private long peek = NONE;
+
+        private boolean inside = false;
+
+        private boolean initialised = false;
+
+        /**
+         * Read the next raw range into {@code rawStart} and {@code rawEnd}
+         * (exclusive).
+         *
+         * @return false, if there are no more ranges
+         */
+        abstract boolean fetch();
+
+        private boolean fetchJoined() {
+            if (!lookahead && !fetch()) {
+                return false;
+            }
+            lookahead = false;
+            start = rawStart;
+            end = rawEnd;
+            while (fetch()) {
+                if (rawStart < start) {
+                    throw new IllegalArgumentException("ranges not sorted by start, " + rawStart + " after " + start);
+                }
+                if (rawStart <= end) {
+                    end = Math.max(end, rawEnd);
+                } else {
+                    lookahead = true;
+                    break;
+                }
+            }
+            return true;
+        }
+
+        long peek() {
+            if (!initialised) {
+                initialised = true;
+                peek = fetchJoined() ? start : NONE;
+            }
+            return peek;
+        }
+
+        void pop() {
+            inside = !inside;
+            if (inside) {
+                peek = end;
+            } else {
+                peek = fetchJoined() ? start : NONE;
+            }
+        }
+
+    }
+
+    /**
+     * Boundaries of ranges given by an {@link Iterator}.
+     */
+    static class IteratorBoundaries extends Boundaries {
+
+        private final Iterator<? extends RangeInteger> iterator;
+
+        IteratorBoundaries(final Iterator<? extends RangeInteger> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        boolean fetch() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            final RangeInteger r = iterator.next();
+            if (r.getInterval() != 1) {
+                throw new RangeException("interval must be 1, was " + r.getInterval());
+            }
+            rawStart = r.getStart();
+            rawEnd = r.getStop() + 1L;
+            return true;
+        }
+
+    }
+
+    /**
+     * Boundaries of ranges given by sorted, normalised start and stop arrays,
+     * clipped to the window {@code [lo, hi]}.
+     */
+    static class ArrayBoundaries extends Boundaries {
+
+        private final int[] starts;
+
+        private final int[] stops;
+
+        private final int lo;
+
+        private final int hi;
+
+        private int index;
+
+        ArrayBoundaries(final int[] starts, final int[] stops, final int lo, final int hi) {
+            this.starts = starts;
+            this.stops = stops;
+            this.lo = lo;
+            this.hi = hi;
+            this.index = UtilRange.lowerBound(stops, lo);
+        }
+
+        @Override
+        boolean fetch() {
+            if (index >= starts.length || starts[index] > hi) {
+                return false;
+            }
+            rawStart = Math.max(starts[index], lo);
+            rawEnd = Math.min(stops[index], hi) + 1L;
+            index++;
+            return true;
+        }
+
+    }
+
+    private final SetOperation operation;
+
+    private final Boundaries first;
+
+    private final Boundaries second;
+
+    private int start;
+
+    private int stop;
+
+    SetOperationSweep(final SetOperation operation, final Boundaries first, final Boundaries second) {
+        this.operation = operation;
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * @return first position of the current run
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * @return last position of the current run, inclusively
+     */
+    int getStop() {
+        return stop;
+    }
+
+    /**
+     * Advance to the next run of positions that are part of the result.
+     *
+     * @return true, if there is another run; false otherwise
+     */
+    boolean next() {
+        boolean open = false;
+        long begin = 0;
+        while (true) {
+            final long position = Math.min(first.peek(), second.peek());
+            if (position == Boundaries.NONE) {
+                return false;
+            }
+            if (first.peek() == position) {
+                first.pop();
+            }
+            if (second.peek() == position) {
+                second.pop();
+            }
+            final boolean in = operation.apply(first.inside, second.inside);
+            if (in && !open) {
+                open = true;
+                begin = position;
+            } else if (!in && open) {
+                start = (int) begin;
+                stop = (int) (position - 1);
+                return true;
+            }
+        }
+    }
+
+}
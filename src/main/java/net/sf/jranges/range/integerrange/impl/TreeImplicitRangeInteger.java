@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import java.nio.IntBuffer;
+
+import net.sf.jranges.range.UtilRange.IntegerRangeTask;
+
+/**
+ * Implicit interval tree over ranges sorted by start position, as used by
+ * {@link IndexRangeIntegerFlat} and {@link IndexRangeIntegerMapped}.
+ * <p>
+ * The sorted columns are interpreted as a binary tree (as done by cgranges):
+ * the element at index {@code i} is a node at level {@code k}, where {@code k}
+ * is the number of trailing one-bits of {@code i}. {@code maxStops} holds, for
+ * every node, the greatest stop position of its subtree. Columns are accessed
+ * through {@link IntBuffer}s, so that they may be heap arrays or a mapped
+ * file.
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+class TreeImplicitRangeInteger {
+
+    /**
+     * Subtrees at this level or below are scanned linearly.
+     */
+    private final static int LEVEL_SCAN = 3;
+
+    /**
+     * Fill {@code maxStops} for the implicit tree over {@code n} sorted
+     * elements.
+     *
+     * @return the level of the root node, or {@code -1} if {@code n == 0}
+     */
+    static int augment(final int n, final int[] stops, final int[] maxStops) {
+        if (n == 0) {
+            return -1;
+        }
+        int lastIndex = 0;
+        int last = 0;
+        for (int i = 0; i < n; i += 2) {
+            lastIndex = i;
+            last = maxStops[i] = stops[i];
+        }
+        int k = 1;
+        for (; 1 << k <= n; k++) {
+            final int x = 1 << (k - 1);
+            final int step = x << 2;
+            for (int i = (x << 1) - 1; i < n; i += step) {
+                final int left = maxStops[i - x];
+                final int right = i + x < n ? maxStops[i + x] : last;
+                int max = stops[i];
+                if (left > max) {
+                    max = left;
+                }
+                if (right > max) {
+                    max = right;
+                }
+                maxStops[i] = max;
+            }
+            lastIndex = ((lastIndex >> k) & 1) != 0 ? lastIndex - x : lastIndex + x;
+            if (lastIndex < n && maxStops[lastIndex] > last) {
+                last = maxStops[lastIndex];
+            }
+        }
+        return k - 1;
+    }
+
+    private final int n;
+
+    private final int maxLevel;
+
+    private final IntBuffer starts;
+
+    private final IntBuffer stops;
+
+    private final IntBuffer maxStops;
+
+    /**
+     * Intervals, or {@code null} if all intervals are {@code 1}.
+     */
+    private final IntBuffer intervals;
+
+    TreeImplicitRangeInteger(final int n, final int maxLevel, final IntBuffer starts, final IntBuffer stops,
+            final IntBuffer maxStops, final IntBuffer intervals) {
+        this.n = n;
+        this.maxLevel = maxLevel;
+        this.starts = starts;
+        this.stops = stops;
+        this.maxStops = maxStops;
+        this.intervals = intervals;
+    }
+
+    /**
+     * Call given task with the index of every range that overlaps with
+     * {@code start->stop}, in order of start position.
+     *
+     * @param position
+     *            if {@code true}, {@code start == stop} and only ranges that
+     *            include that position, regarding their interval, are hits
+     * @param task
+     *            task that is called for every hit, or {@code null}
+     * @return number of hits
+     */
+    int query(final int start, final int stop, final boolean position, final IntegerRangeTask task) {
+        if (maxLevel < 0) {
+            return 0;
+        }
+        return query(maxLevel, (1 << maxLevel) - 1, start, stop, position && intervals != null, task);
+    }
+
+    private int query(final int k, final int x, final int start, final int stop, final boolean strided,
+            final IntegerRangeTask task) {
+        int result = 0;
+        if (k <= LEVEL_SCAN) {
+            final int i0 = x >> k << k;
+            int i1 = i0 + (1 << (k + 1)) - 1;
+            if (i1 > n) {
+                i1 = n;
+            }
+            for (int i = i0; i < i1 && starts.get(i) <= stop; i++) {
+                if (hit(i, start, strided)) {
+                    result++;
+                    if (task != null) {
+                        task.call(i);
+                    }
+                }
+            }
+            return result;
+        }
+        final int half = 1 << (k - 1);
+        final int y = x - half;
+        if (y >= n || maxStops.get(y) >= start) {
+            result += query(k - 1, y, start, stop, strided, task);
+        }
+        if (x < n && starts.get(x) <= stop) {
+            if (hit(x, start, strided)) {
+                result++;
+                if (task != null) {
+                    task.call(x);
+                }
+            }
+            result += query(k - 1, x + half, start, stop, strided, task);
+        }
+        return result;
+    }
+
+    private boolean hit(final int i, final int start, final boolean strided) {
+        return stops.get(i) >= start && (!strided || (start - starts.get(i)) % intervals.get(i) == 0);
+    }
+
+}
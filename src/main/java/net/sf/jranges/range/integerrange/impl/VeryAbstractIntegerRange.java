@@ -15,8 +15,9 @@
  ******************************************************************************/
 package net.sf.jranges.range.integerrange.impl;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import net.sf.jranges.range.integerrange.RangeInteger;
 
@@ -44,12 +45,7 @@ public abstract class VeryAbstractIntegerRange implements RangeInteger {
     protected int stop;
 
     public List<Integer> asList() {
-        // TODO init size
-        final List<Integer> result = new ArrayList<Integer>();
-        for (int i = getStart(); i <= getStop(); i++) {
-            result.add(i);
-        }
-        return result;
+        return new ListRangeInteger(this);
     }
 
     /**
@@ -123,6 +119,13 @@ public abstract class VeryAbstractIntegerRange implements RangeInteger {
         return false;
     }
 
+    @Override
+    public IntStream stream() {
+        if (getInterval() == 1)
+            return IntStream.rangeClosed(getStart(), getStop());
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
     @Override
     public String toString() {
         return getStart() + "->" + getStop();
@@ -40,6 +40,32 @@ import net.sf.jranges.range.RangeException;
  */
 public class ZeroPositiveIntegerRange extends RangeIntegerAbstract {
 
+	/**
+	 * 
+	 * Create a new {@code ZeroPositiveIntegerRange}, or return {@code null} if
+	 * given values are invalid. Other than the constructor, this never
+	 * throws.
+	 * 
+	 * @return a new {@code ZeroPositiveIntegerRange}, or {@code null}
+	 */
+	public static ZeroPositiveIntegerRange tryCreate(int start, int stop) {
+		if (!isValid(start, stop, 0, Integer.MAX_VALUE))
+			return null;
+		return new ZeroPositiveIntegerRange(start, stop);
+	}
+
+	/**
+	 * 
+	 * Same as {@link #tryCreate(int, int)}, with given interval.
+	 * 
+	 * @return a new {@code ZeroPositiveIntegerRange}, or {@code null}
+	 */
+	public static ZeroPositiveIntegerRange tryCreate(int start, int stop, int interval) {
+		if (!isValid(start, stop, 0, Integer.MAX_VALUE, interval))
+			return null;
+		return new ZeroPositiveIntegerRange(start, stop, interval);
+	}
+
 	public ZeroPositiveIntegerRange(int start, int stop) throws RangeException {
 		super(start, stop, 0, Integer.MAX_VALUE);
 	}
@@ -15,21 +15,135 @@
  ******************************************************************************/
 package net.sf.jranges.range.integerrange.impl;
 
-import net.sf.jranges.range.integerrange.RangeInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import net.sf.jranges.range.integerrange.IntegerRangeFactory;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
 
+/**
+ * 
+ * {@link IntegerRangeFactory} for {@link ZeroPositiveIntegerRange}s.
+ * 
+ * <p>
+ * Optionally, created ranges are interned: a bounded, direct-mapped cache
+ * keyed on start, stop and interval returns an existing, equal instance
+ * instead of a new one. Each slot holds one range and is overwritten on
+ * collision, so memory is bounded by the cache size. Lookups and updates are
+ * lock-free.
+ * </p>
+ * 
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ * 
+ * <pre>
+ * Thread save.
+ * </pre>
+ * 
+ * </p>
+ * 
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ * 
+ */
 public class ZeroPositiveIntegerRangeFactory implements IntegerRangeFactory<ZeroPositiveIntegerRange> {
 
+	private static int hash(int start, int stop, int interval) {
+		int h = (start * 0x9E3779B9 + stop) * 0x9E3779B9 + interval;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * {@code null}, if interning is disabled.
+	 */
+	private final AtomicReferenceArray<ZeroPositiveIntegerRange> cache;
+
+	/**
+	 * 
+	 * Construct a new {@code ZeroPositiveIntegerRangeFactory}, that does not
+	 * intern.
+	 * 
+	 */
+	public ZeroPositiveIntegerRangeFactory() {
+		this(0);
+	}
+
+	/**
+	 * 
+	 * Construct a new {@code ZeroPositiveIntegerRangeFactory}, that interns
+	 * created ranges.
+	 * 
+	 * @param cacheSize
+	 *            maximum number of interned ranges, rounded up to a power of
+	 *            two; {@code 0} disables interning
+	 */
+	public ZeroPositiveIntegerRangeFactory(int cacheSize) {
+		if (cacheSize < 0 || cacheSize > 1 << 30)
+			throw new IllegalArgumentException("invalid cache size " + cacheSize);
+		int capacity = 1;
+		while (capacity < cacheSize)
+			capacity <<= 1;
+		this.cache = cacheSize == 0 ? null : new AtomicReferenceArray<ZeroPositiveIntegerRange>(capacity);
+	}
+
 	public ZeroPositiveIntegerRange create() {
-		return new ZeroPositiveIntegerRange(0, 0);
+		return create(0, 0);
 	}
 
 	public ZeroPositiveIntegerRange create(int start, int stop) {
-		return new ZeroPositiveIntegerRange(start, stop);
+		return create(start, stop, 1);
+	}
+
+	@Override
+	public ZeroPositiveIntegerRange create(int start, int stop, int interval) {
+		if (cache == null)
+			return new ZeroPositiveIntegerRange(start, stop, interval);
+		final int slot = hash(start, stop, interval) & (cache.length() - 1);
+		final ZeroPositiveIntegerRange cached = cache.get(slot);
+		if (cached != null && cached.getStart() == start && cached.getStop() == stop
+				&& cached.getInterval() == interval)
+			return cached;
+		final ZeroPositiveIntegerRange result = new ZeroPositiveIntegerRange(start, stop, interval);
+		cache.lazySet(slot, result);
+		return result;
+	}
+
+	/**
+	 * 
+	 * Validates by {@link UtilsRangeInteger#validate(int[], int[], int[], int, int)}
+	 * and never throws for invalid rows.
+	 * 
+	 */
+	@Override
+	public List<ZeroPositiveIntegerRange> createAll(int[] starts, int[] stops, int[] intervals, BitSet invalid) {
+		final BitSet bad = UtilsRangeInteger.validate(starts, stops, intervals, 0, Integer.MAX_VALUE);
+		final List<ZeroPositiveIntegerRange> result = new ArrayList<ZeroPositiveIntegerRange>(starts.length
+				- bad.cardinality());
+		for (int i = 0; i < starts.length; i++) {
+			if (!bad.get(i))
+				result.add(create(starts[i], stops[i], intervals == null ? 1 : intervals[i]));
+		}
+		if (invalid != null)
+			invalid.or(bad);
+		return result;
 	}
 
 	public ZeroPositiveIntegerRange create(RangeInteger template) {
 		return create(template.getStart(), template.getStop());
 	}
 
+	/**
+	 * 
+	 * @return maximum number of interned ranges, {@code 0} if interning is
+	 *         disabled
+	 */
+	public int getCacheSize() {
+		return cache == null ? 0 : cache.length();
+	}
+
 }
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Random access to a file written by {@link WriterRangeBinary}.
+ * <p>
+ * On construction, only trailer and block index are read. Single blocks can
+ * then be decoded, or streamed starting at any block, without touching the
+ * blocks before.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * FileRangeBinary file = new FileRangeBinary(new File(&quot;ranges.bin&quot;));
+ * try {
+ *     // ranges written sorted by start
+ *     ReaderRangeBinary reader = file.getReader(file.findBlock(position));
+ *     while (reader.next() &amp;&amp; reader.getStart() &lt;= position) {
+ *         if (reader.getStop() &gt;= position) {
+ *             // ...
+ *         }
+ *     }
+ * } finally {
+ *     file.close();
+ * }
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Thread save; readers and block reads use positional reads on the shared channel.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class FileRangeBinary implements Closeable {
+
+    private class ChannelInputStream extends InputStream {
+
+        private long position;
+
+        private final long limit;
+
+        private final byte[] single = new byte[1];
+
+        ChannelInputStream(final long position, final long limit) {
+            this.position = position;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (position >= limit) {
+                return -1;
+            }
+            final int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, limit - position)), position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+    }
+
+    private final RandomAccessFile file;
+
+    private final FileChannel channel;
+
+    private final long[] offsets;
+
+    private final long[] minStarts;
+
+    private final long[] maxStops;
+
+    /**
+     * Greatest stop of all ranges in a block and the blocks before.
+     */
+    private final long[] prefixMaxStops;
+
+    private final int[] counts;
+
+    private final long indexOffset;
+
+    private final long size;
+
+    /**
+     * Open given file.
+     *
+     * @param file
+     *            file to read from
+     * @throws IOException
+     *             if the file cannot be read or is invalid
+     */
+    public FileRangeBinary(final File file) throws IOException {
+        this.file = new RandomAccessFile(file, "r");
+        this.channel = this.file.getChannel();
+        try {
+            final long length = channel.size();
+            if (length < WriterRangeBinary.HEADER_SIZE + 1 + WriterRangeBinary.TRAILER_SIZE) {
+                throw new IOException("invalid format");
+            }
+            final ByteBuffer trailer = read(length - WriterRangeBinary.TRAILER_SIZE, WriterRangeBinary.TRAILER_SIZE);
+            indexOffset = trailer.getLong();
+            final int blocks = trailer.getInt();
+            if (trailer.getInt() != WriterRangeBinary.MAGIC || blocks < 0
+                    || indexOffset + (long) blocks * WriterRangeBinary.INDEX_ENTRY_SIZE != length
+                            - WriterRangeBinary.TRAILER_SIZE) {
+                throw new IOException("invalid format");
+            }
+            offsets = new long[blocks];
+            minStarts = new long[blocks];
+            maxStops = new long[blocks];
+            prefixMaxStops = new long[blocks];
+            counts = new int[blocks];
+            final ByteBuffer index = read(indexOffset, blocks * WriterRangeBinary.INDEX_ENTRY_SIZE);
+            long n = 0;
+            for (int i = 0; i < blocks; i++) {
+                offsets[i] = index.getLong();
+                minStarts[i] = index.getLong();
+                maxStops[i] = index.getLong();
+                prefixMaxStops[i] = i == 0 ? maxStops[i] : Math.max(prefixMaxStops[i - 1], maxStops[i]);
+                counts[i] = index.getInt();
+                n += counts[i];
+            }
+            size = n;
+        } catch (final IOException e) {
+            this.file.close();
+            throw e;
+        }
+    }
+
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Find the first block that holds a range stopping at or after given
+     * position. No range in a block before includes given position, whether
+     * ranges were written sorted or not. If they were written sorted by start,
+     * all ranges including given position are found by reading on from this
+     * block, until a range starts after given position.
+     *
+     * @param position
+     *            position to search for
+     * @return index of the block, or {@link #getBlockCount()} if no range
+     *         stops at or after given position
+     */
+    public int findBlock(final long position) {
+        int lo = 0;
+        int hi = prefixMaxStops.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (prefixMaxStops[mid] < position) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return number of blocks
+     */
+    public int getBlockCount() {
+        return offsets.length;
+    }
+
+    /**
+     * @return number of ranges in given block
+     */
+    public int getBlockSize(final int block) {
+        return counts[block];
+    }
+
+    /**
+     * @return smallest start of all ranges in given block
+     */
+    public long getMinStart(final int block) {
+        return minStarts[block];
+    }
+
+    /**
+     * @return greatest stop of all ranges in given block
+     */
+    public long getMaxStop(final int block) {
+        return maxStops[block];
+    }
+
+    /**
+     * Create a new reader, positioned before the first range of given block.
+     *
+     * @param block
+     *            index of the block to start from
+     * @return a new {@code ReaderRangeBinary}
+     * @throws IOException
+     *             if reading fails
+     */
+    public ReaderRangeBinary getReader(final int block) throws IOException {
+        final long offset = block == offsets.length ? indexOffset - 1 : offsets[block];
+        return new ReaderRangeBinary(new ChannelInputStream(offset, indexOffset), false);
+    }
+
+    /**
+     * @return total number of ranges
+     */
+    public long getSize() {
+        return size;
+    }
+
+    private ByteBuffer read(long position, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Decode given block into given arrays.
+     *
+     * @param block
+     *            index of the block
+     * @param starts
+     *            array to store starts to, at least {@link #getBlockSize(int)}
+     *            long
+     * @param stops
+     *            array to store stops to
+     * @param intervals
+     *            array to store intervals to
+     * @return number of decoded ranges
+     * @throws IOException
+     *             if reading fails, or the block is corrupt
+     */
+    public int readBlock(final int block, final long[] starts, final long[] stops, final long[] intervals)
+            throws IOException {
+        final long end = block + 1 < offsets.length ? offsets[block + 1] : indexOffset - 1;
+        final byte[] bytes = read(offsets[block], (int) (end - offsets[block])).array();
+        final int[] p = { 0 };
+        final long count = ReaderRangeBinary.readVarint(bytes, p, bytes.length);
+        if (count != counts[block] || p[0] >= bytes.length) {
+            throw new IOException("invalid block " + block);
+        }
+        final boolean strided = (bytes[p[0]++] & WriterRangeBinary.FLAG_INTERVALS) != 0;
+        final long length = ReaderRangeBinary.readVarint(bytes, p, bytes.length);
+        if (length != bytes.length - p[0]) {
+            throw new IOException("invalid block length " + length);
+        }
+        ReaderRangeBinary.decode(bytes, p[0], bytes.length, counts[block], strided, starts, stops, intervals);
+        return counts[block];
+    }
+
+}
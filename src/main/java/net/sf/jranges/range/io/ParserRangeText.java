@@ -0,0 +1,535 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.jranges.range.doublerange.FactoryRangeDouble;
+import net.sf.jranges.range.doublerange.RangeDouble;
+import net.sf.jranges.range.integerrange.IntegerRangeFactory;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerArray;
+
+/**
+ * A streaming cursor over ranges in a text file, one range per line.
+ * <p>
+ * Numbers are decoded directly from the bytes of a {@link ByteBuffer}; no
+ * {@code String} is created per line. Blank lines and lines starting with
+ * {@code #} are skipped. Malformed lines cause a {@link NumberFormatException}
+ * that reports the offset of the line.
+ * </p>
+ * <p>
+ * Large files are split at line boundaries by {@link #map(File, int)} or
+ * {@link #split(ByteBuffer, int)}, so that every part can be parsed by its own
+ * {@code ParserRangeText} in parallel.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * for (ByteBuffer part : ParserRangeText.map(file, threads)) {
+ *     // for each part, in parallel
+ *     RangeIntegerArray ranges = new RangeIntegerArray();
+ *     new ParserRangeText(part, ParserRangeText.Format.BED).parseAll(ranges);
+ * }
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class ParserRangeText {
+
+    /**
+     * Supported line formats.
+     */
+    public static enum Format {
+
+        /**
+         * {@code start->stop}, as written by {@code toString()} of integer and
+         * double ranges. Stop is inclusive.
+         */
+        ARROW,
+
+        /**
+         * Tab- or space-separated {@code chrom start end [...]}, as used by the
+         * BED format. Start is zero-based and end is exclusive, so
+         * {@link ParserRangeText#getStop()} returns {@code end - 1}. Lines
+         * starting with {@code track} or {@code browser} are skipped.
+         */
+        BED
+    }
+
+    private final static double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /**
+     * Maximum size of a single mapped part.
+     */
+    private final static long MAX_PART = 1 << 30;
+
+    private static long alignToLine(final FileChannel channel, long position, final long size) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < size) {
+            buffer.clear();
+            final int n = channel.read(buffer, position);
+            if (n < 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += n;
+        }
+        return size;
+    }
+
+    /**
+     * Map given file read-only, split into parts that end at line boundaries.
+     * <p>
+     * Parts are cut at roughly equal sizes and extended to the end of the
+     * line, so fewer parts than requested may result. Files larger than a
+     * single mapping may hold are split into more parts than requested.
+     * </p>
+     *
+     * @param file
+     *            file to map
+     * @param parts
+     *            number of parts to create
+     * @return mapped parts, in order
+     * @throws IOException
+     *             if mapping fails
+     */
+    public static ByteBuffer[] map(final File file, final int parts) throws IOException {
+        if (parts < 1) {
+            throw new IllegalArgumentException("number of parts must be positive, was " + parts);
+        }
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            final long size = channel.size();
+            final long target = Math.max(1, Math.min(MAX_PART, (size + parts - 1) / parts));
+            final List<ByteBuffer> result = new ArrayList<ByteBuffer>();
+            long from = 0;
+            while (from < size) {
+                final long to = alignToLine(channel, Math.min(size, from + target) - 1, size);
+                if (to - from > Integer.MAX_VALUE) {
+                    throw new IOException("line too long at offset " + from);
+                }
+                result.add(channel.map(FileChannel.MapMode.READ_ONLY, from, to - from));
+                from = to;
+            }
+            return result.toArray(new ByteBuffer[result.size()]);
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Split the remaining bytes of given buffer into parts that end at line
+     * boundaries. The parts share content with given buffer.
+     *
+     * @param buffer
+     *            buffer to split
+     * @param parts
+     *            number of parts to create, at most
+     * @return parts, in order
+     */
+    public static ByteBuffer[] split(final ByteBuffer buffer, final int parts) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("number of parts must be positive, was " + parts);
+        }
+        final int limit = buffer.limit();
+        final int target = Math.max(1, (int) (((long) buffer.remaining() + parts - 1) / parts));
+        final List<ByteBuffer> result = new ArrayList<ByteBuffer>(parts);
+        int from = buffer.position();
+        while (from < limit) {
+            int to = (int) Math.min(limit, (long) from + target) - 1;
+            while (to < limit && buffer.get(to) != '\n') {
+                to++;
+            }
+            to = Math.min(limit, to + 1);
+            final ByteBuffer part = buffer.duplicate();
+            part.limit(to);
+            part.position(from);
+            result.add(part.slice());
+            from = to;
+        }
+        return result.toArray(new ByteBuffer[result.size()]);
+    }
+
+    private final ByteBuffer buffer;
+
+    private final Format format;
+
+    private int position;
+
+    private int line;
+
+    private int chromStart;
+
+    private int chromStop;
+
+    private int startFrom;
+
+    private int startTo;
+
+    private int stopFrom;
+
+    private int stopTo;
+
+    /**
+     * Construct a new {@code ParserRangeText} over the remaining bytes of given
+     * buffer. The position of given buffer is not modified.
+     *
+     * @param buffer
+     *            buffer to parse
+     * @param format
+     *            format of the lines
+     */
+    public ParserRangeText(final ByteBuffer buffer, final Format format) {
+        this.buffer = buffer;
+        this.format = format;
+        this.position = buffer.position();
+    }
+
+    private NumberFormatException error() {
+        return new NumberFormatException("malformed line at offset " + line);
+    }
+
+    /**
+     * @return chromosome of the current line, if format is {@link Format#BED};
+     *         {@code null} otherwise
+     */
+    public String getChromosome() {
+        if (format != Format.BED) {
+            return null;
+        }
+        final byte[] bytes = new byte[chromStop - chromStart];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(chromStart + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return start of the current range
+     * @throws NumberFormatException
+     *             if start is not an integer
+     */
+    public long getStart() {
+        return parseLong(startFrom, startTo);
+    }
+
+    /**
+     * @return start of the current range
+     * @throws NumberFormatException
+     *             if start is not a number
+     */
+    public double getStartDouble() {
+        return parseDouble(startFrom, startTo);
+    }
+
+    /**
+     * @return stop of the current range, inclusively
+     * @throws NumberFormatException
+     *             if stop is not an integer
+     */
+    public long getStop() {
+        final long stop = parseLong(stopFrom, stopTo);
+        return format == Format.BED ? stop - 1 : stop;
+    }
+
+    /**
+     * @return stop of the current range, inclusively
+     * @throws NumberFormatException
+     *             if stop is not a number
+     */
+    public double getStopDouble() {
+        final double stop = parseDouble(stopFrom, stopTo);
+        return format == Format.BED ? stop - 1 : stop;
+    }
+
+    /**
+     * Advance to the next range.
+     *
+     * @return true, if there is another range; false otherwise
+     * @throws NumberFormatException
+     *             if the next line is malformed
+     */
+    public boolean next() {
+        final int limit = buffer.limit();
+        while (position < limit) {
+            line = position;
+            int end = position;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            position = end + 1;
+            if (end > line && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            int p = skipBlanks(line, end);
+            if (p == end || buffer.get(p) == '#') {
+                continue;
+            }
+            if (format == Format.BED) {
+                if (startsWith(p, end, "track") || startsWith(p, end, "browser")) {
+                    continue;
+                }
+                chromStart = p;
+                p = chromStop = skipToken(p, end);
+                startFrom = p = skipBlanks(p, end);
+                startTo = p = skipToken(p, end);
+                stopFrom = p = skipBlanks(p, end);
+                stopTo = skipToken(p, end);
+                if (startFrom == startTo || stopFrom == stopTo) {
+                    throw error();
+                }
+            } else {
+                startFrom = p;
+                startTo = p = scanNumber(p, end);
+                p = skipBlanks(p, end);
+                if (p + 1 >= end || buffer.get(p) != '-' || buffer.get(p + 1) != '>') {
+                    throw error();
+                }
+                stopFrom = p = skipBlanks(p + 2, end);
+                stopTo = p = scanNumber(p, end);
+                if (skipBlanks(p, end) != end) {
+                    throw error();
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Add all remaining ranges to given array.
+     *
+     * @param target
+     *            array to append to
+     * @return number of added ranges
+     * @throws ArithmeticException
+     *             if a position does not fit into {@code int}
+     */
+    public int parseAll(final RangeIntegerArray target) {
+        int result = 0;
+        while (next()) {
+            target.append(toInt(getStart()), toInt(getStop()));
+            result++;
+        }
+        return result;
+    }
+
+    /**
+     * Create a range for every remaining line.
+     *
+     * @param factory
+     *            factory to create ranges
+     * @return created ranges
+     * @throws ArithmeticException
+     *             if a position does not fit into {@code int}
+     */
+    public <T extends RangeInteger> List<T> parseAll(final IntegerRangeFactory<T> factory) {
+        final List<T> result = new ArrayList<T>();
+        while (next()) {
+            result.add(factory.create(toInt(getStart()), toInt(getStop())));
+        }
+        return result;
+    }
+
+    /**
+     * Create a double range for every remaining line.
+     *
+     * @param factory
+     *            factory to create ranges
+     * @return created ranges
+     */
+    public <R extends RangeDouble> List<R> parseAll(final FactoryRangeDouble<R> factory) {
+        final List<R> result = new ArrayList<R>();
+        while (next()) {
+            result.add(factory.create(getStartDouble(), getStopDouble()));
+        }
+        return result;
+    }
+
+    private double parseDouble(final int from, final int to) {
+        int p = from;
+        boolean negative = false;
+        if (p < to && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+            negative = buffer.get(p++) == '-';
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean any = false;
+        boolean fraction = false;
+        for (; p < to; p++) {
+            final int b = buffer.get(p);
+            if (b == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (b < '0' || b > '9') {
+                break;
+            }
+            any = true;
+            if (digits < 18) {
+                if (mantissa != 0 || b != '0') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                }
+                if (fraction) {
+                    scale--;
+                }
+            } else {
+                digits++;
+                if (!fraction) {
+                    scale++;
+                }
+            }
+        }
+        if (!any) {
+            throw error();
+        }
+        if (p < to) {
+            if (buffer.get(p) != 'e' && buffer.get(p) != 'E') {
+                throw error();
+            }
+            final long exponent = parseLong(p + 1, to);
+            if (exponent > 1000 || exponent < -1000) {
+                return parseDoubleSlow(from, to);
+            }
+            scale += exponent;
+        }
+        if (digits > 15 || scale > 22 || scale < -22) {
+            return parseDoubleSlow(from, to);
+        }
+        // exact: mantissa and power of ten are both representable
+        final double value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale] : mantissa * POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private double parseDoubleSlow(final int from, final int to) {
+        final byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(from + i);
+        }
+        return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    private long parseLong(final int from, final int to) {
+        int p = from;
+        boolean negative = false;
+        if (p < to && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+            negative = buffer.get(p++) == '-';
+        }
+        if (p == to) {
+            throw error();
+        }
+        // accumulate negatively, to cover Long.MIN_VALUE
+        long result = 0;
+        for (; p < to; p++) {
+            final int d = buffer.get(p) - '0';
+            if (d < 0 || d > 9 || result < (Long.MIN_VALUE + d) / 10) {
+                throw error();
+            }
+            result = result * 10 - d;
+        }
+        if (!negative) {
+            if (result == Long.MIN_VALUE) {
+                throw error();
+            }
+            return -result;
+        }
+        return result;
+    }
+
+    private int scanNumber(int p, final int end) {
+        if (p < end && (buffer.get(p) == '-' || buffer.get(p) == '+')) {
+            p++;
+        }
+        for (; p < end; p++) {
+            final int b = buffer.get(p);
+            if (b == 'e' || b == 'E') {
+                if (p + 1 < end && (buffer.get(p + 1) == '-' || buffer.get(p + 1) == '+')) {
+                    p++;
+                }
+            } else if ((b < '0' || b > '9') && b != '.') {
+                break;
+            }
+        }
+        return p;
+    }
+
+    private int skipBlanks(int p, final int end) {
+        while (p < end && (buffer.get(p) == ' ' || buffer.get(p) == '\t')) {
+            p++;
+        }
+        return p;
+    }
+
+    private int skipToken(int p, final int end) {
+        while (p < end && buffer.get(p) != ' ' && buffer.get(p) != '\t') {
+            p++;
+        }
+        return p;
+    }
+
+    private boolean startsWith(final int p, final int end, final String prefix) {
+        if (end - p < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer.get(p + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int toInt(final long value) {
+        if ((int) value != value) {
+            throw new ArithmeticException("integer overflow " + value);
+        }
+        return (int) value;
+    }
+
+}
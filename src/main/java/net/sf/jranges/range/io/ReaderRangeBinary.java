@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.io;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import net.sf.jranges.range.integerrange.impl.RangeIntegerArray;
+
+/**
+ * A streaming cursor over ranges written by {@link WriterRangeBinary}.
+ * <p>
+ * Blocks are decoded one at a time into reused primitive arrays; no object is
+ * allocated per range.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * ReaderRangeBinary reader = new ReaderRangeBinary(new FileInputStream(file));
+ * try {
+ *     while (reader.next()) {
+ *         System.out.println(reader.getStart() + &quot;-&gt;&quot; + reader.getStop());
+ *     }
+ * } finally {
+ *     reader.close();
+ * }
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class ReaderRangeBinary implements Closeable {
+
+    private final InputStream in;
+
+    private byte[] payload = new byte[256];
+
+    private long[] starts = new long[16];
+
+    private long[] stops = new long[16];
+
+    private long[] intervals = new long[16];
+
+    private int n = 0;
+
+    private int i = 0;
+
+    private boolean exhausted = false;
+
+    /**
+     * Construct a new {@code ReaderRangeBinary}.
+     *
+     * @param in
+     *            stream to read from, positioned at the beginning of the
+     *            format
+     * @throws IOException
+     *             if the header cannot be read or is invalid
+     */
+    public ReaderRangeBinary(final InputStream in) throws IOException {
+        this(in, true);
+    }
+
+    ReaderRangeBinary(final InputStream in, final boolean header) throws IOException {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+        if (header) {
+            final byte[] bytes = new byte[WriterRangeBinary.HEADER_SIZE];
+            readFully(bytes, bytes.length);
+            final int magic = (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8
+                    | bytes[3] & 0xFF;
+            if (magic != WriterRangeBinary.MAGIC) {
+                throw new IOException("invalid format");
+            }
+            if (bytes[4] != WriterRangeBinary.VERSION) {
+                throw new IOException("unsupported version " + bytes[4]);
+            }
+        }
+    }
+
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * @return interval of the current range
+     */
+    public long getInterval() {
+        return intervals[i - 1];
+    }
+
+    /**
+     * @return start of the current range
+     */
+    public long getStart() {
+        return starts[i - 1];
+    }
+
+    /**
+     * @return stop of the current range
+     */
+    public long getStop() {
+        return stops[i - 1];
+    }
+
+    /**
+     * Advance to the next range.
+     *
+     * @return true, if there is another range; false otherwise
+     * @throws IOException
+     *             if reading fails
+     */
+    public boolean next() throws IOException {
+        if (i < n) {
+            i++;
+            return true;
+        }
+        if (exhausted || !readBlock()) {
+            exhausted = true;
+            return false;
+        }
+        i = 1;
+        return true;
+    }
+
+    private int read() throws IOException {
+        final int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+
+    private boolean readBlock() throws IOException {
+        final long count = readVarint();
+        if (count == 0) {
+            return false;
+        }
+        if (count > Integer.MAX_VALUE) {
+            throw new IOException("invalid block size " + count);
+        }
+        final boolean strided = (read() & WriterRangeBinary.FLAG_INTERVALS) != 0;
+        final long length = readVarint();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("invalid block length " + length);
+        }
+        if (payload.length < length) {
+            payload = new byte[(int) Math.max(length, payload.length * 2L)];
+        }
+        readFully(payload, (int) length);
+        n = (int) count;
+        if (starts.length < n) {
+            starts = new long[n];
+            stops = new long[n];
+            intervals = new long[n];
+        }
+        decode(payload, 0, (int) length, n, strided, starts, stops, intervals);
+        return true;
+    }
+
+    /**
+     * Decode {@code n} ranges from given payload, which must end exactly at
+     * {@code limit}.
+     *
+     * @throws IOException
+     *             if the payload is truncated or longer than its ranges
+     */
+    static void decode(final byte[] payload, final int offset, final int limit, final int n, final boolean strided,
+            final long[] starts, final long[] stops, final long[] intervals) throws IOException {
+        final int[] p = { offset };
+        long previous = 0;
+        for (int k = 0; k < n; k++) {
+            final long value = readVarint(payload, p, limit);
+            previous += (value >>> 1) ^ -(value & 1);
+            starts[k] = previous;
+            stops[k] = previous + readVarint(payload, p, limit);
+            intervals[k] = strided ? readVarint(payload, p, limit) + 1 : 1;
+        }
+        if (p[0] != limit) {
+            throw new IOException("invalid block length " + (limit - offset));
+        }
+    }
+
+    private void readFully(final byte[] bytes, final int length) throws IOException {
+        int off = 0;
+        while (off < length) {
+            final int read = in.read(bytes, off, length - off);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            off += read;
+        }
+    }
+
+    /**
+     * Read a varint from given bytes, starting at {@code p[0]}, and advance
+     * {@code p[0]} behind it.
+     *
+     * @param bytes
+     *            bytes to read from
+     * @param p
+     *            offset to read at; updated on return
+     * @param limit
+     *            offset behind the last byte, that may be read
+     * @return the value
+     * @throws IOException
+     *             if the varint reaches beyond {@code limit} or is longer than
+     *             10 bytes
+     */
+    static long readVarint(final byte[] bytes, final int[] p, final int limit) throws IOException {
+        long value = 0;
+        int q = p[0];
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (q >= limit) {
+                throw new IOException("truncated block");
+            }
+            final byte b = bytes[q++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                p[0] = q;
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = read();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+
+    /**
+     * Read all remaining ranges into a new {@link RangeIntegerArray}.
+     *
+     * @return a new {@code RangeIntegerArray}
+     * @throws IOException
+     *             if reading fails
+     * @throws ArithmeticException
+     *             if a range does not fit into {@code int}
+     */
+    public RangeIntegerArray toRangeIntegerArray() throws IOException {
+        final RangeIntegerArray result = new RangeIntegerArray();
+        while (next()) {
+            result.append(toInt(getStart()), toInt(getStop()), toInt(getInterval()));
+        }
+        return result;
+    }
+
+    private static int toInt(final long value) {
+        if ((int) value != value) {
+            throw new ArithmeticException("integer overflow " + value);
+        }
+        return (int) value;
+    }
+
+}
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.jranges.range.RangeException;
+import net.sf.jranges.range.integerrange.ColumnsRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+import net.sf.jranges.range.longrange.RangeLong;
+
+/**
+ * Writes ranges in a compact binary format, block by block.
+ * <p>
+ * <b>Format:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * header  := MAGIC (4 bytes) VERSION (1 byte)
+ * block   := count (varint &gt; 0) flags (1 byte) length (varint) payload (length bytes)
+ * payload := for each range: zigzag(start - previous start) (varint)
+ *                            stop - start (varint)
+ *                            [interval - 1 (varint), if flags has FLAG_INTERVALS]
+ * end     := 0 (varint)
+ * index   := for each block: offset (8 bytes) smallest start (8 bytes) greatest stop (8 bytes) count (4 bytes)
+ * trailer := index offset (8 bytes) number of blocks (4 bytes) MAGIC (4 bytes)
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * Starts are delta-encoded within a block, relative to the previous range (the
+ * first one relative to {@code 0}). Ranges sorted by start therefore encode in
+ * one to two bytes per value for typical densities, but any order is
+ * supported. The trailing block index allows {@link FileRangeBinary} to seek to
+ * a block without decoding the ones before; reading all ranges that include a
+ * position from {@link FileRangeBinary#findBlock(long)} on requires ranges to
+ * be written sorted by start.
+ * </p>
+ * <p>
+ * Ranges are encoded into a reused buffer; no object is allocated per range.
+ * </p>
+ * <p>
+ * <b>Example:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * WriterRangeBinary writer = new WriterRangeBinary(new FileOutputStream(file));
+ * try {
+ *     writer.writeAll(ranges);
+ * } finally {
+ *     writer.close();
+ * }
+ * </pre>
+ *
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class WriterRangeBinary implements Closeable {
+
+    static final int MAGIC = 0x4A524E42;
+
+    static final int VERSION = 1;
+
+    static final int FLAG_INTERVALS = 1;
+
+    static final int HEADER_SIZE = 5;
+
+    static final int INDEX_ENTRY_SIZE = 28;
+
+    static final int TRAILER_SIZE = 16;
+
+    /**
+     * Default number of ranges per block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    static int putLong(final byte[] buffer, int offset, final long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[offset++] = (byte) (value >>> shift);
+        }
+        return offset;
+    }
+
+    static int putVarint(final byte[] buffer, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    private final OutputStream out;
+
+    private final int blockSize;
+
+    private final long[] starts;
+
+    private final long[] stops;
+
+    private final long[] intervals;
+
+    private int n = 0;
+
+    private boolean strided = false;
+
+    private byte[] buffer;
+
+    private long offset = 0;
+
+    private byte[] index = new byte[INDEX_ENTRY_SIZE * 16];
+
+    private int blocks = 0;
+
+    private boolean closed = false;
+
+    /**
+     * Construct a new {@code WriterRangeBinary} with
+     * {@link #DEFAULT_BLOCK_SIZE}.
+     *
+     * @param out
+     *            stream to write to
+     * @throws IOException
+     *             if the header cannot be written
+     */
+    public WriterRangeBinary(final OutputStream out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Construct a new {@code WriterRangeBinary}.
+     *
+     * @param out
+     *            stream to write to
+     * @param blockSize
+     *            number of ranges per block
+     * @throws IOException
+     *             if the header cannot be written
+     */
+    public WriterRangeBinary(final OutputStream out, final int blockSize) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("block size must be positive, was " + blockSize);
+        }
+        this.out = out;
+        this.blockSize = blockSize;
+        this.starts = new long[blockSize];
+        this.stops = new long[blockSize];
+        this.intervals = new long[blockSize];
+        // worst case per range: three varints of 10 bytes each
+        this.buffer = new byte[Math.max(blockSize * 30 + 32, 64)];
+        final byte[] header = new byte[8];
+        putLong(header, 0, (long) MAGIC << 32 | (long) VERSION << 24);
+        write(header, HEADER_SIZE);
+    }
+
+    /**
+     * Write remaining ranges, the block index and the trailer, and close the
+     * underlying stream.
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flushBlock();
+        buffer[0] = 0;
+        write(buffer, 1);
+        final long indexOffset = offset;
+        write(index, blocks * INDEX_ENTRY_SIZE);
+        final byte[] trailer = new byte[TRAILER_SIZE];
+        putLong(trailer, 0, indexOffset);
+        putLong(trailer, 8, (long) blocks << 32 | MAGIC & 0xFFFFFFFFL);
+        write(trailer, TRAILER_SIZE);
+        out.close();
+    }
+
+    private void flushBlock() throws IOException {
+        if (n == 0) {
+            return;
+        }
+        int p = putVarint(buffer, 0, n);
+        buffer[p++] = (byte) (strided ? FLAG_INTERVALS : 0);
+        // payload is encoded behind a gap, that is large enough for its length
+        final int payloadStart = p + 5;
+        int q = payloadStart;
+        long previous = 0;
+        long minStart = Long.MAX_VALUE;
+        long maxStop = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            final long delta = starts[i] - previous;
+            q = putVarint(buffer, q, (delta << 1) ^ (delta >> 63));
+            q = putVarint(buffer, q, stops[i] - starts[i]);
+            if (strided) {
+                q = putVarint(buffer, q, intervals[i] - 1);
+            }
+            previous = starts[i];
+            minStart = Math.min(minStart, starts[i]);
+            maxStop = Math.max(maxStop, stops[i]);
+        }
+        final int lengthStart = payloadStart - varintSize(q - payloadStart);
+        System.arraycopy(buffer, 0, buffer, lengthStart - p, p);
+        putVarint(buffer, lengthStart, q - payloadStart);
+        if ((blocks + 1) * INDEX_ENTRY_SIZE > index.length) {
+            index = Arrays.copyOf(index, index.length * 2);
+        }
+        final int e = putLong(index, putLong(index, putLong(index, blocks * INDEX_ENTRY_SIZE, offset), minStart),
+                maxStop);
+        index[e] = (byte) (n >>> 24);
+        index[e + 1] = (byte) (n >>> 16);
+        index[e + 2] = (byte) (n >>> 8);
+        index[e + 3] = (byte) n;
+        blocks++;
+        out.write(buffer, lengthStart - p, q - (lengthStart - p));
+        offset += q - (lengthStart - p);
+        n = 0;
+        strided = false;
+    }
+
+    private static int varintSize(long value) {
+        int result = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            result++;
+        }
+        return result;
+    }
+
+    private void write(final byte[] bytes, final int length) throws IOException {
+        out.write(bytes, 0, length);
+        offset += length;
+    }
+
+    /**
+     * Write a range with an interval of {@code 1}.
+     *
+     * @see #write(long, long, long)
+     */
+    public void write(final long start, final long stop) throws IOException {
+        write(start, stop, 1);
+    }
+
+    /**
+     * Write a range.
+     *
+     * @param start
+     *            start position
+     * @param stop
+     *            stop position
+     * @param interval
+     *            interval
+     * @throws IOException
+     *             if writing a full block fails
+     * @throws RangeException
+     *             if {@code stop < start} or {@code interval < 1}
+     */
+    public void write(final long start, final long stop, final long interval) throws IOException {
+        if (closed) {
+            throw new IOException("closed");
+        }
+        if (stop < start || interval < 1) {
+            throw new RangeException("invalid range" + " start=" + start + " stop=" + stop + " interval=" + interval);
+        }
+        starts[n] = start;
+        stops[n] = stop;
+        intervals[n] = interval;
+        strided |= interval != 1;
+        if (++n == blockSize) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Write given range.
+     */
+    public void write(final RangeInteger range) throws IOException {
+        write(range.getStart(), range.getStop(), range.getInterval());
+    }
+
+    /**
+     * Write given range.
+     */
+    public void write(final RangeLong range) throws IOException {
+        write(range.getStart(), range.getStop(), range.getInterval());
+    }
+
+    /**
+     * Write all given ranges. Lists that implement {@link ColumnsRangeInteger}
+     * are read without creating range instances.
+     */
+    public void writeAll(final List<? extends RangeInteger> ranges) throws IOException {
+        final ColumnsRangeInteger columns = UtilsRangeInteger.asColumns(ranges);
+        for (int i = 0; i < columns.size(); i++) {
+            write(columns.getStart(i), columns.getStop(i), columns.getInterval(i));
+        }
+    }
+
+}
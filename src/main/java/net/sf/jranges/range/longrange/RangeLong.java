@@ -15,6 +15,10 @@
  ******************************************************************************/
 package net.sf.jranges.range.longrange;
 
+import java.util.Spliterator;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
 import net.sf.jranges.range.Range;
 import net.sf.jranges.range.RangeException;
 
@@ -125,4 +129,31 @@ public interface RangeLong extends Comparable<RangeLong>, Range {
 	 */
 	boolean includes(long position);
 
+	/**
+	 * 
+	 * Retrieve a spliterator over all positions of this {@code LongRange}, in
+	 * ascending order. The spliterator reports an exact size and splits into
+	 * exactly sized halves.
+	 * <p>
+	 * The default implementation computes positions from {@link #getStart()},
+	 * {@link #getStop()} and {@link #getInterval()}.
+	 * </p>
+	 * 
+	 * @return a spliterator over all positions
+	 */
+	default Spliterator.OfLong spliterator() {
+		return new SpliteratorRangeLong(this);
+	}
+
+	/**
+	 * 
+	 * Retrieve a sequential stream of all positions of this {@code LongRange},
+	 * in ascending order. The stream respects {@link #getInterval()}.
+	 * 
+	 * @return a stream of all positions
+	 */
+	default LongStream stream() {
+		return StreamSupport.longStream(spliterator(), false);
+	}
+
 }
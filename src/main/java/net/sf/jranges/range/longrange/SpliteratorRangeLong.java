@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.longrange;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * A {@link Spliterator.OfLong} over all positions of a {@link RangeLong}, in
+ * ascending order.
+ * <p>
+ * Positions are addressed by index, so that a {@code SpliteratorRangeLong}
+ * splits into two exactly sized halves in {@code O(1)}. It reports
+ * {@link #SIZED} and {@link #SUBSIZED} and is therefore well suited for
+ * parallel streams.
+ * </p>
+ * <p>
+ * A range that covers more than {@link Long#MAX_VALUE} positions reports
+ * {@link Long#MAX_VALUE} as its size.
+ * </p>
+ * <p>
+ * <b>Threading:</b><br>
+ * </p>
+ * <p>
+ *
+ * <pre>
+ * Not thread save.
+ * </pre>
+ *
+ * </p>
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class SpliteratorRangeLong implements Spliterator.OfLong {
+
+    private final static int CHARACTERISTICS = ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL
+            | IMMUTABLE;
+
+    private static long size(final RangeLong range) {
+        if (range.getStart() > range.getStop()) {
+            return 0;
+        }
+        final long size = Long.divideUnsigned(range.getStop() - range.getStart(), range.getInterval()) + 1;
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+
+    private final long start;
+
+    private final long interval;
+
+    private long index;
+
+    private final long end;
+
+    /**
+     * Construct a new {@code SpliteratorRangeLong} over all positions of given
+     * range.
+     *
+     * @param range
+     *            range to iterate over
+     */
+    public SpliteratorRangeLong(final RangeLong range) {
+        this(range.getStart(), range.getInterval(), 0, size(range));
+    }
+
+    private SpliteratorRangeLong(final long start, final long interval, final long index, final long end) {
+        this.start = start;
+        this.interval = interval;
+        this.index = index;
+        this.end = end;
+    }
+
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    public long estimateSize() {
+        return end - index;
+    }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+        final long end = this.end;
+        long i = index;
+        index = end;
+        for (; i < end; i++) {
+            action.accept(start + i * interval);
+        }
+    }
+
+    /**
+     * @return {@code null}, since positions are in natural order
+     */
+    @Override
+    public Comparator<? super Long> getComparator() {
+        return null;
+    }
+
+    public boolean tryAdvance(final LongConsumer action) {
+        if (index < end) {
+            action.accept(start + index++ * interval);
+            return true;
+        }
+        return false;
+    }
+
+    public SpliteratorRangeLong trySplit() {
+        final long mid = (index + end) >>> 1;
+        if (mid <= index) {
+            return null;
+        }
+        final SpliteratorRangeLong prefix = new SpliteratorRangeLong(start, interval, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+}
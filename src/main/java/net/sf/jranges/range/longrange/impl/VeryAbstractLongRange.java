@@ -15,6 +15,9 @@
  ******************************************************************************/
 package net.sf.jranges.range.longrange.impl;
 
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
 import net.sf.jranges.range.longrange.RangeLong;
 
 public abstract class VeryAbstractLongRange implements RangeLong {
@@ -108,4 +111,11 @@ public abstract class VeryAbstractLongRange implements RangeLong {
 		return false;
 	}
 
+	@Override
+	public LongStream stream() {
+		if (getInterval() == 1)
+			return LongStream.rangeClosed(getStart(), getStop());
+		return StreamSupport.longStream(spliterator(), false);
+	}
+
 }
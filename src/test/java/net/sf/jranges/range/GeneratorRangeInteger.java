@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import java.util.Random;
+
+import net.sf.jranges.range.integerrange.impl.RangeIntegerArray;
+
+/**
+ * Creates random ranges for tests, that compare implementations against each
+ * other or against brute force.
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class GeneratorRangeInteger {
+
+    /**
+     * Create random ranges, in random order.
+     *
+     * @param random
+     *            source of randomness
+     * @param n
+     *            number of ranges
+     * @param from
+     *            smallest start
+     * @param to
+     *            greatest start, exclusively
+     * @param maxLength
+     *            {@code stop - start} is less than this
+     * @param longEvery
+     *            every {@code longEvery}th range may be ten times longer;
+     *            {@code 0} for none
+     * @param stridedEvery
+     *            every {@code stridedEvery}th range has an interval of
+     *            {@code 2}; {@code 0} for none
+     * @return a new {@code RangeIntegerArray} of {@code n} ranges
+     */
+    public static RangeIntegerArray random(final Random random, final int n, final int from, final int to,
+            final int maxLength, final int longEvery, final int stridedEvery) {
+        final RangeIntegerArray result = new RangeIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            final int start = from + random.nextInt(to - from);
+            final int length = longEvery > 0 && i % longEvery == 0 ? 10 * maxLength : maxLength;
+            if (stridedEvery > 0 && i % stridedEvery == stridedEvery - 1) {
+                result.append(start, start + 2 * random.nextInt((length + 1) / 2), 2);
+            } else {
+                result.append(start, start + random.nextInt(length));
+            }
+        }
+        return result;
+    }
+
+    private GeneratorRangeInteger() {
+        // singleton
+    }
+
+}
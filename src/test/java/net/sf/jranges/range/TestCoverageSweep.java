@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerDummy;
+import net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRange;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestCoverageSweep {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    private static void assertRun(final CoverageSweep sweep, final long start, final long stop, final int depth) {
+        assertTrue(sweep.next());
+        assertEquals(start, sweep.getStart());
+        assertEquals(stop, sweep.getStop());
+        assertEquals(depth, sweep.getDepth());
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for {@link net.sf.jranges.range.CoverageSweep#next()}.
+     */
+    @Test
+    public final void testNext() {
+        final CoverageSweep sweep = CoverageSweep.create(new ArrayList<RangeInteger>());
+        assertFalse(sweep.next());
+    }
+
+    /**
+     * Test method for {@link net.sf.jranges.range.CoverageSweep#next()}.
+     */
+    @Test
+    public final void testNext01() {
+        final List<RangeInteger> ranges = Arrays.<RangeInteger> asList(new RangeIntegerDummy(5, 10),
+                new RangeIntegerDummy(1, 6), new RangeIntegerDummy(6, 6), new RangeIntegerDummy(11, 12),
+                new RangeIntegerDummy(20, 20));
+        final CoverageSweep sweep = CoverageSweep.create(ranges);
+        assertRun(sweep, 1, 4, 1);
+        assertRun(sweep, 5, 5, 2);
+        assertRun(sweep, 6, 6, 3);
+        assertRun(sweep, 7, 12, 1);
+        assertRun(sweep, 20, 20, 1);
+        assertFalse(sweep.next());
+        assertFalse(sweep.next());
+    }
+
+    /**
+     * Test method for {@link net.sf.jranges.range.CoverageSweep#next()}.
+     */
+    @Test
+    public final void testNext02() {
+        final List<RangeInteger> ranges = Arrays.<RangeInteger> asList(new ZeroPositiveIntegerRange(0, 4, 2),
+                new RangeIntegerDummy(Integer.MAX_VALUE - 1, Integer.MAX_VALUE));
+        final CoverageSweep sweep = CoverageSweep.create(ranges);
+        assertRun(sweep, 0, 0, 1);
+        assertRun(sweep, 2, 2, 1);
+        assertRun(sweep, 4, 4, 1);
+        assertRun(sweep, Integer.MAX_VALUE - 1, Integer.MAX_VALUE, 1);
+        assertFalse(sweep.next());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.CoverageSweep#createIgnoringIntervals(java.util.Collection)}
+     * .
+     */
+    @Test
+    public final void testCreateIgnoringIntervals() {
+        final CoverageSweep sweep = CoverageSweep.createIgnoringIntervals(Arrays
+                .<RangeInteger> asList(new ZeroPositiveIntegerRange(0, 4, 2)));
+        assertRun(sweep, 0, 4, 1);
+        assertFalse(sweep.next());
+    }
+
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.IndexNearestRange.Direction;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerDummy;
+import net.sf.jranges.range.longrange.RangeLong;
+import net.sf.jranges.range.longrange.impl.RangeLongDummy;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestIndexNearestRange {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    private static long distance(final RangeInteger r, final long p, final Direction direction) {
+        if (p < r.getStart()) {
+            return direction == Direction.UPSTREAM ? Long.MAX_VALUE : r.getStart() - p;
+        }
+        if (p > r.getStop()) {
+            return direction == Direction.DOWNSTREAM ? Long.MAX_VALUE : p - r.getStop();
+        }
+        return 0;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.IndexNearestRange#nearest(long, int, Direction, long)}
+     * .
+     */
+    @Test
+    public final void testNearest() {
+        final Random random = new Random(42);
+        for (final int n : new int[] { 0, 1, 2, 10, 100 }) {
+            final List<RangeInteger> ranges = GeneratorRangeInteger.random(random, n, 0, 1000, 10, 4, 0);
+            final IndexNearestRange<RangeInteger> index = IndexNearestRange.create(ranges);
+            for (final Direction direction : Direction.values()) {
+                for (final long maxDistance : new long[] { -1, 0, 5, Long.MAX_VALUE }) {
+                    for (long p = -20; p < 1150; p += 7) {
+                        final List<Long> expected = new ArrayList<Long>();
+                        for (final RangeInteger r : ranges) {
+                            final long d = distance(r, p, direction);
+                            if (d != Long.MAX_VALUE && d <= maxDistance) {
+                                expected.add(d);
+                            }
+                        }
+                        Collections.sort(expected);
+                        final int[] hits = index.nearest(p, 5, direction, maxDistance);
+                        assertEquals(Math.min(5, expected.size()), hits.length);
+                        for (int i = 0; i < hits.length; i++) {
+                            assertEquals(expected.get(i).longValue(), index.distance(hits[i], p));
+                        }
+                        final int hit = index.nearest(p, direction, maxDistance);
+                        if (expected.isEmpty()) {
+                            assertEquals(-1, hit);
+                        } else {
+                            assertEquals(expected.get(0).longValue(), index.distance(hit, p));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.IndexNearestRange#nearest(long, Direction, long)}
+     * .
+     */
+    @Test
+    public final void testNearest01() {
+        final IndexNearestRange<RangeInteger> index = IndexNearestRange.create(Arrays.<RangeInteger> asList(
+                new RangeIntegerDummy(50, 60), new RangeIntegerDummy(10, 20), new RangeIntegerDummy(30, 30)));
+        assertEquals(30, index.getStart(index.nearest(27)));
+        assertEquals(3, index.distance(index.nearest(27), 27));
+        assertEquals(20, index.getStop(index.nearest(27, Direction.UPSTREAM, Long.MAX_VALUE)));
+        assertEquals(30, index.getStart(index.nearest(27, Direction.DOWNSTREAM, Long.MAX_VALUE)));
+        assertEquals(50, index.getStart(index.nearest(55)));
+        assertEquals(0, index.distance(index.nearest(55), 55));
+        assertEquals(-1, index.nearest(45, Direction.DOWNSTREAM, 4));
+        final int[] hits = index.nearest(27, 2, Direction.BOTH, Long.MAX_VALUE);
+        assertEquals(2, hits.length);
+        assertEquals(3, index.distance(hits[0], 27));
+        assertEquals(7, index.distance(hits[1], 27));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.IndexNearestRange#nearest(long[], Direction, long)}
+     * .
+     */
+    @Test
+    public final void testNearestBatch() {
+        final IndexNearestRange<RangeInteger> index = IndexNearestRange.create(
+                GeneratorRangeInteger.random(new Random(7), 200, 0, 1000, 10, 4, 0));
+        final long[] positions = new long[500];
+        final Random random = new Random(11);
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextInt(1200) - 50;
+        }
+        Arrays.sort(positions);
+        for (final Direction direction : Direction.values()) {
+            final int[] hits = index.nearest(positions, direction, 20);
+            final int[] expected = new int[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                expected[i] = index.nearest(positions[i], direction, 20);
+            }
+            assertArrayEquals(expected, hits);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.IndexNearestRange#createLong(java.util.Collection)}
+     * .
+     */
+    @Test
+    public final void testCreateLong() {
+        final List<RangeLong> ranges = Arrays.<RangeLong> asList(new RangeLongDummy(Long.MIN_VALUE, -10),
+                new RangeLongDummy(10, Long.MAX_VALUE));
+        final IndexNearestRange<RangeLong> index = IndexNearestRange.createLong(ranges);
+        assertEquals(10, index.getStart(index.nearest(3)));
+        assertEquals(-10, index.getStop(index.nearest(-3)));
+        assertEquals(Long.MAX_VALUE, index.distance(0, Long.MAX_VALUE));
+        assertEquals(-1, index.nearest(0, Direction.UPSTREAM, 5));
+        assertEquals(2, index.nearest(0, 2, Direction.BOTH, Long.MAX_VALUE).length);
+    }
+
+}
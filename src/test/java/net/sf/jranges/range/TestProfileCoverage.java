@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerDummy;
+import net.sf.jranges.range.longrange.RangeLong;
+import net.sf.jranges.range.longrange.impl.RangeLongDummy;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestProfileCoverage {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.ProfileCoverage#getDepthAt(long)} .
+     */
+    @Test
+    public final void testGetDepthAt() {
+        final Random random = new Random(42);
+        final List<RangeInteger> ranges = new ArrayList<RangeInteger>();
+        for (int i = 0; i < 300; i++) {
+            final int start = random.nextInt(1000);
+            ranges.add(new RangeIntegerDummy(start, start + random.nextInt(50)));
+        }
+        final ProfileCoverage profile = ProfileCoverage.create(ranges);
+        for (int i = -5; i < 1100; i++) {
+            assertEquals(UtilsRangeInteger.numberOfAppearances(ranges, i), profile.getDepthAt(i));
+        }
+        assertEquals(UtilsRangeInteger.numberOfDistinctPositions(ranges), profile.numberOfPositions());
+        for (int i = 1; i < profile.size(); i++) {
+            // runs are maximal
+            assertTrue(profile.getStop(i - 1) + 1 < profile.getStart(i)
+                    || profile.getDepth(i - 1) != profile.getDepth(i));
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.ProfileCoverage#createLong(java.util.Collection)}
+     * .
+     */
+    @Test
+    public final void testCreateLong() throws IOException {
+        final List<RangeLong> ranges = Arrays.<RangeLong> asList(new RangeLongDummy(10000000000L, 10000000009L),
+                new RangeLongDummy(10000000005L, 10000000019L), new RangeLongDummy(10000000030L, 10000000030L));
+        final ProfileCoverage profile = ProfileCoverage.createLong(ranges);
+        assertEquals(4, profile.size());
+        assertEquals(2, profile.getDepthAt(10000000007L));
+        assertEquals(0, profile.getDepthAt(10000000025L));
+        assertEquals(-4, profile.indexOf(10000000025L));
+        final StringBuilder sb = new StringBuilder();
+        profile.writeBedGraph(sb, "chr1");
+        assertEquals("chr1\t10000000000\t10000000005\t1\nchr1\t10000000005\t10000000010\t2\n"
+                + "chr1\t10000000010\t10000000020\t1\nchr1\t10000000030\t10000000031\t1\n", sb.toString());
+    }
+
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerDummy;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestPyramidCoverage {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    private static void check(final ProfileCoverage profile, final PyramidCoverage pyramid, final Random random) {
+        for (int k = 0; k < 500; k++) {
+            final long start = random.nextInt(2200) - 100;
+            final long stop = start + random.nextInt(k % 2 == 0 ? 30 : 1500);
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (long p = start; p <= stop; p++) {
+                final int depth = profile.getDepthAt(p);
+                sum += depth;
+                min = Math.min(min, depth);
+                max = Math.max(max, depth);
+            }
+            final PyramidCoverage.Summary summary = pyramid.summarize(start, stop);
+            assertEquals(stop - start + 1, summary.getLength());
+            assertEquals(sum, summary.getSum());
+            assertEquals(min, summary.getMin());
+            assertEquals(max, summary.getMax());
+            assertEquals((double) sum / (stop - start + 1), summary.getMean(), 0);
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.PyramidCoverage#summarize(long, long)} .
+     */
+    @Test
+    public final void testSummarize() {
+        final Random random = new Random(42);
+        for (final int n : new int[] { 1, 2, 20, 500 }) {
+            final ProfileCoverage profile = ProfileCoverage.create(GeneratorRangeInteger.random(random, n, 0, 2000,
+                    20, 5, 0));
+            for (final long binSize : new long[] { 1, 7, 64 }) {
+                for (final int factor : new int[] { 2, 3, 8 }) {
+                    final PyramidCoverage pyramid = PyramidCoverage.create(profile, binSize, factor);
+                    assertEquals(1, pyramid.getBinCount(pyramid.getLevelCount() - 1));
+                    check(profile, pyramid, random);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.PyramidCoverage#summarize(long, long)} .
+     */
+    @Test
+    public final void testSummarize01() {
+        final PyramidCoverage pyramid = PyramidCoverage.create(
+                ProfileCoverage.create(Arrays.<RangeInteger> asList(new RangeIntegerDummy(0, 9),
+                        new RangeIntegerDummy(5, 14))), 4, 2);
+        PyramidCoverage.Summary summary = pyramid.summarize(0, 14);
+        assertEquals(15, summary.getLength());
+        assertEquals(20, summary.getSum());
+        assertEquals(1, summary.getMin());
+        assertEquals(2, summary.getMax());
+        summary = pyramid.summarize(3, 6);
+        assertEquals(6, summary.getSum());
+        assertEquals(1, summary.getMin());
+        assertEquals(2, summary.getMax());
+        summary = pyramid.summarize(10, 20);
+        assertEquals(5, summary.getSum());
+        assertEquals(0, summary.getMin());
+        assertEquals(1, summary.getMax());
+        summary = pyramid.summarize(-5, -1);
+        assertEquals(0, summary.getSum());
+        assertEquals(0, summary.getMax());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.PyramidCoverage#summarize(long, long)} .
+     */
+    @Test
+    public final void testSummarizeEmpty() {
+        final PyramidCoverage pyramid = PyramidCoverage.create(
+                ProfileCoverage.create(Collections.<RangeInteger> emptyList()), 16, 4);
+        assertEquals(0, pyramid.getLevelCount());
+        final PyramidCoverage.Summary summary = pyramid.summarize(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(0, summary.getSum());
+        assertEquals(0, summary.getMin());
+        assertEquals(0, summary.getMax());
+    }
+
+    /**
+     * Test method for {@link net.sf.jranges.range.PyramidCoverage#map(File)} .
+     */
+    @Test
+    public final void testMap() throws IOException {
+        final Random random = new Random(7);
+        final ProfileCoverage profile = ProfileCoverage.create(GeneratorRangeInteger.random(random, 300, 0, 2000, 20,
+                5, 0));
+        final File file = File.createTempFile("pyramid", ".bin");
+        file.deleteOnExit();
+        final PyramidCoverage built = PyramidCoverage.create(profile, 10, 4);
+        built.write(file);
+        final PyramidCoverage mapped = PyramidCoverage.map(file);
+        assertEquals(built.getLevelCount(), mapped.getLevelCount());
+        assertEquals(built.getOrigin(), mapped.getOrigin());
+        assertEquals(built.getBinSize(2), mapped.getBinSize(2));
+        check(profile, mapped, random);
+    }
+
+}
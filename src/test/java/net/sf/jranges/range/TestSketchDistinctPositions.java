@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerDummy;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerOnePositive;
+import net.sf.jranges.range.longrange.impl.RangeLongDummy;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestSketchDistinctPositions {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.SketchDistinctPositions#estimate()} .
+     */
+    @Test
+    public final void testEstimate() {
+        final SketchDistinctPositions sketch = new SketchDistinctPositions(4);
+        sketch.add(new RangeIntegerDummy(1, 5));
+        sketch.add(new RangeIntegerDummy(6, 7));
+        sketch.add(new RangeIntegerDummy(3, 4));
+        sketch.add(new RangeIntegerOnePositive(11, 15, 2));
+        sketch.add(new RangeLongDummy(Long.MAX_VALUE - 1, Long.MAX_VALUE));
+        assertEquals(1, sketch.getStride());
+        assertEquals(7 + 3 + 2, sketch.estimate());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.SketchDistinctPositions#estimate()} .
+     */
+    @Test
+    public final void testEstimate01() {
+        final List<RangeInteger> ranges = GeneratorRangeInteger.random(new Random(42), 100000, -5000000, 5000000,
+                500, 10, 0);
+        final long exact = UtilsRangeInteger.numberOfDistinctPositions(ranges);
+        for (final int capacity : new int[] { 256, 4096, 200000 }) {
+            final SketchDistinctPositions sketch = new SketchDistinctPositions(capacity);
+            for (final RangeInteger r : ranges) {
+                sketch.add(r);
+            }
+            final long estimate = sketch.estimate();
+            if (capacity == 200000) {
+                assertEquals(exact, estimate);
+            } else {
+                assertTrue(capacity + ": " + estimate + " vs " + exact,
+                        Math.abs(estimate - exact) <= capacity * sketch.getStride());
+                assertTrue(Math.abs(estimate - exact) < exact * 0.05);
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.SketchDistinctPositions#estimate()} , with
+     * periodic positions and strided ranges, that must not alias with the
+     * sampled positions.
+     */
+    @Test
+    public final void testEstimate02() {
+        final SketchDistinctPositions odd = new SketchDistinctPositions(1024);
+        final SketchDistinctPositions four = new SketchDistinctPositions(1024);
+        for (long p = 0; p < 2000000; p += 4) {
+            odd.add(p + 1, p + 1);
+            odd.add(p + 3, p + 3);
+            four.add(p, p);
+        }
+        final SketchDistinctPositions strided = new SketchDistinctPositions(1024);
+        strided.add(new RangeIntegerOnePositive(1, 1999999, 2));
+        assertTrue(odd.getStride() > 1);
+        assertTrue(four.getStride() > 1);
+        assertTrue(odd.estimate() + " vs 1000000", Math.abs(odd.estimate() - 1000000) < 1000000 * 0.05);
+        assertTrue(four.estimate() + " vs 500000", Math.abs(four.estimate() - 500000) < 500000 * 0.05);
+        assertTrue(strided.estimate() + " vs 1000000", Math.abs(strided.estimate() - 1000000) < 1000000 * 0.05);
+        // odd positions merge with multiples of four to three of four positions
+        odd.merge(four);
+        assertTrue(odd.estimate() + " vs 1500000", Math.abs(odd.estimate() - 1500000) < 1500000 * 0.05);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.SketchDistinctPositions#add(long, long, long)}
+     * , with strided ranges, whose positions are far too many to visit.
+     */
+    @Test
+    public final void testAdd() {
+        final SketchDistinctPositions sketch = new SketchDistinctPositions(1024);
+        sketch.add(new RangeIntegerOnePositive(1, 2000000001, 2));
+        sketch.add(0, 2000000000L, 1000);
+        // even and odd positions do not overlap
+        final long exact = 1000000001L + 2000001L;
+        assertTrue(sketch.estimate() + " vs " + exact, Math.abs(sketch.estimate() - exact) < exact * 0.05);
+        final SketchDistinctPositions all = new SketchDistinctPositions(1024);
+        all.add(Long.MIN_VALUE, Long.MAX_VALUE, 3);
+        // 2^64 / 3 positions
+        final double third = 6148914691236517205.0;
+        assertTrue(all.estimate() + " vs " + third, Math.abs(all.estimate() - third) < third * 0.05);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.SketchDistinctPositions#merge(SketchDistinctPositions)}
+     * .
+     */
+    @Test
+    public final void testMerge() {
+        final List<RangeInteger> ranges = GeneratorRangeInteger.random(new Random(7), 20000, -5000000, 5000000,
+                500, 10, 0);
+        final SketchDistinctPositions all = new SketchDistinctPositions(1024);
+        final SketchDistinctPositions first = new SketchDistinctPositions(1024);
+        final SketchDistinctPositions second = new SketchDistinctPositions(1024);
+        for (int i = 0; i < ranges.size(); i++) {
+            all.add(ranges.get(i));
+            // second sketch sees fewer ranges, and ends up with a smaller stride
+            if (i % 10 == 0) {
+                second.add(ranges.get(i));
+            } else {
+                first.add(ranges.get(i));
+            }
+        }
+        second.merge(first);
+        final long exact = UtilsRangeInteger.numberOfDistinctPositions(ranges);
+        assertTrue(Math.abs(second.estimate() - exact) < exact * 0.05);
+        assertTrue(Math.abs(all.estimate() - exact) < exact * 0.05);
+        final SketchDistinctPositions empty = new SketchDistinctPositions(8);
+        empty.merge(new SketchDistinctPositions(8));
+        assertEquals(0, empty.estimate());
+    }
+
+}
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import net.sf.jranges.range.UtilRange.IntegerRangeTask;
+import net.sf.jranges.range.UtilRange.LongRangeTask;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerDummy;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerOnePositive;
+import net.sf.jranges.range.longrange.RangeLong;
+import net.sf.jranges.range.longrange.impl.RangeLongDummy;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestUtilRange {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.RangeInteger#spliterator()}.
+     */
+    @Test
+    public final void testSpliterator() {
+        final RangeInteger range = new RangeIntegerOnePositive(1, 21, 4);
+        final Spliterator.OfInt suffix = range.spliterator();
+        assertEquals(6, suffix.estimateSize());
+        final Spliterator.OfInt prefix = suffix.trySplit();
+        assertEquals(3, prefix.estimateSize());
+        assertEquals(3, suffix.estimateSize());
+        final int[] first = new int[1];
+        suffix.tryAdvance(new IntConsumer() {
+            public void accept(final int value) {
+                first[0] = value;
+            }
+        });
+        assertEquals(13, first[0]);
+        final Spliterator.OfInt single = new RangeIntegerOnePositive(5, 5).spliterator();
+        assertNull(single.trySplit());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.UtilRange#doForAllInRangeParallel(RangeInteger, IntegerRangeTask, ForkJoinPool)}
+     * .
+     */
+    @Test
+    public final void testDoForAllInRangeParallel() {
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong count = new AtomicLong();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            UtilRange.doForAllInRangeParallel(new RangeIntegerOnePositive(1, 1999999, 2), new IntegerRangeTask() {
+                public void call(final int i) {
+                    sum.addAndGet(i);
+                    count.incrementAndGet();
+                }
+            }, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1000000, count.get());
+        assertEquals(1000000L * 1000000L, sum.get());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.UtilRange#doForAllInRangeParallel(net.sf.jranges.range.longrange.RangeLong, LongRangeTask)}
+     * .
+     */
+    @Test
+    public final void testDoForAllInRangeParallel01() {
+        final AtomicLong sum = new AtomicLong();
+        final long offset = 10000000000L;
+        UtilRange.doForAllInRangeParallel(new RangeLongDummy(offset + 1, offset + 100000), new LongRangeTask() {
+            public void call(final long i) {
+                sum.addAndGet(i - offset);
+            }
+        });
+        assertEquals(100000L * 100001L / 2, sum.get());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.UtilRange#doForAllInRange(net.sf.jranges.range.longrange.RangeLong, LongRangeTask)}
+     * , with a {@link RangeLong} that relies on the interface's default
+     * spliterator.
+     */
+    @Test
+    public final void testDoForAllInRange02() {
+        final RangeLong range = new RangeLong() {
+            public int compareTo(final RangeLong o) {
+                return Long.compare(getStart(), o.getStart());
+            }
+
+            public long getStart() {
+                return 10000000000L;
+            }
+
+            public long getStop() {
+                return 10000000009L;
+            }
+
+            public long getLength() {
+                return 4;
+            }
+
+            public long getInterval() {
+                return 3;
+            }
+
+            public RangeLong shift(final long offset) {
+                throw new UnsupportedOperationException();
+            }
+
+            public RangeLong expandRange(final long offset) {
+                throw new UnsupportedOperationException();
+            }
+
+            public RangeLong expandRange(final long offset, final boolean stayWithinLimits) {
+                throw new UnsupportedOperationException();
+            }
+
+            public boolean includes(final long position) {
+                return position >= getStart() && position <= getStop() && (position - getStart()) % 3 == 0;
+            }
+        };
+        final List<Long> positions = new ArrayList<Long>();
+        UtilRange.doForAllInRange(range, new LongRangeTask() {
+            public void call(final long i) {
+                positions.add(i);
+            }
+        });
+        assertEquals(Arrays.asList(10000000000L, 10000000003L, 10000000006L, 10000000009L), positions);
+        assertEquals(4, range.stream().count());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.UtilRange#countIncluded(RangeInteger, int[])}
+     * .
+     */
+    @Test
+    public final void testCountIncluded() {
+        final int[] positions = { -3, 1, 2, 5, 5, 9, 13, 14 };
+        assertEquals(5, UtilRange.countIncluded(new RangeIntegerDummy(1, 9), positions));
+        assertEquals(5, UtilRange.countIncluded(new RangeIntegerOnePositive(1, 13, 4), positions));
+        assertEquals(0, UtilRange.countIncluded(new RangeIntegerDummy(15, 20), positions));
+        assertTrue(UtilRange.includesAll(new RangeIntegerDummy(-3, 14), positions));
+        assertFalse(UtilRange.includesAll(new RangeIntegerDummy(-2, 14), positions));
+        assertFalse(UtilRange.includesAll(new RangeIntegerOnePositive(1, 13, 4), new int[] { 1, 2 }));
+        assertTrue(UtilRange.includesAll(new RangeIntegerDummy(15, 20), new int[0]));
+        assertTrue(UtilRange.includesAny(new RangeIntegerOnePositive(3, 13, 2), positions));
+        assertFalse(UtilRange.includesAny(new RangeIntegerOnePositive(2, 12, 2), new int[] { 1, 3, 13 }));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.UtilRange#countIncluded(List, int[])} .
+     */
+    @Test
+    public final void testCountIncluded01() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 100; run++) {
+            final List<RangeInteger> ranges = new ArrayList<RangeInteger>();
+            for (int i = 0; i < random.nextInt(20); i++) {
+                final int start = random.nextInt(200);
+                final int interval = 1 + random.nextInt(4);
+                ranges.add(i % 3 == 0 ? new RangeIntegerOnePositive(start + 1, start + 1 + interval
+                        * random.nextInt(10), interval) : new RangeIntegerDummy(start, start + random.nextInt(10)));
+            }
+            Collections.sort(ranges, new Comparator<RangeInteger>() {
+                public int compare(final RangeInteger o1, final RangeInteger o2) {
+                    return Integer.compare(o1.getStart(), o2.getStart());
+                }
+            });
+            final int[] positions = new int[random.nextInt(50)];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = random.nextInt(250);
+            }
+            Arrays.sort(positions);
+            int expected = 0;
+            for (final int p : positions) {
+                for (final RangeInteger r : ranges) {
+                    if (r.includes(p)) {
+                        expected++;
+                        break;
+                    }
+                }
+            }
+            assertEquals(expected, UtilRange.countIncluded(ranges, positions));
+            assertEquals(expected == positions.length, UtilRange.includesAll(ranges, positions));
+            assertEquals(expected > 0, UtilRange.includesAny(ranges, positions));
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.UtilRange#countIncluded(List, int[])} .
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testCountIncluded02() {
+        UtilRange.countIncluded(
+                Arrays.asList(new RangeIntegerDummy(5, 6), new RangeIntegerDummy(1, 2)), new int[] { 1, 5 });
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.UtilRange#lowerBound(int[], long)}
+     * .
+     */
+    @Test
+    public final void testLowerBound() {
+        final int[] sorted = { -3, 1, 1, 4, Integer.MAX_VALUE };
+        assertEquals(0, UtilRange.lowerBound(sorted, Long.MIN_VALUE));
+        assertEquals(1, UtilRange.lowerBound(sorted, 1));
+        assertEquals(3, UtilRange.lowerBound(sorted, 2));
+        assertEquals(4, UtilRange.lowerBound(sorted, Integer.MAX_VALUE));
+        assertEquals(5, UtilRange.lowerBound(sorted, Integer.MAX_VALUE + 1L));
+        assertEquals(0, UtilRange.lowerBound(new int[0], 0));
+        assertEquals(1, UtilRange.lowerBound(new long[] { 1, 5, 5, 9 }, 5));
+    }
+
+}
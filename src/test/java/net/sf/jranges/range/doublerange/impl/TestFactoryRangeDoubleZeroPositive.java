@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.doublerange.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestFactoryRangeDoubleZeroPositive {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.doublerange.impl.FactoryRangeDoubleZeroPositive#create(double, double)}
+     * .
+     */
+    @Test
+    public final void testCreate() {
+        final FactoryRangeDoubleZeroPositive factory = new FactoryRangeDoubleZeroPositive(1000);
+        assertEquals(1024, factory.getCacheSize());
+        final ZeroPositiveDoubleRange r = factory.create(0.5, 1.5);
+        assertSame(r, factory.create(0.5, 1.5));
+        assertEquals(new ZeroPositiveDoubleRange(0.5, 2.5), factory.create(0.5, 2.5));
+        assertNotSame(new FactoryRangeDoubleZeroPositive().create(0.5, 1.5), new FactoryRangeDoubleZeroPositive().create(0.5, 1.5));
+        assertEquals(0, new FactoryRangeDoubleZeroPositive().getCacheSize());
+    }
+
+}
@@ -18,7 +18,9 @@
  */
 package net.sf.jranges.range.doublerange.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import net.sf.jranges.range.RangeException;
@@ -274,4 +276,31 @@ public class TestZeroPositiveDoubleRange {
 		fail("Not yet implemented"); // TODO
 	}
 
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.doublerange.impl.ZeroPositiveDoubleRange#tryCreate(double, double, double)}
+	 * .
+	 */
+	@Test
+	public final void testTryCreate() {
+		assertEquals(new ZeroPositiveDoubleRange(0, 1, 0.5), ZeroPositiveDoubleRange.tryCreate(0, 1, 0.5));
+		assertNull(ZeroPositiveDoubleRange.tryCreate(0, 1, 0.3));
+		assertNull(ZeroPositiveDoubleRange.tryCreate(-1, 1));
+		assertNull(ZeroPositiveDoubleRange.tryCreate(2, 1));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.doublerange.impl.AbstractDoubleRange#tryExpandRange(double, boolean)}
+	 * .
+	 */
+	@Test
+	public final void testTryExpandRange() {
+		final ZeroPositiveDoubleRange r = new ZeroPositiveDoubleRange(1, 3);
+		assertEquals(new ZeroPositiveDoubleRange(0, 5), r.tryExpandRange(2, true));
+		assertNull(r.tryExpandRange(2, false));
+		assertEquals(new ZeroPositiveDoubleRange(2, 4), r.tryShift(1));
+		assertNull(r.tryShift(-2));
+	}
+
 }
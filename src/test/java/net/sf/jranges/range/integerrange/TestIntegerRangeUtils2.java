@@ -18,13 +18,29 @@
  */
 package net.sf.jranges.range.integerrange;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.sf.jranges.range.integerrange.RangeInteger;
 import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerArray;
 import net.sf.jranges.range.integerrange.impl.RangeIntegerDummy;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerOnePositive;
+import net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRangeFactory;
+import net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRange;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -68,7 +84,65 @@ public class TestIntegerRangeUtils2 {
 	 */
 	@Test
 	public final void testPositionFrequencies() {
+		range1 = new RangeIntegerDummy(1, 10);
+		range2 = new RangeIntegerDummy(5, 15);
+		range3 = new RangeIntegerDummy(8, 12);
+		final Map<Integer, Integer> map = UtilsRangeInteger.positionFrequencies(Arrays.asList(range1, range2),
+				Arrays.asList(range3, range3));
+		assertEquals(5, map.size());
+		assertEquals(Integer.valueOf(4), map.get(8));
+		assertEquals(Integer.valueOf(4), map.get(10));
+		assertEquals(Integer.valueOf(2), map.get(11));
+		assertNull(map.get(7));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#positionFrequencies(java.util.List, java.util.List, int, int)}
+	 * .
+	 */
+	@Test
+	public final void testPositionFrequencies01() {
+		final Random random = new Random(42);
+		final List<RangeInteger> ranges = new ArrayList<RangeInteger>();
+		final List<RangeInteger> ranges2 = new ArrayList<RangeInteger>();
+		for (int i = 0; i < 200; i++) {
+			final int start = random.nextInt(500);
+			ranges.add(new RangeIntegerDummy(start, start + random.nextInt(40)));
+		}
+		ranges.add(new ZeroPositiveIntegerRange(30, 60, 3));
+		for (int i = 0; i < 20; i++) {
+			final int start = random.nextInt(500);
+			ranges2.add(new RangeIntegerDummy(start, start + random.nextInt(40)));
+		}
+		final Map<Integer, Integer> map = UtilsRangeInteger.positionFrequencies(ranges, ranges2);
+		final int[] array = UtilsRangeInteger.positionFrequencies(ranges, ranges2, -10, 600);
+		for (int i = -10; i <= 600; i++) {
+			int expected = 0;
+			boolean included = false;
+			for (final RangeInteger r2 : ranges2) {
+				if (r2.includes(i)) {
+					included = true;
+					expected += UtilsRangeInteger.numberOfAppearances(ranges, i);
+				}
+			}
+			assertEquals(expected, array[i + 10]);
+			assertEquals(included ? Integer.valueOf(expected) : null, map.get(i));
+		}
+	}
 
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#coverage(java.util.List, int, int)}
+	 * .
+	 */
+	@Test
+	public final void testCoverage() {
+		range1 = new RangeIntegerDummy(1, 4);
+		range2 = new RangeIntegerDummy(3, 6);
+		range3 = new ZeroPositiveIntegerRange(0, 8, 4);
+		assertArrayEquals(new int[] { 1, 1, 1, 2, 3, 1, 1, 0, 1, 0 },
+				UtilsRangeInteger.coverage(Arrays.asList(range1, range2, range3), 0, 9));
 	}
 
 	/**
@@ -92,7 +166,7 @@ public class TestIntegerRangeUtils2 {
 	public final void testMedianPositionFrequencies01() {
 		range1 = new RangeIntegerDummy(10001, 20000);
 		range2 = new RangeIntegerDummy(1, 100000);
-		assertEquals(0.1, UtilsRangeInteger.medianPositionFrequencies(Arrays.asList(range1), Arrays.asList(range2)), 0);
+		assertEquals(0, UtilsRangeInteger.medianPositionFrequencies(Arrays.asList(range1), Arrays.asList(range2)), 0);
 	}
 
 	/**
@@ -105,7 +179,7 @@ public class TestIntegerRangeUtils2 {
 		range1 = new RangeIntegerDummy(10001, 20000);
 		range2 = new RangeIntegerDummy(20001, 30000);
 		range3 = new RangeIntegerDummy(1, 100000);
-		assertEquals(0.2,
+		assertEquals(0,
 				UtilsRangeInteger.medianPositionFrequencies(Arrays.asList(range1, range2), Arrays.asList(range3)), 0);
 	}
 
@@ -121,9 +195,249 @@ public class TestIntegerRangeUtils2 {
 		range3 = new RangeIntegerDummy(1, 50000);
 		range4 = new RangeIntegerDummy(50001, 100000);
 		assertEquals(
-				0.2,
+				0,
 				UtilsRangeInteger.medianPositionFrequencies(Arrays.asList(range1, range2),
 						Arrays.asList(range3, range4)), 0);
 	}
 
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#medianPositionFrequencies(java.util.List, java.util.List)}
+	 * .
+	 */
+	@Test
+	public final void testMedianPositionFrequencies04() {
+		range1 = new RangeIntegerDummy(1, 6);
+		range2 = new RangeIntegerDummy(4, 10);
+		range3 = new RangeIntegerDummy(1, 10);
+		// frequencies: 1,1,1,2,2,2,1,1,1,1
+		assertEquals(1, UtilsRangeInteger.medianPositionFrequencies(Arrays.asList(range1, range2),
+				Arrays.asList(range3)), 0);
+		// frequencies: 1,1,1,2,2,2
+		range4 = new RangeIntegerDummy(1, 6);
+		assertEquals(1.5, UtilsRangeInteger.medianPositionFrequencies(Arrays.asList(range1, range2),
+				Arrays.asList(range4)), 0);
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#meanPositionFrequencies(java.util.List, java.util.List)}
+	 * .
+	 */
+	@Test
+	public final void testMeanPositionFrequencies() {
+		range1 = new RangeIntegerDummy(10001, 20000);
+		range2 = new RangeIntegerDummy(20001, 30000);
+		range3 = new RangeIntegerDummy(1, 50000);
+		range4 = new RangeIntegerDummy(50001, 100000);
+		assertEquals(0.2,
+				UtilsRangeInteger.meanPositionFrequencies(Arrays.asList(range1, range2), Arrays.asList(range3, range4)),
+				0.0000001);
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#quantilePositionFrequencies(java.util.List, java.util.List, double)}
+	 * .
+	 */
+	@Test
+	public final void testQuantilePositionFrequencies() {
+		range1 = new RangeIntegerDummy(1, 6);
+		range2 = new RangeIntegerDummy(4, 10);
+		range3 = new RangeIntegerDummy(1, 10);
+		final List<RangeInteger> ranges = Arrays.asList(range1, range2);
+		final List<RangeInteger> ranges2 = Arrays.asList(range3);
+		assertArrayEquals(new long[] { 0, 7, 3 }, UtilsRangeInteger.histogramPositionFrequencies(ranges, ranges2));
+		assertEquals(1, UtilsRangeInteger.quantilePositionFrequencies(ranges, ranges2, 0), 0);
+		assertEquals(2, UtilsRangeInteger.quantilePositionFrequencies(ranges, ranges2, 1), 0);
+		assertEquals(2, UtilsRangeInteger.quantilePositionFrequencies(ranges, ranges2, 0.9), 0.0000001);
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#intersection(RangeInteger, RangeInteger, IntegerRangeFactory)}
+	 * .
+	 */
+	@Test
+	public final void testIntersection() {
+		final ZeroPositiveIntegerRangeFactory factory = new ZeroPositiveIntegerRangeFactory();
+		assertEquals(new ZeroPositiveIntegerRange(8, 44, 12), UtilsRangeInteger.intersection(
+				new ZeroPositiveIntegerRange(2, 50, 3), new ZeroPositiveIntegerRange(0, 48, 4), factory));
+		assertNull(UtilsRangeInteger.intersection(new ZeroPositiveIntegerRange(0, 10, 2), new ZeroPositiveIntegerRange(
+				1, 11, 2), factory));
+		assertEquals(new ZeroPositiveIntegerRange(6, 6), UtilsRangeInteger.intersection(new ZeroPositiveIntegerRange(
+				0, 12, 6), new ZeroPositiveIntegerRange(5, 8, 1), factory));
+		assertEquals(new ZeroPositiveIntegerRange(3, 7), UtilsRangeInteger.intersection(new RangeIntegerDummy(1, 7),
+				new RangeIntegerDummy(3, 9), factory));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#numberOfCommonPositions(RangeInteger, RangeInteger, int, int)}
+	 * .
+	 */
+	@Test
+	public final void testNumberOfCommonPositions() {
+		final Random random = new Random(17);
+		for (int k = 0; k < 2000; k++) {
+			final int p = 1 + random.nextInt(12);
+			final int q = 1 + random.nextInt(12);
+			final int s1 = random.nextInt(50);
+			final int s2 = random.nextInt(50);
+			final RangeInteger a = new ZeroPositiveIntegerRange(s1, s1 + p * random.nextInt(20), p);
+			final RangeInteger b = new ZeroPositiveIntegerRange(s2, s2 + q * random.nextInt(20), q);
+			final int from = random.nextInt(100);
+			final int to = from + random.nextInt(200);
+			long expected = 0;
+			long expectedWindow = 0;
+			for (int i = 0; i < 400; i++) {
+				if (a.includes(i) && b.includes(i)) {
+					expected++;
+					if (i >= from && i <= to) {
+						expectedWindow++;
+					}
+				}
+			}
+			assertEquals(expected, UtilsRangeInteger.numberOfCommonPositions(a, b));
+			assertEquals(expectedWindow, UtilsRangeInteger.numberOfCommonPositions(a, b, from, to));
+			assertEquals(expected > 0, UtilsRangeInteger.overlaps(a, b));
+			final RangeInteger intersection = UtilsRangeInteger.intersection(a, b,
+					new ZeroPositiveIntegerRangeFactory());
+			if (expected == 0) {
+				assertNull(intersection);
+			} else {
+				assertEquals(expected, intersection.getLength());
+				for (int i = 0; i < 400; i++) {
+					assertEquals(a.includes(i) && b.includes(i), intersection.includes(i));
+				}
+			}
+		}
+		assertTrue(UtilsRangeInteger.overlaps(new RangeIntegerDummy(1, 5), new RangeIntegerDummy(5, 9)));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#numberOfDistinctPositions(List)}
+	 * .
+	 */
+	@Test
+	public final void testNumberOfDistinctPositions() {
+		final Random random = new Random(42);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (final int n : new int[] { 0, 1, 2, 10, 100, 5000, 20000 }) {
+				final List<RangeInteger> ranges = new ArrayList<RangeInteger>();
+				for (int i = 0; i < n; i++) {
+					final int start = random.nextInt(100000) - 50000;
+					if (i % 10 == 0) {
+						final int interval = 1 + random.nextInt(5);
+						ranges.add(new RangeIntegerOnePositive(start + 50001, start + 50001 + interval
+								* random.nextInt(20), interval));
+					} else {
+						ranges.add(new RangeIntegerDummy(start, start + random.nextInt(i % 3 == 0 ? 500 : 5)));
+					}
+				}
+				final BitSet covered = new BitSet();
+				for (final RangeInteger r : ranges) {
+					for (int i = r.getStart(); i <= r.getStop(); i += r.getInterval()) {
+						covered.set(i + 50000);
+					}
+				}
+				assertEquals(covered.cardinality(), UtilsRangeInteger.numberOfDistinctPositions(ranges));
+				assertEquals(covered.cardinality(), UtilsRangeInteger.numberOfDistinctPositionsParallel(ranges, pool));
+				final RangeIntegerArray columns = new RangeIntegerArray(ranges);
+				assertEquals(covered.cardinality(), UtilsRangeInteger.numberOfDistinctPositions(columns));
+				Collections.sort(columns, UtilsRangeInteger.COMPARATOR_START_STOP);
+				assertEquals(covered.cardinality(), UtilsRangeInteger.numberOfDistinctPositions(columns));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#numberOfDistinctPositions(List)}
+	 * .
+	 */
+	@Test
+	public final void testNumberOfDistinctPositions01() {
+		final List<RangeInteger> ranges = Arrays.<RangeInteger> asList(new RangeIntegerDummy(1, 5),
+				new RangeIntegerDummy(3, 7), new RangeIntegerDummy(9, 9), new RangeIntegerDummy(Integer.MIN_VALUE,
+						Integer.MIN_VALUE), new RangeIntegerDummy(Integer.MAX_VALUE - 1, Integer.MAX_VALUE));
+		assertEquals(11, UtilsRangeInteger.numberOfDistinctPositions(ranges));
+		assertEquals(11, UtilsRangeInteger.numberOfDistinctPositionsParallel(ranges));
+		assertEquals(5 + 5 + 1 + 1 + 2, UtilsRangeInteger.numberOfPositions(ranges));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#numberOfDistinctPositions(List)}
+	 * , with ranges of an interval other than {@code 1}.
+	 */
+	@Test
+	public final void testNumberOfDistinctPositions02() {
+		final List<RangeInteger> ranges = Arrays.<RangeInteger> asList(new RangeIntegerOnePositive(1, 11, 2),
+				new RangeIntegerOnePositive(2, 12, 2), new RangeIntegerDummy(5, 9),
+				new RangeIntegerOnePositive(100, 2000000000, 2));
+		// 1->12, plus the isolated range
+		assertEquals(12 + 999999951, UtilsRangeInteger.numberOfDistinctPositions(ranges));
+		assertEquals(12 + 999999951, UtilsRangeInteger.numberOfDistinctPositionsParallel(ranges));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#numberOfDistinctPositions(List)}
+	 * , with overlapping ranges of an interval other than {@code 1}, that have
+	 * many positions.
+	 */
+	@Test
+	public final void testNumberOfDistinctPositions03() {
+		final List<RangeInteger> ranges = Arrays.<RangeInteger> asList(new RangeIntegerOnePositive(1, 2000000001,
+				2), new RangeIntegerOnePositive(2, 2000000000, 2));
+		// odd and even positions fill 1->2000000001
+		assertEquals(2000000001, UtilsRangeInteger.numberOfDistinctPositions(ranges));
+		assertEquals(2000000001, UtilsRangeInteger.numberOfDistinctPositionsParallel(ranges));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#numberOfDistinctPositions(List)}
+	 * , with overlapping ranges of different intervals.
+	 */
+	@Test
+	public final void testNumberOfDistinctPositions04() {
+		final List<RangeInteger> ranges = Arrays.<RangeInteger> asList(new RangeIntegerOnePositive(6, 60000000, 2),
+				new RangeIntegerOnePositive(30, 60000000, 6), new RangeIntegerOnePositive(6, 60000000, 3),
+				new RangeIntegerDummy(59999990, 60000010));
+		// by 2: 29999998, by 3: 19999999, by both: 10000000; the range by 6
+		// adds nothing, and 8 of the last range's 21 positions are covered
+		assertEquals(29999998 + 19999999 - 10000000 + 21 - 8, UtilsRangeInteger.numberOfDistinctPositions(ranges));
+		assertEquals(29999998 + 19999999 - 10000000 + 21 - 8,
+				UtilsRangeInteger.numberOfDistinctPositionsParallel(ranges));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#asColumns(java.util.Collection)}
+	 * .
+	 */
+	@Test
+	public final void testAsColumns() {
+		final RangeIntegerArray array = new RangeIntegerArray();
+		array.append(1, 9, 4);
+		assertSame(array, UtilsRangeInteger.asColumns(array));
+		final List<RangeInteger> ranges = new LinkedList<RangeInteger>(Arrays.<RangeInteger> asList(
+				new RangeIntegerDummy(-3, 2), new RangeIntegerOnePositive(1, 9, 4)));
+		final ColumnsRangeInteger columns = UtilsRangeInteger.asColumns(ranges);
+		assertEquals(2, columns.size());
+		assertEquals(-3, columns.getStart(0));
+		assertEquals(2, columns.getStop(0));
+		assertEquals(1, columns.getInterval(0));
+		assertEquals(4, columns.getInterval(1));
+		assertEquals(6 + 3, UtilsRangeInteger.numberOfPositions(ranges));
+		assertEquals(2, UtilsRangeInteger.numberOfAppearances(ranges, 1));
+		assertEquals(0, UtilsRangeInteger.numberOfAppearances(ranges, 3));
+	}
+
 }
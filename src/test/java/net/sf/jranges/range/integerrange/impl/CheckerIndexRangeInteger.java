@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.GeneratorRangeInteger;
+import net.sf.jranges.range.integerrange.IndexRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+
+/**
+ * Compares the counts of an index against brute force, over random ranges
+ * from {@link GeneratorRangeInteger}.
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+class CheckerIndexRangeInteger {
+
+    /**
+     * Counting queries, that are checked.
+     */
+    interface Counts {
+
+        boolean includes(int position);
+
+        int numberOfAppearances(int position);
+
+        int numberOfOverlaps(int start, int stop);
+    }
+
+    /**
+     * Creates the index under test.
+     */
+    interface Factory {
+
+        Counts create(List<RangeInteger> ranges) throws IOException;
+    }
+
+    /**
+     * Check given index, for a sweep of sizes around the implicit tree's
+     * level boundaries, against brute force.
+     *
+     * @param factory
+     *            creates the index under test
+     * @throws IOException
+     *             if the factory fails
+     */
+    static void check(final Factory factory) throws IOException {
+        final Random random = new Random(42);
+        for (final int n : new int[] { 0, 1, 2, 7, 8, 15, 16, 17, 100, 255, 256, 257, 1000 }) {
+            final List<RangeInteger> ranges = GeneratorRangeInteger.random(random, n, 0, 1000, 60, 0, 3);
+            final Counts counts = factory.create(ranges);
+            for (int i = -5; i < 1100; i++) {
+                final int expected = UtilsRangeInteger.numberOfAppearances(ranges, i);
+                assertEquals(expected, counts.numberOfAppearances(i));
+                assertEquals(expected > 0, counts.includes(i));
+                final int stop = i + random.nextInt(40);
+                int overlaps = 0;
+                for (final RangeInteger r : ranges) {
+                    if (r.getStart() <= stop && r.getStop() >= i) {
+                        overlaps++;
+                    }
+                }
+                assertEquals(overlaps, counts.numberOfOverlaps(i, stop));
+            }
+            assertEquals(n, counts.numberOfOverlaps(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Adapt given index to {@link Counts}.
+     */
+    static Counts counts(final IndexRangeInteger<?> index) {
+        return new Counts() {
+
+            public boolean includes(final int position) {
+                return index.includes(position);
+            }
+
+            public int numberOfAppearances(final int position) {
+                return index.numberOfAppearances(position);
+            }
+
+            public int numberOfOverlaps(final int start, final int stop) {
+                return index.numberOfOverlaps(start, stop);
+            }
+        };
+    }
+
+    private CheckerIndexRangeInteger() {
+        // singleton
+    }
+
+}
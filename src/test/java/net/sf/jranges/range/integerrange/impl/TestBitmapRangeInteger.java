@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.SetOperation;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestBitmapRangeInteger {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    /**
+     * Sparse single positions, long runs and dense noise, around zero and
+     * across chunk borders.
+     */
+    private static List<RangeInteger> random(final Random random) {
+        final List<RangeInteger> result = new ArrayList<RangeInteger>();
+        for (int i = 0; i < 300; i++) {
+            final int p = random.nextInt(400000) - 200000;
+            result.add(new RangeIntegerDummy(p, p));
+        }
+        for (int i = 0; i < 20; i++) {
+            final int p = random.nextInt(400000) - 200000;
+            result.add(new RangeIntegerDummy(p, p + random.nextInt(100000)));
+        }
+        for (int i = 0; i < 8000; i++) {
+            final int p = 65536 + random.nextInt(65536);
+            result.add(new RangeIntegerDummy(p, p + random.nextInt(3)));
+        }
+        return result;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.BitmapRangeInteger#create(java.util.Collection)}
+     * .
+     */
+    @Test
+    public final void testCreate() {
+        final Random random = new Random(11);
+        for (int k = 0; k < 3; k++) {
+            final List<RangeInteger> ranges = random(random);
+            final RangeIntegerSet<RangeInteger> set = RangeIntegerSet.create(ranges, new FactoryRangeIntegerDummy());
+            final BitmapRangeInteger bitmap = BitmapRangeInteger.create(ranges);
+            assertEquals(set.getRanges(), bitmap.toRanges(new FactoryRangeIntegerDummy()));
+            assertEquals(set.numberOfPositions(), bitmap.cardinality());
+            for (int i = -300000; i < 300000; i += 7) {
+                assertEquals(set.includes(i), bitmap.contains(i));
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.BitmapRangeInteger#contains(int)}
+     * .
+     */
+    @Test
+    public final void testContains() {
+        final BitmapRangeInteger bitmap = BitmapRangeInteger.create(Arrays.<RangeInteger> asList(
+                new RangeIntegerDummy(Integer.MIN_VALUE, Integer.MIN_VALUE + 1), new RangeIntegerDummy(-1, 0),
+                new RangeIntegerDummy(Integer.MAX_VALUE, Integer.MAX_VALUE), new ZeroPositiveIntegerRange(10, 20, 5)));
+        assertTrue(bitmap.contains(Integer.MIN_VALUE));
+        assertTrue(bitmap.contains(-1));
+        assertTrue(bitmap.contains(0));
+        assertTrue(bitmap.contains(15));
+        assertTrue(bitmap.contains(Integer.MAX_VALUE));
+        assertFalse(bitmap.contains(1));
+        assertFalse(bitmap.contains(11));
+        assertFalse(bitmap.contains(Integer.MAX_VALUE - 1));
+        assertEquals(8, bitmap.cardinality());
+        assertEquals(Arrays.asList(new RangeIntegerDummy(Integer.MIN_VALUE, Integer.MIN_VALUE + 1),
+                new RangeIntegerDummy(-1, 0), new RangeIntegerDummy(10, 10), new RangeIntegerDummy(15, 15),
+                new RangeIntegerDummy(20, 20), new RangeIntegerDummy(Integer.MAX_VALUE, Integer.MAX_VALUE)),
+                bitmap.toRanges(new FactoryRangeIntegerDummy()));
+        assertTrue(BitmapRangeInteger.create(new ArrayList<RangeInteger>()).isEmpty());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.BitmapRangeInteger#apply(SetOperation, BitmapRangeInteger)}
+     * .
+     */
+    @Test
+    public final void testApply() {
+        final Random random = new Random(13);
+        final RangeIntegerSet<RangeInteger> a = RangeIntegerSet.create(random(random), new FactoryRangeIntegerDummy());
+        final RangeIntegerSet<RangeInteger> b = RangeIntegerSet.create(random(random), new FactoryRangeIntegerDummy());
+        final BitmapRangeInteger ba = BitmapRangeInteger.create(a);
+        final BitmapRangeInteger bb = BitmapRangeInteger.create(b);
+        for (final SetOperation operation : SetOperation.values()) {
+            final RangeIntegerSet<RangeInteger> expected = a.apply(operation, b);
+            final BitmapRangeInteger result = ba.apply(operation, bb);
+            assertEquals(expected.getRanges(), result.toRanges(new FactoryRangeIntegerDummy()));
+            assertEquals(expected.numberOfPositions(), result.cardinality());
+        }
+        assertTrue(ba.andNot(ba).isEmpty());
+        assertEquals(ba.cardinality(), ba.or(ba).cardinality());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.BitmapRangeInteger#getSizeInBytes()}
+     * .
+     */
+    @Test
+    public final void testGetSizeInBytes() {
+        final BitmapRangeInteger runs = BitmapRangeInteger.create(Arrays.<RangeInteger> asList(new RangeIntegerDummy(
+                0, 10000000)));
+        assertTrue(runs.getSizeInBytes() < 2000);
+        final List<RangeInteger> sparse = new ArrayList<RangeInteger>();
+        for (int i = 0; i < 1000; i++) {
+            sparse.add(new RangeIntegerDummy(2 * i, 2 * i));
+        }
+        assertEquals(2 + 2000, BitmapRangeInteger.create(sparse).getSizeInBytes());
+    }
+
+}
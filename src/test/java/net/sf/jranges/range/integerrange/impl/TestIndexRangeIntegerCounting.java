@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestIndexRangeIntegerCounting {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerCounting#numberOfAppearances(int)}
+     * .
+     */
+    @Test
+    public final void testNumberOfAppearances() throws IOException {
+        CheckerIndexRangeInteger.check(new CheckerIndexRangeInteger.Factory() {
+            public CheckerIndexRangeInteger.Counts create(final List<RangeInteger> ranges) {
+                final IndexRangeIntegerCounting index = new IndexRangeIntegerCounting(ranges);
+                assertEquals(ranges.size(), index.size());
+                return new CheckerIndexRangeInteger.Counts() {
+
+                    public boolean includes(final int position) {
+                        return index.includes(position);
+                    }
+
+                    public int numberOfAppearances(final int position) {
+                        return index.numberOfAppearances(position);
+                    }
+
+                    public int numberOfOverlaps(final int start, final int stop) {
+                        return index.numberOfOverlaps(start, stop);
+                    }
+                };
+            }
+        });
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerCounting#numberOfAppearances(int)}
+     * , with duplicate starts and stops.
+     */
+    @Test
+    public final void testNumberOfAppearances01() {
+        final IndexRangeIntegerCounting index = new IndexRangeIntegerCounting(Arrays.<RangeInteger> asList(
+                new RangeIntegerDummy(2, 5), new RangeIntegerDummy(2, 5), new RangeIntegerDummy(2, 8),
+                new RangeIntegerDummy(5, 5), new RangeIntegerDummy(0, 5)));
+        // starts <= 5: 5, stops < 5: 0
+        assertEquals(5, index.numberOfAppearances(5));
+        // starts <= 2: 4, stops < 2: 0
+        assertEquals(4, index.numberOfAppearances(2));
+        // starts <= 6: 5, stops < 6: 4
+        assertEquals(1, index.numberOfAppearances(6));
+        assertEquals(1, index.numberOfAppearances(1));
+        assertEquals(0, index.numberOfAppearances(-1));
+        assertEquals(0, index.numberOfAppearances(9));
+        assertEquals(5, index.numberOfOverlaps(5, 5));
+        assertEquals(4, index.numberOfOverlaps(0, 2));
+        assertEquals(1, index.numberOfOverlaps(6, 10));
+        assertEquals(0, index.numberOfOverlaps(-3, -1));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerCounting#numberOfAppearances(int)}
+     * , at the limits of {@code int}.
+     */
+    @Test
+    public final void testNumberOfAppearances02() {
+        final IndexRangeIntegerCounting index = new IndexRangeIntegerCounting(Arrays.<RangeInteger> asList(
+                new RangeIntegerDummy(Integer.MIN_VALUE, Integer.MIN_VALUE), new RangeIntegerDummy(
+                        Integer.MIN_VALUE, 0), new RangeIntegerDummy(0, Integer.MAX_VALUE), new RangeIntegerDummy(
+                        Integer.MAX_VALUE, Integer.MAX_VALUE), new RangeIntegerOnePositive(Integer.MAX_VALUE - 2,
+                        Integer.MAX_VALUE, 2)));
+        assertEquals(2, index.numberOfAppearances(Integer.MIN_VALUE));
+        assertEquals(2, index.numberOfAppearances(0));
+        assertEquals(1, index.numberOfAppearances(Integer.MAX_VALUE - 1));
+        assertEquals(3, index.numberOfAppearances(Integer.MAX_VALUE));
+        assertEquals(2, index.numberOfOverlaps(Integer.MIN_VALUE, Integer.MIN_VALUE));
+        assertEquals(3, index.numberOfOverlaps(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        assertEquals(5, index.numberOfOverlaps(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerCounting#numberOfAppearances(int[])}
+     * , with repeated positions.
+     */
+    @Test
+    public final void testNumberOfAppearances03() {
+        final IndexRangeIntegerCounting index = new IndexRangeIntegerCounting(Arrays.<RangeInteger> asList(
+                new RangeIntegerDummy(2, 5), new RangeIntegerDummy(2, 5), new RangeIntegerDummy(2, 8),
+                new RangeIntegerDummy(5, 5), new RangeIntegerOnePositive(1, 9, 4)));
+        assertArrayEquals(new int[] { 0, 1, 3, 3, 5, 5, 1, 1, 1 },
+                index.numberOfAppearances(new int[] { 0, 1, 2, 2, 5, 5, 8, 9, 9 }));
+        assertArrayEquals(new int[0], index.numberOfAppearances(new int[0]));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerCounting#numberOfAppearances(int[])}
+     * .
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testNumberOfAppearances04() {
+        new IndexRangeIntegerCounting(Arrays.<RangeInteger> asList(new RangeIntegerDummy(2, 5)))
+                .numberOfAppearances(new int[] { 3, 2 });
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerCounting#numberOfOverlaps(int, int)}
+     * , which compares hulls only.
+     */
+    @Test
+    public final void testNumberOfOverlaps01() {
+        final IndexRangeIntegerCounting index = new IndexRangeIntegerCounting(Arrays.<RangeInteger> asList(
+                new RangeIntegerOnePositive(1, 9, 4), new RangeIntegerDummy(6, 8)));
+        // 2->4 includes no position of 1->9 by 4, but lies within its hull
+        assertEquals(1, index.numberOfOverlaps(2, 4));
+        assertEquals(2, index.numberOfOverlaps(4, 6));
+        assertEquals(0, index.numberOfOverlaps(10, 12));
+        assertEquals(0, index.numberOfAppearances(3));
+        assertEquals(1, index.numberOfAppearances(5));
+    }
+
+}
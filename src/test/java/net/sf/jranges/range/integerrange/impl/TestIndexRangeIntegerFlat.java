@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.GeneratorRangeInteger;
+import net.sf.jranges.range.UtilRange.IntegerRangeTask;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestIndexRangeIntegerFlat {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerFlat#includes(int)}
+     * .
+     */
+    @Test
+    public final void testIncludes() {
+        final IndexRangeIntegerFlat<RangeInteger> index = new IndexRangeIntegerFlat<RangeInteger>(Arrays.asList(
+                new RangeIntegerDummy(7, 8), new RangeIntegerDummy(1, 2), new RangeIntegerDummy(5, 6)));
+        assertTrue(index.includes(1));
+        assertTrue(index.includes(8));
+        assertFalse(index.includes(0));
+        assertFalse(index.includes(4));
+        assertEquals(1, index.getStart(0));
+        assertEquals(8, index.getStop(2));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerFlat#numberOfAppearances(int)}
+     * .
+     */
+    @Test
+    public final void testNumberOfAppearances() throws IOException {
+        CheckerIndexRangeInteger.check(new CheckerIndexRangeInteger.Factory() {
+            public CheckerIndexRangeInteger.Counts create(final List<RangeInteger> ranges) {
+                final IndexRangeIntegerFlat<RangeInteger> index = new IndexRangeIntegerFlat<RangeInteger>(ranges);
+                for (int i = -5; i < 1100; i++) {
+                    assertEquals(index.numberOfAppearances(i), index.getIncluding(i).size());
+                }
+                return CheckerIndexRangeInteger.counts(index);
+            }
+        });
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerFlat#forEachOverlapping(int, int, IntegerRangeTask)}
+     * .
+     */
+    @Test
+    public final void testForEachOverlapping() {
+        final Random random = new Random(7);
+        final List<RangeInteger> ranges = GeneratorRangeInteger.random(random, 333, 0, 1000, 60, 0, 3);
+        final IndexRangeIntegerFlat<RangeInteger> index = new IndexRangeIntegerFlat<RangeInteger>(ranges);
+        for (int i = -5; i < 1100; i += 3) {
+            final int start = i;
+            final int stop = i + 20;
+            int expected = 0;
+            for (final RangeInteger r : ranges) {
+                if (r.getStart() <= stop && r.getStop() >= start) {
+                    expected++;
+                }
+            }
+            final int[] hits = new int[1];
+            final int count = index.forEachOverlapping(start, stop, new IntegerRangeTask() {
+                public void call(final int k) {
+                    assertTrue(index.getStart(k) <= stop && index.getStop(k) >= start);
+                    hits[0]++;
+                }
+            });
+            assertEquals(expected, count);
+            assertEquals(expected, hits[0]);
+            assertEquals(expected, index.getOverlappingIndices(start, stop).length);
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.GeneratorRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestIndexRangeIntegerMapped {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    private static IndexRangeIntegerMapped map(final IndexRangeIntegerFlat<RangeInteger> flat) throws IOException {
+        final File file = File.createTempFile("index", ".bin");
+        file.deleteOnExit();
+        IndexRangeIntegerMapped.write(flat, file);
+        return new IndexRangeIntegerMapped(file);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerMapped#includes(int)}
+     * .
+     */
+    @Test
+    public final void testIncludes() throws IOException {
+        final IndexRangeIntegerMapped index = map(new IndexRangeIntegerFlat<RangeInteger>(Collections
+                .<RangeInteger> emptyList()));
+        assertEquals(0, index.size());
+        assertFalse(index.includes(0));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerMapped#getIncluding(int)}
+     * .
+     */
+    @Test
+    public final void testGetIncluding() throws IOException {
+        final IndexRangeIntegerMapped index = map(new IndexRangeIntegerFlat<RangeInteger>(Arrays.<RangeInteger> asList(
+                new RangeIntegerDummy(1, 5), new RangeIntegerOnePositive(3, 9, 3), new RangeIntegerDummy(7, 8))));
+        assertEquals(3, index.size());
+        assertEquals(2, index.getIncluding(3).size());
+        assertEquals(1, index.numberOfAppearances(4));
+        assertEquals(1, index.numberOfAppearances(6));
+        assertEquals(6, index.getIncluding(6).get(0).getStop() - index.getIncluding(6).get(0).getStart());
+        assertEquals(0, index.numberOfAppearances(10));
+        assertTrue(index.includes(8));
+        assertFalse(index.includes(0));
+        assertEquals(2, index.numberOfOverlaps(6, 7));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerMapped#numberOfAppearances(int)}
+     * .
+     */
+    @Test
+    public final void testNumberOfAppearances() throws IOException {
+        CheckerIndexRangeInteger.check(new CheckerIndexRangeInteger.Factory() {
+            public CheckerIndexRangeInteger.Counts create(final List<RangeInteger> ranges) throws IOException {
+                final IndexRangeIntegerMapped index = map(new IndexRangeIntegerFlat<RangeInteger>(ranges));
+                assertEquals(ranges.size(), index.size());
+                for (int i = -5; i < 1100; i++) {
+                    assertEquals(index.numberOfAppearances(i), index.getIncluding(i).size());
+                }
+                return CheckerIndexRangeInteger.counts(index);
+            }
+        });
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerMapped#getOverlapping(int, int)}
+     * .
+     */
+    @Test
+    public final void testGetOverlapping() throws IOException {
+        final IndexRangeIntegerFlat<RangeInteger> flat = new IndexRangeIntegerFlat<RangeInteger>(
+                GeneratorRangeInteger.random(new Random(7), 333, 0, 1000, 60, 0, 3));
+        final IndexRangeIntegerMapped index = map(flat);
+        for (int i = -5; i < 1100; i += 3) {
+            final int[] expected = flat.getOverlappingIndices(i, i + 20);
+            final List<RangeInteger> hits = index.getOverlapping(i, i + 20);
+            assertEquals(expected.length, hits.size());
+            assertEquals(expected.length, index.numberOfOverlaps(i, i + 20));
+            for (int k = 0; k < expected.length; k++) {
+                assertEquals(flat.getStart(expected[k]), hits.get(k).getStart());
+                assertEquals(flat.getStop(expected[k]), hits.get(k).getStop());
+                assertEquals(flat.getInterval(expected[k]), hits.get(k).getInterval());
+            }
+        }
+        assertEquals(333, index.numberOfOverlaps(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.integerrange.IndexRangeInteger;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestIndexRangeIntegerTree {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    private List<RangeInteger> ranges;
+
+    @Before
+    public void setUp() throws Exception {
+        ranges = new ArrayList<RangeInteger>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            final int start = random.nextInt(1000);
+            ranges.add(new RangeIntegerDummy(start, start + random.nextInt(50)));
+        }
+        ranges.add(new ZeroPositiveIntegerRange(100, 130, 3));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerTree#includes(int)}
+     * .
+     */
+    @Test
+    public final void testIncludes() {
+        final IndexRangeInteger<RangeInteger> index = new IndexRangeIntegerTree<RangeInteger>(Arrays.asList(
+                new RangeIntegerDummy(1, 2), new RangeIntegerDummy(5, 6), new RangeIntegerDummy(7, 8)));
+        assertTrue(index.includes(1));
+        assertTrue(index.includes(8));
+        assertFalse(index.includes(0));
+        assertFalse(index.includes(3));
+        assertFalse(index.includes(9));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerTree#includes(int)}
+     * .
+     */
+    @Test
+    public final void testIncludes01() {
+        final IndexRangeInteger<RangeInteger> index = new IndexRangeIntegerTree<RangeInteger>(
+                new ArrayList<RangeInteger>());
+        assertFalse(index.includes(0));
+        assertEquals(0, index.size());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerTree#includes(int)}
+     * .
+     */
+    @Test
+    public final void testIncludes02() {
+        final IndexRangeInteger<RangeInteger> index = new IndexRangeIntegerTree<RangeInteger>(
+                Arrays.<RangeInteger> asList(new ZeroPositiveIntegerRange(0, 9, 3)));
+        assertTrue(index.includes(3));
+        assertFalse(index.includes(4));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerTree#numberOfAppearances(int)}
+     * .
+     */
+    @Test
+    public final void testNumberOfAppearances() {
+        final IndexRangeInteger<RangeInteger> index = new IndexRangeIntegerTree<RangeInteger>(ranges);
+        for (int i = -5; i < 1100; i++) {
+            assertEquals(UtilsRangeInteger.numberOfAppearances(ranges, i), index.numberOfAppearances(i));
+            assertEquals(UtilsRangeInteger.includedByOne(ranges, i), UtilsRangeInteger.includedByOne(index, i));
+            assertEquals(index.numberOfAppearances(i), index.getIncluding(i).size());
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IndexRangeIntegerTree#getOverlapping(int, int)}
+     * .
+     */
+    @Test
+    public final void testGetOverlapping() {
+        final IndexRangeInteger<RangeInteger> index = new IndexRangeIntegerTree<RangeInteger>(ranges);
+        for (int i = -5; i < 1100; i += 7) {
+            int expected = 0;
+            for (final RangeInteger r : ranges) {
+                if (r.getStart() <= i + 10 && r.getStop() >= i) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, index.numberOfOverlaps(i, i + 10));
+            assertEquals(expected, index.getOverlapping(i, i + 10).size());
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import net.sf.jranges.range.RangeException;
+import net.sf.jranges.range.SetOperation;
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestIteratorSetOperationRangeInteger {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    private static List<RangeInteger> toList(final Iterator<RangeInteger> iterator) {
+        final List<RangeInteger> result = new ArrayList<RangeInteger>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IteratorSetOperationRangeInteger#next()}
+     * .
+     */
+    @Test
+    public final void testNext() {
+        final List<RangeInteger> a = Arrays.<RangeInteger> asList(new RangeIntegerDummy(1, 5), new RangeIntegerDummy(
+                3, 8), new RangeIntegerDummy(9, 9), new RangeIntegerDummy(20, 30));
+        final List<RangeInteger> b = Arrays.<RangeInteger> asList(new RangeIntegerDummy(4, 21),
+                new RangeIntegerDummy(Integer.MAX_VALUE - 1, Integer.MAX_VALUE));
+        assertEquals(Arrays.asList(new RangeIntegerDummy(1, 30), new RangeIntegerDummy(Integer.MAX_VALUE - 1,
+                Integer.MAX_VALUE)), toList(new IteratorSetOperationRangeInteger<RangeInteger>(SetOperation.UNION, a
+                .iterator(), b.iterator(), new FactoryRangeIntegerDummy())));
+        assertEquals(Arrays.asList(new RangeIntegerDummy(4, 9), new RangeIntegerDummy(20, 21)),
+                toList(new IteratorSetOperationRangeInteger<RangeInteger>(SetOperation.INTERSECTION, a.iterator(), b
+                        .iterator(), new FactoryRangeIntegerDummy())));
+        assertEquals(Arrays.asList(new RangeIntegerDummy(1, 3), new RangeIntegerDummy(22, 30)),
+                toList(new IteratorSetOperationRangeInteger<RangeInteger>(SetOperation.DIFFERENCE, a.iterator(), b
+                        .iterator(), new FactoryRangeIntegerDummy())));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IteratorSetOperationRangeInteger#next()}
+     * .
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public final void testNext01() {
+        final List<RangeInteger> a = Arrays.<RangeInteger> asList(new RangeIntegerDummy(5, 6), new RangeIntegerDummy(
+                1, 2));
+        toList(new IteratorSetOperationRangeInteger<RangeInteger>(SetOperation.UNION, a.iterator(),
+                new ArrayList<RangeInteger>().iterator(), new FactoryRangeIntegerDummy()));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.IteratorSetOperationRangeInteger#next()}
+     * .
+     */
+    @Test(expected = RangeException.class)
+    public final void testNext02() {
+        final List<RangeInteger> a = Arrays.<RangeInteger> asList(new ZeroPositiveIntegerRange(0, 6, 2));
+        toList(new IteratorSetOperationRangeInteger<RangeInteger>(SetOperation.UNION, a.iterator(),
+                new ArrayList<RangeInteger>().iterator(), new FactoryRangeIntegerDummy()));
+    }
+
+}
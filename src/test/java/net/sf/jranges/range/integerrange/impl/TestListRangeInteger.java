@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestListRangeInteger {
+
+    /**
+     * A {@link RangeInteger} that implements only what the interface
+     * requires, to exercise its default methods.
+     */
+    private static class MinimalRangeInteger implements RangeInteger {
+
+        private final int start;
+
+        private final int stop;
+
+        private final int interval;
+
+        MinimalRangeInteger(final int start, final int stop, final int interval) {
+            this.start = start;
+            this.stop = stop;
+            this.interval = interval;
+        }
+
+        public int compareTo(final RangeInteger o) {
+            return Integer.compare(start, o.getStart());
+        }
+
+        public List<Integer> asList() {
+            throw new UnsupportedOperationException();
+        }
+
+        public RangeInteger expandRange(final int offset) {
+            throw new UnsupportedOperationException();
+        }
+
+        public RangeInteger expandRange(final int offset, final boolean stayWithinLimits) {
+            throw new UnsupportedOperationException();
+        }
+
+        public int getInterval() {
+            return interval;
+        }
+
+        public int getLength() {
+            return (stop - start) / interval + 1;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getStop() {
+            return stop;
+        }
+
+        public boolean includes(final int position) {
+            return position >= start && position <= stop && (position - start) % interval == 0;
+        }
+
+        public RangeInteger shift(final int offset) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.VeryAbstractIntegerRange#asList()}
+     * .
+     */
+    @Test
+    public final void testAsList() {
+        final RangeInteger range = new ZeroPositiveIntegerRange(3, 12, 3);
+        final List<Integer> list = range.asList();
+        assertEquals(Arrays.asList(3, 6, 9, 12), list);
+        assertEquals(4, list.size());
+        assertTrue(list.contains(9));
+        assertFalse(list.contains(10));
+        assertFalse(list.contains(0));
+        assertEquals(2, list.indexOf(9));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.VeryAbstractIntegerRange#asList()}
+     * .
+     */
+    @Test
+    public final void testAsList01() {
+        final ListRangeInteger list = (ListRangeInteger) new ZeroPositiveIntegerRange(0, Integer.MAX_VALUE - 1)
+                .asList();
+        assertEquals(Integer.MAX_VALUE, list.size());
+        assertEquals(Integer.MAX_VALUE - 2, list.getInt(Integer.MAX_VALUE - 2));
+        assertEquals(Integer.MAX_VALUE - 2, list.indexOf(Integer.MAX_VALUE - 2));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.VeryAbstractIntegerRange#asList()}
+     * .
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public final void testAsList02() {
+        new RangeIntegerDummy(1, 2).asList().add(3);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.VeryAbstractIntegerRange#intIterator()}
+     * .
+     */
+    @Test
+    public final void testIntIterator() {
+        final PrimitiveIterator.OfInt it = new RangeIntegerDummy(Integer.MAX_VALUE - 1, Integer.MAX_VALUE)
+                .intIterator();
+        assertEquals(Integer.MAX_VALUE - 1, it.nextInt());
+        assertEquals(Integer.MAX_VALUE, it.nextInt());
+        assertFalse(it.hasNext());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.VeryAbstractIntegerRange#stream()}
+     * .
+     */
+    @Test
+    public final void testStream() {
+        assertArrayEquals(new int[] { 1, 3, 5, 7 }, new RangeIntegerOnePositive(1, 7, 2).stream().toArray());
+        assertEquals(5050, new RangeIntegerOnePositive(1, 100).stream().sum());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.RangeInteger#intIterator()}
+     * .
+     */
+    @Test
+    public final void testIntIterator01() {
+        final PrimitiveIterator.OfInt it = new MinimalRangeInteger(2, 8, 3).intIterator();
+        assertEquals(2, it.nextInt());
+        assertEquals(5, it.nextInt());
+        assertEquals(8, it.nextInt());
+        assertFalse(it.hasNext());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.RangeInteger#stream()}
+     * .
+     */
+    @Test
+    public final void testStream01() {
+        assertArrayEquals(new int[] { 2, 5, 8 }, new MinimalRangeInteger(2, 8, 3).stream().toArray());
+        assertEquals(55, new MinimalRangeInteger(1, 10, 1).stream().sum());
+    }
+
+}
@@ -24,6 +24,11 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import net.sf.jranges.range.integerrange.RangeInteger;
 
@@ -88,4 +93,52 @@ public class TestRangeCache {
         assertFalse(cache.hasNext());
     }
 
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeCache#poll()}.
+     */
+    @Test
+    public final void testPoll() throws Exception {
+        final List<RangeInteger> ranges = new ArrayList<RangeInteger>();
+        for (int i = 0; i < 10007; i++) {
+            ranges.add(new RangeIntegerDummy(i, i));
+        }
+        cache = new RangeCache(ranges, 10);
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicLong sum = new AtomicLong();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    Collection<? extends RangeInteger> batch;
+                    while ((batch = cache.poll()) != null) {
+                        for (final RangeInteger r : batch) {
+                            count.incrementAndGet();
+                            sum.addAndGet(r.getStart());
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (final Thread t : threads) {
+            t.join();
+        }
+        assertEquals(10007, count.get());
+        assertEquals(10006L * 10007L / 2, sum.get());
+        assertFalse(cache.hasNext());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeCache#next()}.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public final void testNext01() {
+        cache = new RangeCache(new ArrayList<RangeInteger>(), 2);
+        assertFalse(cache.hasNext());
+        cache.next();
+    }
+
 }
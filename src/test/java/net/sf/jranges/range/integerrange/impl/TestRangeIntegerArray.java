@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.RangeException;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestRangeIntegerArray {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerArray#get(int)}
+     * .
+     */
+    @Test
+    public final void testGet() {
+        final RangeIntegerArray ranges = new RangeIntegerArray(1);
+        ranges.append(1, 5);
+        ranges.append(-3, 9, 3);
+        ranges.add(new ZeroPositiveIntegerRange(2, 4));
+        assertEquals(3, ranges.size());
+        assertEquals(new RangeIntegerDummy(1, 5), ranges.get(0));
+        assertEquals(new ZeroPositiveIntegerRange(2, 4), ranges.get(2));
+        assertEquals(3, ranges.get(1).getInterval());
+        assertEquals(5, ranges.get(1).getLength());
+        assertTrue(ranges.get(1).includes(0));
+        assertFalse(ranges.get(1).includes(1));
+        assertEquals(Arrays.asList(-3, 0, 3, 6, 9), ranges.get(1).asList());
+        ranges.remove(0);
+        assertEquals(-3, ranges.getStart(0));
+        assertEquals(1, ranges.getInterval(1));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerArray#append(int, int)}
+     * .
+     */
+    @Test(expected = RangeException.class)
+    public final void testAppend() {
+        new RangeIntegerArray().append(2, 1);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerArray#append(int, int, int)}
+     * .
+     */
+    @Test(expected = RangeException.class)
+    public final void testAppend01() {
+        new RangeIntegerArray().append(0, 10, 3);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerArray#toPacked()}
+     * .
+     */
+    @Test
+    public final void testToPacked() {
+        final long[] packed = new long[] { RangeIntegerArray.pack(-5, -1), RangeIntegerArray.pack(0, 10),
+                RangeIntegerArray.pack(Integer.MIN_VALUE, Integer.MAX_VALUE) };
+        final RangeIntegerArray ranges = RangeIntegerArray.fromPacked(packed);
+        assertEquals(new RangeIntegerDummy(-5, -1), ranges.get(0));
+        assertEquals(Integer.MAX_VALUE, ranges.getStop(2));
+        assertArrayEquals(packed, ranges.toPacked());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.UtilsRangeInteger#coverage(List, int, int)}
+     * with a {@link RangeIntegerArray}.
+     */
+    @Test
+    public final void testUtilsRangeInteger() {
+        final Random random = new Random(9);
+        final List<RangeInteger> list = new ArrayList<RangeInteger>();
+        for (int i = 0; i < 500; i++) {
+            final int start = random.nextInt(1000);
+            if (i % 4 == 0) {
+                list.add(new ZeroPositiveIntegerRange(start, start + 3 * random.nextInt(10), 3));
+            } else {
+                list.add(new RangeIntegerDummy(start, start + random.nextInt(30)));
+            }
+        }
+        final RangeIntegerArray array = new RangeIntegerArray(list);
+        assertEquals(list, array);
+        assertArrayEquals(UtilsRangeInteger.coverage(list, -10, 1100), UtilsRangeInteger.coverage(array, -10, 1100));
+        assertEquals(UtilsRangeInteger.numberOfPositions(list), UtilsRangeInteger.numberOfPositions(array));
+        assertEquals(UtilsRangeInteger.merge(list, new FactoryRangeIntegerDummy()),
+                UtilsRangeInteger.merge(array, new FactoryRangeIntegerDummy()));
+        for (int i = -10; i < 1100; i++) {
+            assertEquals(UtilsRangeInteger.numberOfAppearances(list, i), UtilsRangeInteger.numberOfAppearances(array, i));
+            assertEquals(UtilsRangeInteger.includedByOne(list, i), UtilsRangeInteger.includedByOne(array, i));
+        }
+        assertEquals(RangeIntegerSet.create(list, new FactoryRangeIntegerDummy()).getRanges(),
+                RangeIntegerSet.create(array, new FactoryRangeIntegerDummy()).getRanges());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerArray#create(int[], int[], int[], int, int, BitSet)}
+     * .
+     */
+    @Test
+    public final void testCreate() {
+        final int[] starts = new int[] { 0, 5, -1, 3, 10, 2, 7 };
+        final int[] stops = new int[] { 4, 4, 3, 9, 20, 8, 7 };
+        final int[] intervals = new int[] { 1, 1, 1, 3, 3, 0, 1 };
+        final BitSet invalid = new BitSet();
+        final RangeIntegerArray ranges = RangeIntegerArray.create(starts, stops, intervals, 0, 100, invalid);
+        assertEquals(Arrays.asList(new ZeroPositiveIntegerRange(0, 4), new ZeroPositiveIntegerRange(3, 9, 3),
+                new ZeroPositiveIntegerRange(7, 7)), ranges);
+        assertEquals(BitSet.valueOf(new long[] { 0x36 }), invalid);
+        final BitSet invalid2 = new BitSet();
+        assertEquals(6, RangeIntegerArray.create(starts, stops, null, invalid2).size());
+        assertEquals(BitSet.valueOf(new long[] { 0x02 }), invalid2);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerArray#fromPacked(long[], BitSet)}
+     * .
+     */
+    @Test
+    public final void testFromPacked() {
+        final BitSet invalid = new BitSet();
+        final RangeIntegerArray ranges = RangeIntegerArray.fromPacked(new long[] { RangeIntegerArray.pack(1, 2),
+                RangeIntegerArray.pack(3, 2), RangeIntegerArray.pack(-4, -4) }, invalid);
+        assertEquals(Arrays.asList(new RangeIntegerDummy(1, 2), new RangeIntegerDummy(-4, -4)), ranges);
+        assertEquals(BitSet.valueOf(new long[] { 0x02 }), invalid);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerArray#get(int)}
+     * , expanding and shifting the returned range.
+     */
+    @Test
+    public final void testGet01() {
+        final RangeIntegerArray ranges = new RangeIntegerArray();
+        ranges.append(10, 20);
+        ranges.append(0, 12, 3);
+        ranges.append(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertEquals(new RangeIntegerDummy(8, 22), ranges.get(0).expandRange(2));
+        assertEquals(new RangeIntegerDummy(14, 16), ranges.get(0).expandRange(-4));
+        assertEquals(new RangeIntegerDummy(15, 25), ranges.get(0).shift(5));
+        assertEquals(3, ranges.get(1).expandRange(-3).getLength());
+        assertEquals(Integer.MAX_VALUE, ranges.get(2).getLength());
+        assertEquals(new RangeIntegerDummy(Integer.MIN_VALUE, Integer.MAX_VALUE), ranges.get(2).expandRange(1, true));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerArray#get(int)}
+     * , expanding the returned range to stop &lt; start.
+     */
+    @Test(expected = RangeException.class)
+    public final void testGet02() {
+        final RangeIntegerArray ranges = new RangeIntegerArray();
+        ranges.append(10, 20);
+        ranges.get(0).expandRange(-6);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerArray#get(int)}
+     * , shifting the returned range beyond {@link Integer#MAX_VALUE}.
+     */
+    @Test(expected = RangeException.class)
+    public final void testGet03() {
+        final RangeIntegerArray ranges = new RangeIntegerArray();
+        ranges.append(10, Integer.MAX_VALUE - 1);
+        ranges.get(0).shift(2);
+    }
+
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import net.sf.jranges.range.GeneratorRangeInteger;
+import net.sf.jranges.range.SetOperation;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestRangeIntegerSet {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    private static RangeIntegerSet<RangeInteger> random(final Random random, final int n, final int span) {
+        return RangeIntegerSet.create(GeneratorRangeInteger.random(random, n, 0, span, 10, 0, 0),
+                new FactoryRangeIntegerDummy());
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerSet#create(java.util.Collection, net.sf.jranges.range.integerrange.IntegerRangeFactory)}
+     * .
+     */
+    @Test
+    public final void testCreate() {
+        final List<RangeInteger> ranges = Arrays.<RangeInteger> asList(new RangeIntegerDummy(10, 20),
+                new RangeIntegerDummy(1, 2), new RangeIntegerDummy(3, 4), new RangeIntegerDummy(15, 25),
+                new RangeIntegerDummy(30, 30));
+        final RangeIntegerSet<ZeroPositiveIntegerRange> set = RangeIntegerSet.create(ranges,
+                new ZeroPositiveIntegerRangeFactory());
+        assertEquals(Arrays.asList(new ZeroPositiveIntegerRange(1, 4), new ZeroPositiveIntegerRange(10, 25),
+                new ZeroPositiveIntegerRange(30, 30)), set.getRanges());
+        assertEquals(21, set.numberOfPositions());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerSet#create(java.util.Collection, net.sf.jranges.range.integerrange.IntegerRangeFactory)}
+     * .
+     */
+    @Test
+    public final void testCreate01() {
+        final List<RangeInteger> ranges = Arrays.<RangeInteger> asList(new RangeIntegerDummy(1, 5),
+                new RangeIntegerDummy(2, 3), new RangeIntegerDummy(6, 8));
+        final RangeIntegerSet<RangeInteger> set = RangeIntegerSet.create(ranges, new FactoryRangeIntegerDummy());
+        assertEquals(Arrays.asList(new RangeIntegerDummy(1, 8)), set.getRanges());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerSet#create(java.util.Collection, net.sf.jranges.range.integerrange.IntegerRangeFactory)}
+     * .
+     */
+    @Test
+    public final void testCreate02() {
+        final List<RangeInteger> ranges = Arrays.<RangeInteger> asList(new ZeroPositiveIntegerRange(0, 6, 3),
+                new RangeIntegerDummy(1, 1));
+        final RangeIntegerSet<RangeInteger> set = RangeIntegerSet.create(ranges, new FactoryRangeIntegerDummy());
+        assertEquals(Arrays.asList(new RangeIntegerDummy(0, 1), new RangeIntegerDummy(3, 3), new RangeIntegerDummy(
+                6, 6)), set.getRanges());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerSet#includes(int)}
+     * .
+     */
+    @Test
+    public final void testIncludes() {
+        final Random random = new Random(42);
+        final List<RangeInteger> ranges = new ArrayList<RangeInteger>();
+        for (int i = 0; i < 200; i++) {
+            final int start = random.nextInt(2000);
+            ranges.add(new RangeIntegerDummy(start, start + random.nextInt(10)));
+        }
+        final RangeIntegerSet<RangeInteger> set = RangeIntegerSet.create(ranges, new FactoryRangeIntegerDummy());
+        long positions = 0;
+        for (int i = -5; i < 2100; i++) {
+            assertEquals(UtilsRangeInteger.includedByOne(ranges, i), set.includes(i));
+            if (set.includes(i)) {
+                positions++;
+            }
+        }
+        assertEquals(positions, set.numberOfPositions());
+        for (int i = 1; i < set.size(); i++) {
+            assertTrue(set.getStart(i) > set.getStop(i - 1) + 1);
+        }
+        assertFalse(RangeIntegerSet.create(new ArrayList<RangeInteger>(), new FactoryRangeIntegerDummy())
+                .includes(0));
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerSet#apply(SetOperation, RangeIntegerSet)}
+     * .
+     */
+    @Test
+    public final void testApply() {
+        final Random random = new Random(3);
+        for (int k = 0; k < 20; k++) {
+            final RangeIntegerSet<RangeInteger> a = random(random, random.nextInt(40), 500);
+            final RangeIntegerSet<RangeInteger> b = random(random, random.nextInt(40), 500);
+            for (final SetOperation operation : SetOperation.values()) {
+                final RangeIntegerSet<RangeInteger> result = a.apply(operation, b);
+                for (int i = -2; i < 520; i++) {
+                    assertEquals(operation.apply(a.includes(i), b.includes(i)), result.includes(i));
+                }
+                for (int i = 1; i < result.size(); i++) {
+                    assertTrue(result.getStart(i) > result.getStop(i - 1) + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerSet#intersection(RangeIntegerSet)}
+     * .
+     */
+    @Test
+    public final void testIntersection() {
+        final RangeIntegerSet<RangeInteger> a = RangeIntegerSet.create(
+                Arrays.<RangeInteger> asList(new RangeIntegerDummy(1, 10), new RangeIntegerDummy(20, 30)),
+                new FactoryRangeIntegerDummy());
+        final RangeIntegerSet<RangeInteger> b = RangeIntegerSet.create(
+                Arrays.<RangeInteger> asList(new RangeIntegerDummy(5, 25)), new FactoryRangeIntegerDummy());
+        assertEquals(Arrays.asList(new RangeIntegerDummy(5, 10), new RangeIntegerDummy(20, 25)), a
+                .intersection(b).getRanges());
+        assertEquals(Arrays.asList(new RangeIntegerDummy(1, 4), new RangeIntegerDummy(26, 30)), a.difference(b)
+                .getRanges());
+        assertEquals(Arrays.asList(new RangeIntegerDummy(1, 4), new RangeIntegerDummy(11, 19),
+                new RangeIntegerDummy(26, 30)), a.symmetricDifference(b).getRanges());
+        assertEquals(Arrays.asList(new RangeIntegerDummy(1, 30)), a.union(b).getRanges());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerSet#applyParallel(SetOperation, RangeIntegerSet, java.util.concurrent.ForkJoinPool)}
+     * .
+     */
+    @Test
+    public final void testApplyParallel() {
+        final Random random = new Random(5);
+        final RangeIntegerSet<RangeInteger> a = random(random, 20000, 1000000);
+        final RangeIntegerSet<RangeInteger> b = random(random, 30000, 1000000);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final SetOperation operation : SetOperation.values()) {
+                assertEquals(a.apply(operation, b).getRanges(), a.applyParallel(operation, b, pool).getRanges());
+                assertEquals(b.apply(operation, a).getRanges(), b.applyParallel(operation, a, pool).getRanges());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.integerrange.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import net.sf.jranges.range.integerrange.RangeInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestZeroPositiveIntegerRangeFactory {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRangeFactory#create(int, int)}
+     * .
+     */
+    @Test
+    public final void testCreate() {
+        final ZeroPositiveIntegerRangeFactory factory = new ZeroPositiveIntegerRangeFactory(1000);
+        assertEquals(1024, factory.getCacheSize());
+        final ZeroPositiveIntegerRange r = factory.create(10, 20);
+        assertSame(r, factory.create(10, 20));
+        assertEquals(new ZeroPositiveIntegerRange(10, 21), factory.create(10, 21));
+        assertNotSame(new ZeroPositiveIntegerRangeFactory().create(10, 20), new ZeroPositiveIntegerRangeFactory().create(10, 20));
+        assertEquals(0, new ZeroPositiveIntegerRangeFactory().getCacheSize());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRangeFactory#create(int, int)}
+     * .
+     */
+    @Test
+    public final void testCreate01() throws Exception {
+        final ZeroPositiveIntegerRangeFactory factory = new ZeroPositiveIntegerRangeFactory(16);
+        final Thread[] threads = new Thread[4];
+        final Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 100000; i++) {
+                            final int start = i % 100;
+                            final ZeroPositiveIntegerRange r = factory.create(start, start + 1000);
+                            assertEquals(start, r.getStart());
+                            assertEquals(start + 1000, r.getStop());
+                        }
+                    } catch (final Throwable e) {
+                        failure[0] = e;
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (final Thread t : threads) {
+            t.join();
+        }
+        assertEquals(null, failure[0]);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRangeFactory#createAll(int[], int[], int[], BitSet)}
+     * .
+     */
+    @Test
+    public final void testCreateAll() {
+        final int[] starts = new int[] { 0, -1, 2, 4 };
+        final int[] stops = new int[] { 6, 3, 1, 10 };
+        final int[] intervals = new int[] { 2, 1, 1, 4 };
+        final BitSet invalid = new BitSet();
+        assertEquals(Arrays.asList(new ZeroPositiveIntegerRange(0, 6, 2)), new ZeroPositiveIntegerRangeFactory()
+                .createAll(starts, stops, intervals, invalid));
+        assertEquals(BitSet.valueOf(new long[] { 0x0E }), invalid);
+        final BitSet invalid2 = new BitSet();
+        final List<RangeInteger> dummies = new FactoryRangeIntegerDummy().createAll(starts, stops, null, invalid2);
+        assertEquals(4, dummies.size());
+        assertEquals(0, invalid2.cardinality());
+    }
+
+}
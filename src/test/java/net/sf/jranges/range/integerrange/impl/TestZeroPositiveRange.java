@@ -18,6 +18,8 @@
  */
 package net.sf.jranges.range.integerrange.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import net.sf.jranges.range.RangeException;
 import net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRange;
@@ -164,4 +166,57 @@ public class TestZeroPositiveRange {
 		fail("Not yet implemented"); // TODO
 	}
 
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRange#tryCreate(int, int, int)}
+	 * .
+	 */
+	@Test
+	public final void testTryCreate() {
+		assertEquals(new ZeroPositiveIntegerRange(0, 8, 2), ZeroPositiveIntegerRange.tryCreate(0, 8, 2));
+		assertNull(ZeroPositiveIntegerRange.tryCreate(0, 9, 2));
+		assertNull(ZeroPositiveIntegerRange.tryCreate(0, 8, 0));
+		assertNull(ZeroPositiveIntegerRange.tryCreate(-1, 8));
+		assertNull(ZeroPositiveIntegerRange.tryCreate(5, 4));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerAbstract#tryShift(int)}
+	 * .
+	 */
+	@Test
+	public final void testTryShift() {
+		final ZeroPositiveIntegerRange r = new ZeroPositiveIntegerRange(10, 20);
+		assertEquals(new ZeroPositiveIntegerRange(15, 25), r.tryShift(5));
+		assertNull(r.tryShift(-11));
+		assertNull(r.tryShift(Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerAbstract#shift(int)}
+	 * .
+	 */
+	@Test(expected = RangeException.class)
+	public final void testShift() {
+		new ZeroPositiveIntegerRange(10, 20).shift(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.jranges.range.integerrange.impl.RangeIntegerAbstract#expandRange(int, boolean)}
+	 * .
+	 */
+	@Test
+	public final void testExpandRangeIntBoolean() {
+		final ZeroPositiveIntegerRange r = new ZeroPositiveIntegerRange(10, Integer.MAX_VALUE - 5);
+		assertEquals(new ZeroPositiveIntegerRange(0, Integer.MAX_VALUE), r.expandRange(Integer.MAX_VALUE, true));
+		assertEquals(new ZeroPositiveIntegerRange(5, Integer.MAX_VALUE), r.expandRange(5, false));
+		assertNull(r.tryExpandRange(6, false));
+		assertNull(r.tryExpandRange(Integer.MIN_VALUE, true));
+		assertEquals(new ZeroPositiveIntegerRange(0, 12, 3), new ZeroPositiveIntegerRange(3, 9, 3).tryExpandRange(3,
+				false));
+	}
+
 }
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jranges.range.GeneratorRangeInteger;
+import net.sf.jranges.range.doublerange.RangeDouble;
+import net.sf.jranges.range.doublerange.impl.FactoryRangeDoubleZeroPositive;
+import net.sf.jranges.range.integerrange.RangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerArray;
+import net.sf.jranges.range.integerrange.impl.ZeroPositiveIntegerRangeFactory;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestParserRangeText {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    private static ByteBuffer bytes(final String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String text(final RangeIntegerArray ranges) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ranges.size(); i++) {
+            sb.append(ranges.getStart(i)).append("->").append(ranges.getStop(i)).append(i % 7 == 0 ? "\r\n" : "\n");
+        }
+        return sb.toString();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for {@link net.sf.jranges.range.io.ParserRangeText#next()} .
+     */
+    @Test
+    public final void testNextArrow() {
+        final ParserRangeText parser = new ParserRangeText(bytes("# comment\n\n  -5->-1 \n0->"
+                + Long.MAX_VALUE + "\n" + Long.MIN_VALUE + "->0"), ParserRangeText.Format.ARROW);
+        assertTrue(parser.next());
+        assertEquals(-5, parser.getStart());
+        assertEquals(-1, parser.getStop());
+        assertTrue(parser.next());
+        assertEquals(Long.MAX_VALUE, parser.getStop());
+        assertTrue(parser.next());
+        assertEquals(Long.MIN_VALUE, parser.getStart());
+        assertFalse(parser.next());
+    }
+
+    /**
+     * Test method for {@link net.sf.jranges.range.io.ParserRangeText#next()} .
+     */
+    @Test
+    public final void testNextBed() {
+        final ParserRangeText parser = new ParserRangeText(bytes("track name=x\nbrowser position\nchr1\t10\t20\tname\n"
+                + "chrX 0 1"), ParserRangeText.Format.BED);
+        assertTrue(parser.next());
+        assertEquals("chr1", parser.getChromosome());
+        assertEquals(10, parser.getStart());
+        assertEquals(19, parser.getStop());
+        assertTrue(parser.next());
+        assertEquals("chrX", parser.getChromosome());
+        assertEquals(0, parser.getStart());
+        assertEquals(0, parser.getStop());
+        assertFalse(parser.next());
+    }
+
+    /**
+     * Test method for {@link net.sf.jranges.range.io.ParserRangeText#next()} .
+     */
+    @Test(expected = NumberFormatException.class)
+    public final void testNextMalformed() {
+        new ParserRangeText(bytes("1->2\n1-2\n"), ParserRangeText.Format.ARROW).parseAll(new RangeIntegerArray());
+    }
+
+    /**
+     * Test method for {@link net.sf.jranges.range.io.ParserRangeText#getStart()}
+     * .
+     */
+    @Test(expected = NumberFormatException.class)
+    public final void testGetStartOverflow() {
+        final ParserRangeText parser = new ParserRangeText(bytes("9223372036854775808->1"),
+                ParserRangeText.Format.ARROW);
+        assertTrue(parser.next());
+        parser.getStart();
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.ParserRangeText#getStartDouble()} .
+     */
+    @Test
+    public final void testGetStartDouble() {
+        final String[] values = { "0", "1.5", "-0.001", "3.141592653589793", "1e-3", "2.5E+10", "12345678901234567890",
+                ".25", "7.", "1e300", "123456.789e-300" };
+        for (final String value : values) {
+            final ParserRangeText parser = new ParserRangeText(bytes(value + "->" + value),
+                    ParserRangeText.Format.ARROW);
+            assertTrue(parser.next());
+            assertEquals(value, Double.parseDouble(value), parser.getStartDouble(), 0);
+            assertEquals(value, Double.parseDouble(value), parser.getStopDouble(), 0);
+        }
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final String value = Double.toString(random.nextDouble() * 1000);
+            final ParserRangeText parser = new ParserRangeText(bytes(value + "->1"), ParserRangeText.Format.ARROW);
+            assertTrue(parser.next());
+            assertEquals(value, Double.parseDouble(value), parser.getStartDouble(), 0);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.ParserRangeText#parseAll(net.sf.jranges.range.doublerange.FactoryRangeDouble)}
+     * .
+     */
+    @Test
+    public final void testParseAllDouble() {
+        final List<? extends RangeDouble> ranges = new ParserRangeText(bytes("0.5->1.5\n2->3.25\n"),
+                ParserRangeText.Format.ARROW).parseAll(new FactoryRangeDoubleZeroPositive());
+        assertEquals(2, ranges.size());
+        assertEquals(0.5, ranges.get(0).getStart(), 0);
+        assertEquals(3.25, ranges.get(1).getStop(), 0);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.ParserRangeText#parseAll(net.sf.jranges.range.integerrange.IntegerRangeFactory)}
+     * .
+     */
+    @Test
+    public final void testParseAllFactory() {
+        final List<? extends RangeInteger> ranges = new ParserRangeText(bytes("1->2\n3->4"),
+                ParserRangeText.Format.ARROW).parseAll(new ZeroPositiveIntegerRangeFactory());
+        assertEquals(2, ranges.size());
+        assertEquals(3, ranges.get(1).getStart());
+        assertEquals(4, ranges.get(1).getStop());
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.ParserRangeText#split(ByteBuffer, int)} .
+     */
+    @Test
+    public final void testSplit() {
+        final RangeIntegerArray expected = GeneratorRangeInteger.random(new Random(42), 1000, -500, 999500, 1000, 0, 0);
+        final ByteBuffer buffer = bytes(text(expected));
+        for (final int parts : new int[] { 1, 2, 7, 1000, 100000 }) {
+            final RangeIntegerArray actual = new RangeIntegerArray();
+            final ByteBuffer[] split = ParserRangeText.split(buffer, parts);
+            assertTrue(split.length <= parts);
+            for (final ByteBuffer part : split) {
+                new ParserRangeText(part, ParserRangeText.Format.ARROW).parseAll(actual);
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.ParserRangeText#map(File, int)} .
+     */
+    @Test
+    public final void testMap() throws IOException {
+        final RangeIntegerArray expected = GeneratorRangeInteger.random(new Random(7), 1000, -500, 999500, 1000, 0, 0);
+        final String text = text(expected);
+        final File file = File.createTempFile("ranges", ".txt");
+        file.deleteOnExit();
+        final FileOutputStream out = new FileOutputStream(file);
+        out.write(text.getBytes(StandardCharsets.US_ASCII));
+        out.close();
+        for (final int parts : new int[] { 1, 3, 64 }) {
+            final RangeIntegerArray actual = new RangeIntegerArray();
+            final ByteBuffer[] mapped = ParserRangeText.map(file, parts);
+            assertTrue(mapped.length <= parts);
+            for (final ByteBuffer part : mapped) {
+                new ParserRangeText(part, ParserRangeText.Format.ARROW).parseAll(actual);
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+}
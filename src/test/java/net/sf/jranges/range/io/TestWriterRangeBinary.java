@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2010-2014 Alexander Kerner. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package net.sf.jranges.range.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Random;
+
+import net.sf.jranges.range.GeneratorRangeInteger;
+import net.sf.jranges.range.RangeException;
+import net.sf.jranges.range.integerrange.UtilsRangeInteger;
+import net.sf.jranges.range.integerrange.impl.RangeIntegerArray;
+import net.sf.jranges.range.longrange.impl.RangeLongDummy;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author <a href="mailto:alexanderkerner24@gmail.com">Alexander Kerner</a>
+ * @version 2026-10-18
+ *
+ */
+public class TestWriterRangeBinary {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+    }
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.WriterRangeBinary#writeAll(java.util.List)}
+     * .
+     */
+    @Test
+    public final void testWriteAll() throws IOException {
+        final RangeIntegerArray ranges = GeneratorRangeInteger.random(new Random(42), 1000, 0, 100000, 1000, 0, 5);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final WriterRangeBinary writer = new WriterRangeBinary(out, 64);
+        writer.writeAll(ranges);
+        writer.close();
+        final ReaderRangeBinary reader = new ReaderRangeBinary(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(ranges, reader.toRangeIntegerArray());
+        assertFalse(reader.next());
+        reader.close();
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.WriterRangeBinary#write(net.sf.jranges.range.longrange.RangeLong)}
+     * .
+     */
+    @Test
+    public final void testWriteRangeLong() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final WriterRangeBinary writer = new WriterRangeBinary(out);
+        writer.write(new RangeLongDummy(5000000000L, 5000000010L));
+        writer.write(new RangeLongDummy(-7, Long.MAX_VALUE));
+        writer.write(Long.MIN_VALUE, -1, 2);
+        writer.close();
+        final ReaderRangeBinary reader = new ReaderRangeBinary(new ByteArrayInputStream(out.toByteArray()));
+        assertTrue(reader.next());
+        assertEquals(5000000000L, reader.getStart());
+        assertEquals(5000000010L, reader.getStop());
+        assertEquals(1, reader.getInterval());
+        assertTrue(reader.next());
+        assertEquals(-7, reader.getStart());
+        assertEquals(Long.MAX_VALUE, reader.getStop());
+        assertTrue(reader.next());
+        assertEquals(Long.MIN_VALUE, reader.getStart());
+        assertEquals(-1, reader.getStop());
+        assertEquals(2, reader.getInterval());
+        assertFalse(reader.next());
+        reader.close();
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.WriterRangeBinary#write(long, long, long)}
+     * .
+     */
+    @Test(expected = RangeException.class)
+    public final void testWriteInvalid() throws IOException {
+        new WriterRangeBinary(new ByteArrayOutputStream()).write(2, 1, 1);
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.FileRangeBinary#getReader(int)} .
+     */
+    @Test
+    public final void testFileRangeBinary() throws IOException {
+        final RangeIntegerArray ranges = GeneratorRangeInteger.random(new Random(7), 1000, 0, 100000, 1000, 0, 5);
+        Collections.sort(ranges, UtilsRangeInteger.COMPARATOR_START_STOP);
+        final File file = File.createTempFile("ranges", ".bin");
+        file.deleteOnExit();
+        final WriterRangeBinary writer = new WriterRangeBinary(new FileOutputStream(file), 100);
+        writer.writeAll(ranges);
+        writer.close();
+        final FileRangeBinary binary = new FileRangeBinary(file);
+        try {
+            assertEquals(10, binary.getBlockCount());
+            assertEquals(1000, binary.getSize());
+            final long[] starts = new long[100];
+            final long[] stops = new long[100];
+            final long[] intervals = new long[100];
+            for (int b = 0; b < binary.getBlockCount(); b++) {
+                assertEquals(ranges.getStart(b * 100), binary.getMinStart(b));
+                assertEquals(100, binary.readBlock(b, starts, stops, intervals));
+                for (int i = 0; i < 100; i++) {
+                    assertEquals(ranges.getStart(b * 100 + i), starts[i]);
+                    assertEquals(ranges.getStop(b * 100 + i), stops[i]);
+                    assertEquals(ranges.getInterval(b * 100 + i), intervals[i]);
+                }
+            }
+            final int block = binary.findBlock(ranges.getStart(555));
+            assertEquals(5, block);
+            final ReaderRangeBinary reader = binary.getReader(block);
+            assertEquals(ranges.subList(500, 1000), reader.toRangeIntegerArray());
+            assertFalse(binary.getReader(binary.getBlockCount()).next());
+        } finally {
+            binary.close();
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.ReaderRangeBinary#next()}
+     * , with a block that claims to be shorter than its ranges.
+     */
+    @Test(expected = IOException.class)
+    public final void testNextCorrupt() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final WriterRangeBinary writer = new WriterRangeBinary(out);
+        writer.write(1, 200);
+        writer.write(300, 400);
+        writer.write(500, 600);
+        writer.close();
+        final byte[] bytes = out.toByteArray();
+        // header, count, flags, then the one byte payload length
+        assertEquals(3, bytes[WriterRangeBinary.HEADER_SIZE]);
+        bytes[WriterRangeBinary.HEADER_SIZE + 2] -= 2;
+        final ReaderRangeBinary reader = new ReaderRangeBinary(new ByteArrayInputStream(bytes));
+        reader.next();
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.FileRangeBinary#findBlock(long)} , with a
+     * long range in an earlier block.
+     */
+    @Test
+    public final void testFindBlock() throws IOException {
+        final File file = File.createTempFile("ranges", ".bin");
+        file.deleteOnExit();
+        final WriterRangeBinary writer = new WriterRangeBinary(new FileOutputStream(file), 2);
+        writer.write(1, 3);
+        writer.write(2, 4);
+        writer.write(10, 100);
+        writer.write(11, 12);
+        writer.write(20, 21);
+        writer.write(22, 23);
+        writer.close();
+        final FileRangeBinary binary = new FileRangeBinary(file);
+        try {
+            assertEquals(0, binary.findBlock(3));
+            assertEquals(1, binary.findBlock(5));
+            // 10->100 covers 50, although block 2 starts before 50
+            assertEquals(1, binary.findBlock(50));
+            assertEquals(3, binary.findBlock(101));
+            final ReaderRangeBinary reader = binary.getReader(binary.findBlock(50));
+            int covering = 0;
+            while (reader.next() && reader.getStart() <= 50) {
+                if (reader.getStop() >= 50) {
+                    covering++;
+                }
+            }
+            assertEquals(1, covering);
+        } finally {
+            binary.close();
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link net.sf.jranges.range.io.FileRangeBinary#getMinStart(int)} , with
+     * ranges that are not sorted by start.
+     */
+    @Test
+    public final void testGetMinStart() throws IOException {
+        final File file = File.createTempFile("ranges", ".bin");
+        file.deleteOnExit();
+        final WriterRangeBinary writer = new WriterRangeBinary(new FileOutputStream(file), 2);
+        writer.write(10, 12);
+        writer.write(3, 4);
+        writer.write(7, 9);
+        writer.close();
+        final FileRangeBinary binary = new FileRangeBinary(file);
+        try {
+            assertEquals(2, binary.getBlockCount());
+            assertEquals(3, binary.getMinStart(0));
+            assertEquals(12, binary.getMaxStop(0));
+            assertEquals(7, binary.getMinStart(1));
+            assertEquals(1, binary.getBlockSize(1));
+        } finally {
+            binary.close();
+        }
+    }
+
+}